@@ -0,0 +1,201 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.PauseHistogram;
+import com.jvmprofiler.analyzer.model.Regime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Splits a GC log into regimes where pause times or post-GC heap shift, e.g. after a
+ * deploy halfway through a multi-day log.
+ *
+ * Binary segmentation with a mean-shift cost over two series, log pause duration and heap
+ * after GC, each scaled by its overall variance. Events are first folded into at most
+ * {@value #MAX_BLOCKS} blocks of count / sum / sum of squares, so memory stays bounded and
+ * the whole detection is one O(n) pass plus O(m log m) over the blocks. Regime boundaries
+ * therefore have block resolution on very large logs. A split is kept when its gain beats
+ * a BIC penalty and one of the series changes by at least {@code minRelativeChange}.
+ */
+public class ChangePointDetector {
+    private static final int MAX_BLOCKS = 1 << 16;
+    private static final int SERIES = 2; // log pause, heap after
+
+    private int maxRegimes = 8;
+    private double minRegimeFraction = 0.01;  // Regimes hold at least 1% of the events
+    private int minRegimeEvents = 20;
+    private double minRelativeChange = 0.2;   // Mean pause or heap after differs by 20%
+
+    // Prefix sums over blocks, per series: [series][block]
+    private long[] counts;
+    private double[][] sums;
+    private double[][] squares;
+    private double[] variances;
+
+    public void setMaxRegimes(int maxRegimes) { this.maxRegimes = maxRegimes; }
+    public void setMinRegimeFraction(double minRegimeFraction) { this.minRegimeFraction = minRegimeFraction; }
+    public void setMinRegimeEvents(int minRegimeEvents) { this.minRegimeEvents = minRegimeEvents; }
+    public void setMinRelativeChange(double minRelativeChange) { this.minRelativeChange = minRelativeChange; }
+
+    public List<Regime> detect(GCLog gcLog) {
+        return detect(gcLog.getEventStore());
+    }
+
+    /**
+     * Regimes in event order; a single regime when no change point is found
+     */
+    public List<Regime> detect(EventStore events) {
+        int n = events.size();
+        List<Regime> regimes = new ArrayList<>();
+        if (n == 0) return regimes;
+
+        int blockSize = (n + MAX_BLOCKS - 1) / MAX_BLOCKS;
+        int blocks = (n + blockSize - 1) / blockSize;
+        buildPrefixSums(events, blockSize, blocks);
+
+        // Best split of each segment; the segment with the largest gain is split first
+        long minEvents = Math.max(minRegimeEvents, (long) Math.ceil(n * minRegimeFraction));
+        double penalty = (SERIES + 1) * Math.log(n);
+        List<Integer> boundaries = new ArrayList<>(List.of(0, blocks));
+        PriorityQueue<double[]> candidates = new PriorityQueue<>((a, b) -> Double.compare(b[0], a[0]));
+        addCandidate(candidates, 0, blocks, minEvents, penalty);
+
+        while (!candidates.isEmpty() && boundaries.size() - 1 < maxRegimes) {
+            double[] split = candidates.poll();
+            int from = (int) split[1];
+            int at = (int) split[2];
+            int to = (int) split[3];
+            boundaries.add(at);
+            addCandidate(candidates, from, at, minEvents, penalty);
+            addCandidate(candidates, at, to, minEvents, penalty);
+        }
+
+        boundaries.sort(null);
+        for (int i = 0; i + 1 < boundaries.size(); i++) {
+            int first = boundaries.get(i) * blockSize;
+            int end = Math.min(n, boundaries.get(i + 1) * blockSize);
+            regimes.add(describe(events, first, end));
+        }
+
+        counts = null;
+        sums = null;
+        squares = null;
+        return regimes;
+    }
+
+    private void buildPrefixSums(EventStore events, int blockSize, int blocks) {
+        counts = new long[blocks + 1];
+        sums = new double[SERIES][blocks + 1];
+        squares = new double[SERIES][blocks + 1];
+        double[] value = new double[SERIES];
+
+        for (int b = 0; b < blocks; b++) {
+            int first = b * blockSize;
+            int end = Math.min(events.size(), first + blockSize);
+            counts[b + 1] = counts[b] + (end - first);
+            for (int s = 0; s < SERIES; s++) {
+                sums[s][b + 1] = sums[s][b];
+                squares[s][b + 1] = squares[s][b];
+            }
+            for (int i = first; i < end; i++) {
+                value[0] = Math.log1p(events.getDurationMicros(i));
+                value[1] = events.getHeapAfter(i) / (1024.0 * 1024.0); // MB keeps the squares well conditioned
+                for (int s = 0; s < SERIES; s++) {
+                    sums[s][b + 1] += value[s];
+                    squares[s][b + 1] += value[s] * value[s];
+                }
+            }
+        }
+
+        variances = new double[SERIES];
+        for (int s = 0; s < SERIES; s++) {
+            variances[s] = sse(s, 0, blocks) / counts[blocks];
+        }
+    }
+
+    /**
+     * Queue the best split of blocks [from, to) if it is worth taking.
+     * Entries are {gain, from, at, to}.
+     */
+    private void addCandidate(PriorityQueue<double[]> candidates, int from, int to, long minEvents, double penalty) {
+        double parentCost = cost(from, to);
+        double bestGain = 0;
+        int bestAt = -1;
+
+        for (int at = from + 1; at < to; at++) {
+            if (counts[at] - counts[from] < minEvents) continue;
+            if (counts[to] - counts[at] < minEvents) break;
+            double gain = parentCost - cost(from, at) - cost(at, to);
+            if (gain > bestGain) {
+                bestGain = gain;
+                bestAt = at;
+            }
+        }
+
+        if (bestAt > 0 && bestGain > penalty && isRelevant(from, bestAt, to)) {
+            candidates.add(new double[]{bestGain, from, bestAt, to});
+        }
+    }
+
+    /** Whether the pause (geometric mean) or heap after mean differs enough across the split */
+    private boolean isRelevant(int from, int at, int to) {
+        double pauseChange = Math.abs(mean(0, from, at) - mean(0, at, to)); // Log scale
+        double heapLeft = mean(1, from, at);
+        double heapRight = mean(1, at, to);
+        double heapBase = Math.min(heapLeft, heapRight);
+        return pauseChange >= Math.log1p(minRelativeChange)
+                || (heapBase > 0 && Math.abs(heapLeft - heapRight) / heapBase >= minRelativeChange);
+    }
+
+    /** Sum over the series of the squared error around the segment mean, in units of variance */
+    private double cost(int from, int to) {
+        double cost = 0;
+        for (int s = 0; s < SERIES; s++) {
+            if (variances[s] > 0) cost += sse(s, from, to) / variances[s];
+        }
+        return cost;
+    }
+
+    private double sse(int series, int from, int to) {
+        long count = counts[to] - counts[from];
+        if (count == 0) return 0;
+        double sum = sums[series][to] - sums[series][from];
+        double square = squares[series][to] - squares[series][from];
+        return Math.max(0, square - sum * sum / count);
+    }
+
+    private double mean(int series, int from, int to) {
+        long count = counts[to] - counts[from];
+        return count == 0 ? 0 : (sums[series][to] - sums[series][from]) / count;
+    }
+
+    private Regime describe(EventStore events, int first, int end) {
+        Regime regime = new Regime(first, end - first);
+        PauseHistogram histogram = new PauseHistogram();
+        long totalPause = 0;
+        long maxPause = 0;
+        long majorCount = 0;
+        double heapAfterSum = 0;
+
+        for (int i = first; i < end; i++) {
+            long duration = events.getDurationMicros(i);
+            histogram.recordMicros(duration);
+            totalPause += duration;
+            maxPause = Math.max(maxPause, duration);
+            if (events.isMajorGc(i)) majorCount++;
+            heapAfterSum += events.getHeapAfter(i);
+        }
+
+        regime.setStartTime(events.getTimestamp(first));
+        regime.setEndTime(events.getTimestamp(end - 1));
+        regime.setTotalPauseMicros(totalPause);
+        regime.setMaxPauseMicros(maxPause);
+        regime.setP99PauseMicros(histogram.getValueAtPercentileMicros(99));
+        regime.setMajorGcCount(majorCount);
+        regime.setAverageHeapAfter(heapAfterSum / (end - first));
+        return regime;
+    }
+}
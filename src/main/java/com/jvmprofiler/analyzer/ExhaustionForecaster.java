@@ -0,0 +1,172 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.ExhaustionForecast;
+
+/**
+ * Forecasts when the post-GC live set will reach the committed or maximum heap.
+ *
+ * Each sample updates running least-squares fits of live bytes over time in O(1), so the
+ * forecast can be recomputed on every poll: one of old gen after GC and one of heap after GC.
+ * The old gen fit is only used while every sample had an old gen size; a log that only has
+ * it for some collections (e.g. full GCs) is forecast from heap after GC throughout, since
+ * mixing the two series would fit the gap between them as growth or shrinkage.
+ *
+ * The 95% band combines the standard errors of the slope and of the fitted current live
+ * set: the lower bound assumes the fast end of both, the upper bound the slow end.
+ */
+public class ExhaustionForecaster {
+    private static final double Z_95 = 1.96;
+    private static final int MIN_SAMPLES = 5;
+
+    private long maxHeapBytes;       // 0 = unknown
+
+    private long firstTimestamp = -1;
+    private long latestTimestamp;
+    private long latestCommitted;
+    private long largestCommitted;
+
+    private final Fit oldFit = new Fit();
+    private final Fit heapFit = new Fit();
+    private boolean oldOnEverySample = true;
+
+    public ExhaustionForecaster() {}
+
+    public ExhaustionForecaster(long maxHeapBytes) {
+        this.maxHeapBytes = maxHeapBytes;
+    }
+
+    public void setMaxHeapBytes(long maxHeapBytes) { this.maxHeapBytes = maxHeapBytes; }
+    public long getMaxHeapBytes() { return maxHeapBytes; }
+
+    /**
+     * Add every event of {@code events}; returns this for chaining
+     */
+    public ExhaustionForecaster acceptAll(EventStore events) {
+        for (int i = 0; i < events.size(); i++) {
+            accept(events, i);
+        }
+        return this;
+    }
+
+    public void accept(EventStore events, int index) {
+        accept(events.getTimestamp(index), events.getOldAfter(index), events.getHeapAfter(index),
+                events.getHeapCommitted(index));
+    }
+
+    /**
+     * @param timestamp      sample time in milliseconds
+     * @param liveBytes      memory still in use right after a GC
+     * @param committedBytes committed heap at that time, 0 if unknown
+     */
+    public void accept(long timestamp, long liveBytes, long committedBytes) {
+        accept(timestamp, 0, liveBytes, committedBytes);
+    }
+
+    /**
+     * @param oldAfterBytes  old generation after GC, 0 if unknown
+     * @param heapAfterBytes heap after GC, 0 if unknown
+     */
+    private void accept(long timestamp, long oldAfterBytes, long heapAfterBytes, long committedBytes) {
+        if (heapAfterBytes <= 0 && oldAfterBytes <= 0) return;
+        if (firstTimestamp < 0) firstTimestamp = timestamp;
+        latestTimestamp = timestamp;
+        if (committedBytes > 0) {
+            latestCommitted = committedBytes;
+            largestCommitted = Math.max(largestCommitted, committedBytes);
+        }
+
+        double minutes = (timestamp - firstTimestamp) / (1000.0 * 60.0);
+        if (oldAfterBytes > 0) {
+            oldFit.accept(minutes, oldAfterBytes);
+        } else {
+            oldOnEverySample = false;
+        }
+        if (heapAfterBytes > 0) heapFit.accept(minutes, heapAfterBytes);
+    }
+
+    public long getSampleCount() { return liveFit().count; }
+
+    /** Whether the live set is old gen after GC rather than heap after GC */
+    public boolean isOldGenSeries() { return oldOnEverySample && oldFit.count > 0; }
+
+    /** Live set growth in bytes per minute; 0 until two samples at different times */
+    public double getGrowthBytesPerMinute() {
+        Fit fit = liveFit();
+        return fit.m2X > 0 ? fit.coMoment / fit.m2X : 0;
+    }
+
+    private Fit liveFit() {
+        return isOldGenSeries() ? oldFit : heapFit;
+    }
+
+    /**
+     * Time until the live set reaches the largest committed heap seen, or null when the
+     * trend isn't growing or there are too few samples
+     */
+    public ExhaustionForecast forecastCommitted() {
+        long limit = Math.max(latestCommitted, largestCommitted);
+        return limit > 0 ? forecast("committed heap", limit) : null;
+    }
+
+    /**
+     * Time until the live set reaches the maximum heap (OutOfMemoryError), or null when
+     * the maximum heap is unknown, the trend isn't growing or there are too few samples
+     */
+    public ExhaustionForecast forecastMaxHeap() {
+        return maxHeapBytes > 0 ? forecast("max heap", maxHeapBytes) : null;
+    }
+
+    public ExhaustionForecast forecast(String limitName, long limitBytes) {
+        Fit fit = liveFit();
+        long sampleCount = fit.count;
+        double meanX = fit.meanX;
+        double m2X = fit.m2X;
+        if (sampleCount < MIN_SAMPLES || m2X <= 0) return null;
+
+        double slope = fit.coMoment / m2X;
+        if (slope <= 0) return null;
+
+        double now = (latestTimestamp - firstTimestamp) / (1000.0 * 60.0);
+        double liveNow = fit.meanY + slope * (now - meanX);
+        double remaining = limitBytes - liveNow;
+        if (remaining <= 0) {
+            return new ExhaustionForecast(limitName, limitBytes, (long) liveNow, slope, 0, 0, 0);
+        }
+
+        // Residual variance of the fit, standard errors of the slope and of the current level
+        double residual = Math.max(0, fit.m2Y - fit.coMoment * slope) / (sampleCount - 2);
+        double slopeError = Math.sqrt(residual / m2X);
+        double levelError = Math.sqrt(residual * (1.0 / sampleCount + (now - meanX) * (now - meanX) / m2X));
+        double fastSlope = slope + Z_95 * slopeError;
+        double slowSlope = slope - Z_95 * slopeError;
+
+        return new ExhaustionForecast(limitName, limitBytes, (long) liveNow, slope,
+                remaining / slope,
+                Math.max(0, remaining - Z_95 * levelError) / fastSlope,
+                slowSlope > 0 ? (remaining + Z_95 * levelError) / slowSlope : Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Welford co-moments of (minutes since first sample, live bytes)
+     */
+    private static final class Fit {
+        private long count;
+        private double meanX;
+        private double meanY;
+        private double m2X;
+        private double m2Y;
+        private double coMoment;
+
+        void accept(double x, double y) {
+            count++;
+            double dx = x - meanX;
+            meanX += dx / count;
+            double dy = y - meanY;
+            meanY += dy / count;
+            m2X += dx * (x - meanX);
+            m2Y += dy * (y - meanY);
+            coMoment += dx * (y - meanY);
+        }
+    }
+}
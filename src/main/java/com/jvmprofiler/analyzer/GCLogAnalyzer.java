@@ -1,13 +1,20 @@
 package com.jvmprofiler.analyzer;
 
+import com.jvmprofiler.analyzer.model.AllocationStall;
+import com.jvmprofiler.analyzer.model.EventStore;
 import com.jvmprofiler.analyzer.model.GCEvent;
 import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCPhase;
+import com.jvmprofiler.analyzer.model.GCStatistics;
+import com.jvmprofiler.analyzer.model.GCStorm;
 import com.jvmprofiler.analyzer.model.PauseAnalysis;
+import com.jvmprofiler.analyzer.model.PauseHistogram;
+import com.jvmprofiler.analyzer.model.PauseSummary;
+import com.jvmprofiler.analyzer.model.Regime;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class GCLogAnalyzer {
     private static final Logger logger = LogManager.getLogger(GCLogAnalyzer.class);
@@ -17,6 +24,20 @@ public class GCLogAnalyzer {
     private long criticalPauseThresholdMs = 1000; // Pauses longer than 1s are critical
     private double gcTimePercentageThreshold = 10.0; // GC time > 10% of total time is bad
     private double memoryEfficiencyThreshold = 50.0; // Heap freed < 50% is inefficient
+    private int parallelGcThreads = 0;               // ParallelGCThreads if the log doesn't show it (0 = from log)
+    private double starvedParallelismFraction = 0.5; // Parallelism < 50% of the workers means starved GC threads
+    private double sysSpikeFraction = 0.5;           // Sys time > 50% of User time is a Sys spike
+    private int pauseRetention = 100;                // Worst and sampled pauses kept per category (0 = all)
+
+    // GC storm windows: window length in ms -> more GCs than this within one window is a storm
+    private Map<Long, Integer> stormWindows = new TreeMap<>(Map.of(1000L, 3, 10_000L, 6, 60_000L, 10));
+
+    // Pauses at or above this percentile make up the tail for the phase breakdown
+    private static final double TAIL_PERCENTILE = 99;
+
+    private final MutatorUtilizationAnalyzer mutatorUtilizationAnalyzer = new MutatorUtilizationAnalyzer();
+    private final ChangePointDetector changePointDetector = new ChangePointDetector();
+    private double pauseRegressionFactor = 1.5;      // Mean or P99 pause 50% above the previous regime is a regression
 
     public GCLogAnalyzer() {}
 
@@ -32,124 +53,174 @@ public class GCLogAnalyzer {
      * Comprehensive analysis of GC log data
      */
     public PauseAnalysis analyze(GCLog gcLog) {
-        logger.info("Starting GC log analysis for {} events", gcLog.getEvents().size());
+        logger.info("Starting GC log analysis for {} events", gcLog.getEventStore().size());
+
+        // One pass over the events collects everything the detectors below need;
+        // the histogram filled during parsing already knows where the P99 tail starts
+        long tailThresholdMicros = gcLog.getPauseHistogram().getValueAtPercentileMicros(TAIL_PERCENTILE);
+        GCStatistics statistics = new GCStatistics(longPauseThresholdMs, criticalPauseThresholdMs, tailThresholdMicros);
+        statistics.setCpuThresholds(getParallelGcThreads(gcLog), starvedParallelismFraction, sysSpikeFraction);
+        statistics.setPauseRetention(pauseRetention);
+        statistics.acceptAll(gcLog.getEventStore());
+        PauseAnalysis analysis = analyze(gcLog, statistics);
+
+        logger.info("GC analysis completed. Found {} issues.", analysis.getIssues().size());
+
+        return analysis;
+    }
 
+    /**
+     * Analysis from statistics collected elsewhere, e.g. updated event by event while
+     * following a live log. The remaining detectors only look at the events still held
+     * by {@code gcLog}.
+     */
+    public PauseAnalysis analyze(GCLog gcLog, GCStatistics statistics) {
         PauseAnalysis analysis = new PauseAnalysis();
         analysis.setGcLog(gcLog);
+        if (statistics.isTailTrackedByDuration()) {
+            statistics.setTailPauseThresholdMicros(gcLog.getPauseHistogram().getValueAtPercentileMicros(TAIL_PERCENTILE));
+        }
 
         // Basic statistics
-        calculateBasicStatistics(gcLog, analysis);
+        calculateBasicStatistics(gcLog, statistics, analysis);
 
         // Performance issues detection
-        detectLongPauses(gcLog, analysis);
+        detectLongPauses(statistics, analysis);
         detectFrequentGc(gcLog, analysis);
         detectMemoryIssues(gcLog, analysis);
-        detectSystemGcIssues(gcLog, analysis);
+        detectSystemGcIssues(statistics, analysis);
+        detectGcCpuIssues(gcLog, statistics, analysis);
+        detectAllocationStalls(gcLog, statistics, analysis);
+        detectPauseRegressions(gcLog, analysis);
 
         // Generate recommendations
         generateRecommendations(analysis);
 
-        logger.info("GC analysis completed. Found {} issues.", analysis.getIssues().size());
-
         return analysis;
     }
 
-    private void calculateBasicStatistics(GCLog gcLog, PauseAnalysis analysis) {
-        List<GCEvent> events = gcLog.getEvents();
+    /**
+     * Empty statistics using this analyzer's pause thresholds. The tail threshold is not known
+     * before the events are, so the tail is tracked by duration and re-cut by {@link #analyze(GCLog, GCStatistics)}
+     */
+    public GCStatistics newStatistics() {
+        GCStatistics statistics = new GCStatistics(longPauseThresholdMs, criticalPauseThresholdMs);
+        statistics.setCpuThresholds(parallelGcThreads, starvedParallelismFraction, sysSpikeFraction);
+        statistics.setPauseRetention(pauseRetention);
+        statistics.trackTailByDuration();
+        return statistics;
+    }
+
+    /**
+     * Keep the {@code pauseRetention} worst pauses and a sample of as many per category
+     * (long, critical, starved, Sys spike) instead of all of them; 0 keeps every pause.
+     * Counts and totals stay exact either way.
+     */
+    public void setPauseRetention(int pauseRetention) {
+        this.pauseRetention = pauseRetention;
+    }
+
+    /**
+     * ParallelGCThreads of the analysed JVM, for logs that don't print their worker count
+     */
+    public void setParallelGcThreads(int parallelGcThreads) {
+        this.parallelGcThreads = parallelGcThreads;
+    }
+
+    /**
+     * Window lengths checked for GC storms, mapped to the most GCs allowed within one window
+     */
+    public void setStormWindows(Map<Long, Integer> stormWindows) {
+        this.stormWindows = new TreeMap<>(stormWindows);
+    }
 
-        if (events.isEmpty()) {
+    private int getParallelGcThreads(GCLog gcLog) {
+        return parallelGcThreads > 0 ? parallelGcThreads : gcLog.getParallelGcThreads();
+    }
+
+    private void calculateBasicStatistics(GCLog gcLog, GCStatistics statistics, PauseAnalysis analysis) {
+        if (statistics.getCount() == 0) {
             analysis.addIssue("NO_EVENTS", "No GC events found in log", "WARNING");
             return;
         }
 
         // Basic counts
-        long totalEvents = events.size();
-        long majorGcEvents = events.stream().filter(GCEvent::isMajorGc).count();
-        long minorGcEvents = totalEvents - majorGcEvents;
-
-        analysis.setTotalEvents(totalEvents);
-        analysis.setMajorGcCount(majorGcEvents);
-        analysis.setMinorGcCount(minorGcEvents);
+        analysis.setTotalEvents(statistics.getCount());
+        analysis.setMajorGcCount(statistics.getMajorGcCount());
+        analysis.setMinorGcCount(statistics.getMinorGcCount());
 
         // Duration statistics
-        List<Long> durations = events.stream()
-                .map(GCEvent::getDuration)
-                .sorted()
-                .toList();
-
-        analysis.setTotalGcTime(gcLog.getTotalGcTime());
-        analysis.setLongestPause(gcLog.getLongestPause());
-        analysis.setAveragePause(gcLog.getAveragePause());
-
-        // Percentiles
-        analysis.setP50(calculatePercentile(durations, 50));
-        analysis.setP90(calculatePercentile(durations, 90));
-        analysis.setP95(calculatePercentile(durations, 95));
-        analysis.setP99(calculatePercentile(durations, 99));
+        analysis.setTotalGcTime(statistics.getTotalGcTimeMillis());
+        analysis.setLongestPause(statistics.getLongestPauseMillis());
+        analysis.setAveragePause(statistics.getAveragePauseMillis());
+
+        // Percentiles come from the histogram filled during parsing
+        PauseHistogram histogram = gcLog.getPauseHistogram();
+        analysis.setPauseHistogram(histogram);
+        analysis.setP50(calculatePercentile(histogram, 50));
+        analysis.setP90(calculatePercentile(histogram, 90));
+        analysis.setP95(calculatePercentile(histogram, 95));
+        analysis.setP99(calculatePercentile(histogram, 99));
 
         // GC time percentage
         analysis.setGcTimePercentage(gcLog.getGcTimePercentage());
 
         // Memory efficiency
-        calculateMemoryEfficiency(gcLog, analysis);
-    }
+        analysis.setAverageMemoryEfficiency(statistics.getAverageMemoryEfficiency());
+        analysis.setMostEfficientGc(statistics.getMostEfficientGc());
+        analysis.setLeastEfficientGc(statistics.getLeastEfficientGc());
 
-    private long calculatePercentile(List<Long> values, double percentile) {
-        if (values.isEmpty()) return 0;
+        // Pause phases
+        calculatePhaseBreakdown(statistics, analysis);
 
-        int index = (int) Math.ceil(percentile / 100.0 * values.size()) - 1;
-        index = Math.max(0, Math.min(index, values.size() - 1));
-        return values.get(index);
+        // Worst-case share of time left to the application, per window size
+        analysis.setMutatorUtilization(mutatorUtilizationAnalyzer.analyze(gcLog));
     }
 
-    private void calculateMemoryEfficiency(GCLog gcLog, PauseAnalysis analysis) {
-        List<GCEvent> events = gcLog.getEvents();
-
-        double totalEfficiency = events.stream()
-                .mapToDouble(event -> {
-                    if (event.getHeapBefore() == 0) return 0;
-                    return (double) event.getHeapFreed() / event.getHeapBefore() * 100;
-                })
-                .average()
-                .orElse(0);
-
-        analysis.setAverageMemoryEfficiency(totalEfficiency);
-
-        // Find most and least efficient GCs
-        events.stream()
-                .max(Comparator.comparingDouble(event ->
-                        event.getHeapBefore() > 0 ?
-                                (double) event.getHeapFreed() / event.getHeapBefore() : 0))
-                .ifPresent(analysis::setMostEfficientGc);
-
-        events.stream()
-                .min(Comparator.comparingDouble(event ->
-                        event.getHeapBefore() > 0 ?
-                                (double) event.getHeapFreed() / event.getHeapBefore() : 0))
-                .ifPresent(analysis::setLeastEfficientGc);
+    private void calculatePhaseBreakdown(GCStatistics statistics, PauseAnalysis analysis) {
+        Map<GCPhase, Long> breakdown = new EnumMap<>(GCPhase.class);
+        Map<GCPhase, Long> tailBreakdown = new EnumMap<>(GCPhase.class);
+        GCPhase dominant = null;
+
+        for (GCPhase phase : GCPhase.values()) {
+            long micros = statistics.getPhaseMicros(phase);
+            if (micros == 0) continue;
+            breakdown.put(phase, micros);
+
+            long tailMicros = statistics.getTailPhaseMicros(phase);
+            if (tailMicros > 0) {
+                tailBreakdown.put(phase, tailMicros);
+                if (dominant == null || tailMicros > tailBreakdown.get(dominant)) {
+                    dominant = phase;
+                }
+            }
+        }
+
+        analysis.setPhaseBreakdown(breakdown);
+        analysis.setTailPhaseBreakdown(tailBreakdown);
+        analysis.setDominantTailPhase(dominant);
     }
 
-    private void detectLongPauses(GCLog gcLog, PauseAnalysis analysis) {
-        List<GCEvent> longPauses = gcLog.getEvents().stream()
-                .filter(event -> event.getDuration() > longPauseThresholdMs)
-                .toList();
+    private long calculatePercentile(PauseHistogram histogram, double percentile) {
+        return histogram.getValueAtPercentileMicros(percentile) / 1000;
+    }
 
-        List<GCEvent> criticalPauses = gcLog.getEvents().stream()
-                .filter(event -> event.getDuration() > criticalPauseThresholdMs)
-                .toList();
+    private void detectLongPauses(GCStatistics statistics, PauseAnalysis analysis) {
+        PauseSummary longPauses = statistics.getLongPauses();
+        PauseSummary criticalPauses = statistics.getCriticalPauses();
 
         analysis.setLongPauses(longPauses);
         analysis.setCriticalPauses(criticalPauses);
 
         if (!criticalPauses.isEmpty()) {
             analysis.addIssue("CRITICAL_PAUSES",
-                    String.format("Found %d critical pauses (>%dms)", criticalPauses.size(), criticalPauseThresholdMs),
+                    String.format("Found %d critical pauses (>%dms)", criticalPauses.getCount(), criticalPauseThresholdMs),
                     "CRITICAL");
         }
 
         if (!longPauses.isEmpty()) {
             analysis.addIssue("LONG_PAUSES",
-                    String.format("Found %d long pauses (>%dms)", longPauses.size(), longPauseThresholdMs),
+                    String.format("Found %d long pauses (>%dms)", longPauses.getCount(), longPauseThresholdMs),
                     "WARNING");
         }
 
@@ -176,27 +247,61 @@ public class GCLogAnalyzer {
     }
 
     private void detectGcStorms(GCLog gcLog, PauseAnalysis analysis) {
-        List<GCEvent> events = gcLog.getEvents();
-        if (events.size() < 10) return; // Need enough events
-
-        // Group events by time windows and look for high frequency
-        Map<Long, Integer> eventsPerMinute = new HashMap<>();
-
-        for (GCEvent event : events) {
-            long minute = event.getTimestamp() / (60 * 1000); // Group by minute
-            eventsPerMinute.put(minute, eventsPerMinute.getOrDefault(minute, 0) + 1);
-        }
+        EventStore events = gcLog.getEventStore();
 
-        Optional<Map.Entry<Long, Integer>> maxEntry = eventsPerMinute.entrySet().stream()
-                .max(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Integer> window : stormWindows.entrySet()) {
+            List<GCStorm> storms = findStorms(events, window.getKey(), window.getValue());
+            if (storms.isEmpty()) continue;
+            analysis.getGcStorms().addAll(storms);
 
-        if (maxEntry.isPresent() && maxEntry.get().getValue() > 10) { // More than 10 GCs per minute
+            GCStorm worst = Collections.max(storms, Comparator.comparingLong(GCStorm::getTotalPauseMicros));
             analysis.addIssue("GC_STORM",
-                    String.format("Detected GC storm: %d GCs in one minute", maxEntry.get().getValue()),
+                    String.format("Detected %d GC storm(s) with more than %d GCs within %d ms (worst lasted %.1f s with %d GCs and %.1f ms paused)",
+                            storms.size(), window.getValue(), window.getKey(),
+                            (worst.getEndTime() - worst.getStartTime()) / 1000.0, worst.getGcCount(), worst.getTotalPauseMillis()),
                     "WARNING");
         }
     }
 
+    /**
+     * Two pointers over the time-sorted events: events left..i are the GCs within
+     * {@code windowMillis} of event i. Windows holding more than {@code maxGcs} GCs that
+     * overlap an open storm extend it, so each event is added to at most one storm.
+     */
+    private List<GCStorm> findStorms(EventStore events, long windowMillis, int maxGcs) {
+        List<GCStorm> storms = new ArrayList<>();
+        GCStorm storm = null;
+        int stormEnd = -1; // Index of the last GC in the current storm
+        int left = 0;
+
+        for (int i = 0; i < events.size(); i++) {
+            long timestamp = events.getTimestamp(i);
+            if (i > 0 && timestamp < events.getTimestamp(i - 1)) {
+                // Uptime restarted (new JVM appending to the same log)
+                left = i;
+                storm = null;
+            }
+            while (timestamp - events.getTimestamp(left) >= windowMillis) {
+                left++;
+            }
+
+            int count = i - left + 1;
+            if (count <= maxGcs) continue;
+
+            if (storm == null || left > stormEnd) {
+                storm = new GCStorm(windowMillis);
+                storms.add(storm);
+                stormEnd = left - 1;
+            }
+            for (int j = stormEnd + 1; j <= i; j++) {
+                storm.addGc(events.getTimestamp(j), events.getDurationMicros(j));
+            }
+            stormEnd = i;
+            storm.recordWindowCount(count);
+        }
+        return storms;
+    }
+
     private void detectMemoryIssues(GCLog gcLog, PauseAnalysis analysis) {
         // Check memory efficiency
         if (analysis.getAverageMemoryEfficiency() < memoryEfficiencyThreshold) {
@@ -207,7 +312,7 @@ public class GCLogAnalyzer {
         }
 
         // Check for memory leaks by analyzing heap trends
-        if (gcLog.getEvents().size() > 20) { // Need enough data
+        if (gcLog.getEventStore().size() > 20) { // Need enough data
             analyzeHeapTrend(gcLog, analysis);
         }
 
@@ -221,20 +326,14 @@ public class GCLogAnalyzer {
     }
 
     private void analyzeHeapTrend(GCLog gcLog, PauseAnalysis analysis) {
-        List<GCEvent> events = gcLog.getEvents();
+        EventStore events = gcLog.getEventStore();
 
         // Use the last 20 events for trend analysis
         int sampleSize = Math.min(20, events.size());
-        List<GCEvent> recentEvents = events.subList(events.size() - sampleSize, events.size());
-
-        // Calculate average heap usage after GC (should be stable if no leak)
-        double avgHeapAfter = recentEvents.stream()
-                .mapToLong(GCEvent::getHeapAfter)
-                .average()
-                .orElse(0);
+        int from = events.size() - sampleSize;
 
         // Check if heap after GC is consistently growing
-        boolean growingTrend = isHeapGrowing(recentEvents);
+        boolean growingTrend = isHeapGrowing(events, from, events.size());
 
         if (growingTrend) {
             analysis.addIssue("POSSIBLE_MEMORY_LEAK",
@@ -243,16 +342,16 @@ public class GCLogAnalyzer {
         }
     }
 
-    private boolean isHeapGrowing(List<GCEvent> events) {
-        if (events.size() < 5) return false;
+    private boolean isHeapGrowing(EventStore events, int from, int to) {
+        if (to - from < 5) return false;
 
         // Simple linear regression to detect trend
         double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
-        int n = events.size();
+        int n = to - from;
 
         for (int i = 0; i < n; i++) {
             double x = i;
-            double y = events.get(i).getHeapAfter();
+            double y = events.getHeapAfter(from + i);
             sumX += x;
             sumY += y;
             sumXY += x * y;
@@ -265,10 +364,8 @@ public class GCLogAnalyzer {
         return slope > (1024 * 1024); // Growing more than 1MB per GC on average
     }
 
-    private void detectSystemGcIssues(GCLog gcLog, PauseAnalysis analysis) {
-        long systemGcCount = gcLog.getEvents().stream()
-                .filter(GCEvent::isSystemGc)
-                .count();
+    private void detectSystemGcIssues(GCStatistics statistics, PauseAnalysis analysis) {
+        long systemGcCount = statistics.getSystemGcCount();
 
         if (systemGcCount > 0) {
             analysis.addIssue("SYSTEM_GC_CALLS",
@@ -277,11 +374,90 @@ public class GCLogAnalyzer {
         }
     }
 
+    /**
+     * ZGC allocation stalls block the allocating thread until a cycle frees memory, so they
+     * hurt latency like a pause even though the collector itself barely stops the world
+     */
+    private void detectAllocationStalls(GCLog gcLog, GCStatistics statistics, PauseAnalysis analysis) {
+        analysis.setTotalConcurrentMicros(statistics.getTotalConcurrentMicros());
+        if (gcLog.getAllocationStalls().isEmpty()) return;
+
+        List<AllocationStall> byThread = new ArrayList<>(gcLog.getAllocationStalls());
+        byThread.sort(Comparator.comparingLong(AllocationStall::getTotalMicros).reversed());
+        long count = 0;
+        long totalMicros = 0;
+        long longestMicros = 0;
+        for (AllocationStall stall : byThread) {
+            count += stall.getCount();
+            totalMicros += stall.getTotalMicros();
+            longestMicros = Math.max(longestMicros, stall.getMaxMicros());
+        }
+        analysis.setAllocationStallsByThread(byThread);
+        analysis.setAllocationStallCount(count);
+        analysis.setTotalAllocationStallMicros(totalMicros);
+        analysis.setLongestAllocationStallMicros(longestMicros);
+
+        String severity = longestMicros / 1000 > criticalPauseThresholdMs ? "CRITICAL" : "WARNING";
+        analysis.addIssue("ALLOCATION_STALLS",
+                String.format("%d allocation stalls blocked %d threads for %.1f ms in total (longest %.1f ms, most in %s)",
+                        count, byThread.size(), totalMicros / 1000.0, longestMicros / 1000.0, byThread.get(0).getThread()),
+                severity);
+    }
+
+    private void detectGcCpuIssues(GCLog gcLog, GCStatistics statistics, PauseAnalysis analysis) {
+        if (statistics.getCpuPauseCount() == 0) return;
+
+        int threads = getParallelGcThreads(gcLog);
+        analysis.setParallelGcThreads(threads);
+        analysis.setAverageParallelism(statistics.getAverageParallelism());
+        analysis.setParallelismTimeline(statistics.getParallelismByMinute());
+        analysis.setStarvedPauses(statistics.getStarvedPauses());
+        analysis.setSysSpikePauses(statistics.getSysSpikePauses());
+
+        long starved = statistics.getStarvedPauses().getCount();
+        if (starved > 0) {
+            // Starvation in many pauses points at CPU limits rather than a noisy neighbour
+            String severity = starved > statistics.getCpuPauseCount() * 0.1 ? "CRITICAL" : "WARNING";
+            analysis.addIssue("GC_THREAD_STARVATION",
+                    String.format("%d pauses ran with parallelism below %.0f%% of their GC workers (average %.2f, %s threads)",
+                            starved, starvedParallelismFraction * 100, statistics.getAverageParallelism(),
+                            threads > 0 ? String.valueOf(threads) : "unknown"),
+                    severity);
+        }
+
+        long sysSpikes = statistics.getSysSpikePauses().getCount();
+        if (sysSpikes > 0) {
+            analysis.addIssue("SYS_TIME_SPIKES",
+                    String.format("%d pauses spent more than %.0f%% of User time in Sys time", sysSpikes, sysSpikeFraction * 100),
+                    "WARNING");
+        }
+    }
+
+    private void detectPauseRegressions(GCLog gcLog, PauseAnalysis analysis) {
+        List<Regime> regimes = changePointDetector.detect(gcLog);
+        analysis.setRegimes(regimes);
+
+        for (int i = 1; i < regimes.size(); i++) {
+            Regime before = regimes.get(i - 1);
+            Regime after = regimes.get(i);
+            boolean meanRegressed = after.getAveragePauseMillis() >= before.getAveragePauseMillis() * pauseRegressionFactor;
+            boolean tailRegressed = after.getP99PauseMicros() >= before.getP99PauseMicros() * pauseRegressionFactor;
+            if (meanRegressed || tailRegressed) {
+                analysis.addIssue("PAUSE_REGRESSION",
+                        String.format("Pause times regressed %.1f minutes into the log (average %.2f -> %.2f ms, P99 %.2f -> %.2f ms)",
+                                (after.getStartTime() - gcLog.getStartTime()) / 60000.0,
+                                before.getAveragePauseMillis(), after.getAveragePauseMillis(),
+                                before.getP99PauseMicros() / 1000.0, after.getP99PauseMicros() / 1000.0),
+                        "WARNING");
+            }
+        }
+    }
+
     private void generateRecommendations(PauseAnalysis analysis) {
         List<String> recommendations = new ArrayList<>();
 
         // Generate recommendations based on detected issues
-        if (analysis.getCriticalPauses().size() > 0) {
+        if (!analysis.getCriticalPauses().isEmpty()) {
             recommendations.add("Consider tuning GC parameters to reduce pause times");
             recommendations.add("Evaluate switching to low-pause GC (ZGC, Shenandoah) for critical applications");
         }
@@ -301,6 +477,18 @@ public class GCLogAnalyzer {
             recommendations.add("Review object lifecycle management");
         }
 
+        if (!analysis.getStarvedPauses().isEmpty()) {
+            recommendations.add("Check container CPU limits and throttling; set -XX:ParallelGCThreads to the CPUs actually available");
+        }
+
+        if (analysis.getAllocationStallCount() > 0) {
+            recommendations.add("Allocation stalls: give ZGC more headroom (-Xmx above the live set, -XX:SoftMaxHeapSize) or more -XX:ConcGCThreads so cycles finish before the heap fills");
+        }
+
+        if (!analysis.getSysSpikePauses().isEmpty()) {
+            recommendations.add("High Sys time during GC: check for swapping and transparent huge page defragmentation, consider -XX:+AlwaysPreTouch");
+        }
+
         if (analysis.getMajorGcCount() > analysis.getTotalEvents() * 0.1) {
             recommendations.add("Increase young generation size to reduce promotion rate");
             recommendations.add("Tune -XX:MaxTenuringThreshold if appropriate");
@@ -310,6 +498,7 @@ public class GCLogAnalyzer {
         String gcType = analysis.getGcLog().getGcType();
         if ("G1GC".equals(gcType)) {
             recommendations.add("Consider tuning G1GC: -XX:MaxGCPauseMillis, -XX:G1HeapRegionSize");
+            addPhaseRecommendation(analysis.getDominantTailPhase(), recommendations);
         } else if ("ZGC".equals(gcType)) {
             recommendations.add("ZGC is well-tuned by default, but ensure adequate memory for best performance");
         } else if ("ParallelGC".equals(gcType)) {
@@ -319,19 +508,46 @@ public class GCLogAnalyzer {
         analysis.setRecommendations(recommendations);
     }
 
+    private void addPhaseRecommendation(GCPhase phase, List<String> recommendations) {
+        if (phase == null) return;
+
+        switch (phase) {
+            case EVACUATE:
+                recommendations.add("Object copying dominates the slowest pauses: consider a smaller young generation "
+                        + "(-XX:G1MaxNewSizePercent) or more -XX:ParallelGCThreads");
+                break;
+            case MERGE_HEAP_ROOTS:
+                recommendations.add("Remembered set merging dominates the slowest pauses: "
+                        + "consider a larger -XX:G1HeapRegionSize to reduce cross-region references");
+                break;
+            default:
+                recommendations.add(String.format("'%s' dominates the slowest pauses; enable -Xlog:gc+phases=debug "
+                        + "for the sub-phase breakdown", phase.getLabel()));
+                break;
+        }
+    }
+
     // Utility methods for specific analyses
     public List<GCEvent> findEventsByType(GCLog gcLog, String type) {
-        return gcLog.getEvents().stream()
-                .filter(event -> event.getGcType().toLowerCase().contains(type.toLowerCase()))
-                .toList();
+        EventStore events = gcLog.getEventStore();
+        String needle = type.toLowerCase(Locale.ROOT);
+        List<GCEvent> result = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            String gcType = events.getGcType(i);
+            if (gcType != null && gcType.toLowerCase(Locale.ROOT).contains(needle)) {
+                result.add(events.getEvent(i));
+            }
+        }
+        return result;
     }
 
     public Map<String, Long> getGcTypeDistribution(GCLog gcLog) {
-        return gcLog.getEvents().stream()
-                .collect(Collectors.groupingBy(
-                        GCEvent::getGcType,
-                        Collectors.counting()
-                ));
+        EventStore events = gcLog.getEventStore();
+        Map<String, Long> distribution = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            distribution.merge(events.getGcType(i), 1L, Long::sum);
+        }
+        return distribution;
     }
 
     public double getThroughput(GCLog gcLog) {
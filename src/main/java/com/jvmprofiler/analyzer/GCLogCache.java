@@ -0,0 +1,368 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.AllocationStall;
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCStatistics;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
+import com.jvmprofiler.analyzer.model.PauseHistogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary sidecar ({@code <log>.jvmp}) holding the parsed events of a GC log, so that
+ * repeated analyses of the same file skip text parsing.
+ *
+ * Layout: a fixed preamble (magic, format version, header length), a header with the
+ * source file key and {@link GCLog} metadata (including the allocation stalls per thread, the
+ * parse diagnostics, the running statistics and the non-empty pause histogram buckets),
+ * then one big-endian {@code long} column per
+ * {@link EventField} followed by type-code, cause-code and flag byte columns.
+ * The sidecar is only used when the source size, modification time and content
+ * fingerprint still match, it was parsed the same way (warm-up predecessor and whether the
+ * parser was finished at the end) and the stored field list equals the current {@link EventField}s.
+ */
+public class GCLogCache {
+    private static final Logger logger = LogManager.getLogger(GCLogCache.class);
+
+    public static final String SUFFIX = ".jvmp";
+
+    private static final int MAGIC = 0x4A564D50; // "JVMP"
+    // Bump when parser changes would produce different events for the same text
+    private static final int FORMAT_VERSION = 14;
+    private static final int PREAMBLE_SIZE = 12;
+    private static final int PARSE_KEY_LONGS = 7;
+
+    // The fingerprint hashes the head and tail of the file instead of the whole content,
+    // so validating a multi-GB log stays cheap
+    private static final int FINGERPRINT_SAMPLE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    public Path sidecarFor(Path logPath) {
+        return logPath.resolveSibling(logPath.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Load the cached events of {@code logPath} into a new {@link GCLog} backed by {@code store}.
+     * The columns are copied into the store as they are, and the statistics and pause histogram
+     * are restored from the header, so no event is materialised.
+     * Returns null (and leaves {@code store} empty) when there is no valid sidecar.
+     *
+     * @param previous file whose tail the parser warmed up on, null for none
+     * @param finished whether the parser was finished at the end, emitting the cycles it still held;
+     *                 a sidecar parsed differently has different events at its edges and is not used
+     */
+    public GCLog load(Path logPath, Path previous, boolean finished, EventStore store) {
+        Path sidecar = sidecarFor(logPath);
+        if (!Files.isRegularFile(sidecar)) return null;
+
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            if (channel.size() < PREAMBLE_SIZE) return null;
+
+            MappedByteBuffer preamble = channel.map(FileChannel.MapMode.READ_ONLY, 0, PREAMBLE_SIZE);
+            if (preamble.getInt() != MAGIC || preamble.getInt() != FORMAT_VERSION) return null;
+            int headerLength = preamble.getInt();
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, PREAMBLE_SIZE, headerLength);
+            for (long value : parseKey(logPath, previous, finished)) {
+                if (header.getLong() != value) {
+                    logger.info("GC log cache {} is stale or was parsed as part of another log set", sidecar);
+                    return null;
+                }
+            }
+
+            int count = header.getInt();
+            int fieldCount = header.getInt();
+            EventField[] fields = EventField.values();
+            if (fieldCount != fields.length) return null;
+            for (EventField field : fields) {
+                if (!field.name().equals(readString(header))) return null;
+            }
+
+            GCLog gcLog = new GCLog(store);
+            gcLog.setLogFile(logPath.toString());
+            gcLog.setGcType(readString(header));
+            gcLog.setJvmVersion(readString(header));
+            gcLog.setStartTime(header.getLong());
+            gcLog.setEndTime(header.getLong());
+            gcLog.setParallelGcThreads(header.getInt());
+            int stallThreads = header.getInt();
+            for (int i = 0; i < stallThreads; i++) {
+                gcLog.addAllocationStall(new AllocationStall(readString(header),
+                        header.getLong(), header.getLong(), header.getLong()));
+            }
+            readDiagnostics(header, gcLog.getParseDiagnostics());
+            gcLog.restoreTotals(GCStatistics.fromTotals(readLongs(header)), readHistogram(header));
+
+            String[] names = new String[header.getInt()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = readString(header);
+            }
+
+            long offset = PREAMBLE_SIZE + headerLength;
+            LongBuffer[] columns = new LongBuffer[fields.length];
+            for (int f = 0; f < fields.length; f++) {
+                columns[f] = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) count * Long.BYTES).asLongBuffer();
+                offset += (long) count * Long.BYTES;
+            }
+            MappedByteBuffer types = channel.map(FileChannel.MapMode.READ_ONLY, offset, count);
+            MappedByteBuffer causes = channel.map(FileChannel.MapMode.READ_ONLY, offset + count, count);
+            MappedByteBuffer flags = channel.map(FileChannel.MapMode.READ_ONLY, offset + 2L * count, count);
+            store.addColumns(count, columns, types, causes, flags, names);
+
+            logger.info("Loaded {} GC events from cache {}", count, sidecar);
+            return gcLog;
+
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable GC log cache {}: {}", sidecar, e.getMessage());
+            store.clear();
+            return null;
+        }
+    }
+
+    /**
+     * Write the sidecar for {@code logPath}, parsed as described at {@link #load}. Failures are
+     * logged and otherwise ignored, since the cache is only an optimisation.
+     */
+    public void save(Path logPath, Path previous, boolean finished, GCLog gcLog) {
+        Path sidecar = sidecarFor(logPath);
+        Path temp = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+
+        try {
+            EventStore store = gcLog.getEventStore();
+            int count = store.size();
+            EventField[] fields = EventField.values();
+
+            // Local dictionary for the type and cause columns
+            List<String> names = new ArrayList<>();
+            Map<String, Integer> codes = new HashMap<>();
+            names.add(null);
+            byte[] typeCodes = new byte[count];
+            byte[] causeCodes = new byte[count];
+            byte[] flags = new byte[count];
+            for (int i = 0; i < count; i++) {
+                typeCodes[i] = code(store.getGcType(i), names, codes);
+                causeCodes[i] = code(store.getGcCause(i), names, codes);
+                flags[i] = (byte) ((store.isMajorGc(i) ? EventStore.MAJOR_GC_FLAG : 0)
+                        | (store.isSystemGc(i) ? EventStore.SYSTEM_GC_FLAG : 0));
+            }
+            long[] totals = gcLog.getStatistics().getTotals();
+            long[] buckets = gcLog.getPauseHistogram().getNonEmptyBuckets();
+
+            ByteBuffer header = ByteBuffer.allocate(headerSize(fields, gcLog, names, totals, buckets));
+            for (long value : parseKey(logPath, previous, finished)) header.putLong(value);
+            header.putInt(count);
+            header.putInt(fields.length);
+            for (EventField field : fields) writeString(header, field.name());
+            writeString(header, gcLog.getGcType());
+            writeString(header, gcLog.getJvmVersion());
+            header.putLong(gcLog.getStartTime());
+            header.putLong(gcLog.getEndTime());
+            header.putInt(gcLog.getParallelGcThreads());
+            header.putInt(gcLog.getAllocationStalls().size());
+            for (AllocationStall stall : gcLog.getAllocationStalls()) {
+                writeString(header, stall.getThread());
+                header.putLong(stall.getCount()).putLong(stall.getTotalMicros()).putLong(stall.getMaxMicros());
+            }
+            writeDiagnostics(header, gcLog.getParseDiagnostics());
+            writeLongs(header, totals);
+            header.putLong(gcLog.getPauseHistogram().getMinMicros()).putLong(gcLog.getPauseHistogram().getMaxMicros());
+            writeLongs(header, buckets);
+            header.putInt(names.size());
+            for (String name : names) writeString(header, name);
+            header.flip();
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+                buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(header.remaining());
+                buffer.put(header);
+
+                for (EventField field : fields) {
+                    for (int i = 0; i < count; i++) {
+                        if (buffer.remaining() < Long.BYTES) drain(channel, buffer);
+                        buffer.putLong(store.get(field, i));
+                    }
+                }
+                for (byte[] column : new byte[][]{typeCodes, causeCodes, flags}) {
+                    int written = 0;
+                    while (written < count) {
+                        if (!buffer.hasRemaining()) drain(channel, buffer);
+                        int length = Math.min(buffer.remaining(), count - written);
+                        buffer.put(column, written, length);
+                        written += length;
+                    }
+                }
+                drain(channel, buffer);
+            }
+
+            Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wrote GC log cache {}", sidecar);
+
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not write GC log cache {}: {}", sidecar, e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Nothing else to clean up
+            }
+        }
+    }
+
+    /**
+     * Key of the file itself, then of the warm-up predecessor (zeros without one) and the finished flag
+     */
+    private long[] parseKey(Path logPath, Path previous, boolean finished) throws IOException {
+        long[] key = new long[PARSE_KEY_LONGS];
+        System.arraycopy(fileKey(logPath), 0, key, 0, 3);
+        if (previous != null) System.arraycopy(fileKey(previous), 0, key, 3, 3);
+        key[6] = finished ? 1 : 0;
+        return key;
+    }
+
+    /**
+     * Size, modification time and a CRC32 over the first and last 64 KB of the file
+     */
+    private long[] fileKey(Path logPath) throws IOException {
+        long size = Files.size(logPath);
+        long modified = Files.getLastModifiedTime(logPath).toMillis();
+
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            ByteBuffer sample = ByteBuffer.allocate(FINGERPRINT_SAMPLE);
+            channel.read(sample, 0);
+            crc.update(sample.flip());
+            if (size > FINGERPRINT_SAMPLE) {
+                sample.clear();
+                channel.read(sample, Math.max(FINGERPRINT_SAMPLE, size - FINGERPRINT_SAMPLE));
+                crc.update(sample.flip());
+            }
+        }
+        return new long[]{size, modified, crc.getValue()};
+    }
+
+    private byte code(String name, List<String> names, Map<String, Integer> codes) {
+        if (name == null) return 0;
+        Integer code = codes.get(name);
+        if (code == null) {
+            code = names.size();
+            names.add(name);
+            codes.put(name, code);
+        }
+        return (byte) (int) code;
+    }
+
+    private int headerSize(EventField[] fields, GCLog gcLog, List<String> names, long[] totals, long[] buckets) {
+        int size = PARSE_KEY_LONGS * Long.BYTES + 2 * Integer.BYTES + 2 * Long.BYTES + 3 * Integer.BYTES;
+        for (EventField field : fields) size += stringSize(field.name());
+        for (AllocationStall stall : gcLog.getAllocationStalls()) size += stringSize(stall.getThread()) + 3 * Long.BYTES;
+        size += stringSize(gcLog.getGcType()) + stringSize(gcLog.getJvmVersion());
+        for (String name : names) size += stringSize(name);
+        size += 2 * Integer.BYTES + (totals.length + 2 + buckets.length) * Long.BYTES;
+
+        ParseDiagnostics diagnostics = gcLog.getParseDiagnostics();
+        size += Long.BYTES + Integer.BYTES + ParseDiagnostics.Category.values().length * Long.BYTES + Integer.BYTES;
+        for (ParseDiagnostics.Sample sample : diagnostics.getSamples()) {
+            size += Integer.BYTES + stringSize(sample.getSource()) + Long.BYTES + stringSize(sample.getLine());
+        }
+        return size;
+    }
+
+    /**
+     * Line count, the count per category, then the samples as (category, source, offset, line)
+     */
+    private void writeDiagnostics(ByteBuffer header, ParseDiagnostics diagnostics) {
+        header.putLong(diagnostics.getTotalLines());
+        ParseDiagnostics.Category[] categories = ParseDiagnostics.Category.values();
+        header.putInt(categories.length);
+        for (ParseDiagnostics.Category category : categories) header.putLong(diagnostics.getCount(category));
+        header.putInt(diagnostics.getSamples().size());
+        for (ParseDiagnostics.Sample sample : diagnostics.getSamples()) {
+            header.putInt(sample.getCategory().ordinal());
+            writeString(header, sample.getSource());
+            header.putLong(sample.getOffset());
+            writeString(header, sample.getLine());
+        }
+    }
+
+    private void readDiagnostics(ByteBuffer header, ParseDiagnostics diagnostics) {
+        long totalLines = header.getLong();
+        long[] counts = new long[header.getInt()];
+        for (int i = 0; i < counts.length; i++) counts[i] = header.getLong();
+        ParseDiagnostics.Category[] categories = ParseDiagnostics.Category.values();
+        List<ParseDiagnostics.Sample> samples = new ArrayList<>();
+        int sampleCount = header.getInt();
+        for (int i = 0; i < sampleCount; i++) {
+            ParseDiagnostics.Category category = categories[header.getInt()];
+            samples.add(new ParseDiagnostics.Sample(category, readString(header), header.getLong(), readString(header)));
+        }
+        diagnostics.restore(totalLines, counts, samples);
+    }
+
+    private void writeLongs(ByteBuffer header, long[] values) {
+        header.putInt(values.length);
+        for (long value : values) header.putLong(value);
+    }
+
+    private long[] readLongs(ByteBuffer header) {
+        long[] values = new long[header.getInt()];
+        for (int i = 0; i < values.length; i++) values[i] = header.getLong();
+        return values;
+    }
+
+    /**
+     * Minimum, maximum, then the non-empty buckets as (index, count) pairs
+     */
+    private PauseHistogram readHistogram(ByteBuffer header) {
+        long minMicros = header.getLong();
+        long maxMicros = header.getLong();
+        return PauseHistogram.fromNonEmptyBuckets(readLongs(header), minMicros, maxMicros);
+    }
+
+    private int stringSize(String value) {
+        return Integer.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private void writeString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,285 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCStatistics;
+import com.jvmprofiler.analyzer.model.PauseAnalysis;
+import com.jvmprofiler.analyzer.parsers.GCLineParser;
+import com.jvmprofiler.analyzer.parsers.GCParserProvider;
+import com.jvmprofiler.analyzer.parsers.GCParserRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Follows a GC log that is still being written (like {@code tail -F}).
+ *
+ * Only bytes appended since the last read are parsed. Each new event updates the running
+ * {@link GCStatistics}, pause histogram and {@link OnlineLeakDetector} in O(1); the log
+ * itself only keeps a bounded window of recent events for the window-based detectors, so
+ * memory stays flat however long the file is followed. Truncation (copytruncate) restarts from
+ * the beginning of the file, rotation (rename + new file) drains the old file first and
+ * then continues with the new one.
+ */
+public class GCLogFollower {
+    private static final Logger logger = LogManager.getLogger(GCLogFollower.class);
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    // Events kept for window-based detectors; trimmed once twice this many are held
+    private static final int RECENT_EVENTS = 1000;
+    // Upper bound between checks, for file systems that do not deliver watch events
+    private static final long POLL_TIMEOUT_MS = 1000;
+
+    private final Path path;
+    private final GCLogAnalyzer analyzer;
+    private final OnlineLeakDetector leakDetector;
+
+    private final GCLog gcLog = new GCLog();
+    private final GCStatistics statistics;
+    private GCLineParser lineParser;
+    // Lines read before the format was recognised, replayed into the parser once it is
+    private final List<String> sampleLines = new ArrayList<>();
+    private final List<Long> sampleOffsets = new ArrayList<>();
+
+    // Read position
+    private FileChannel channel;
+    private Object fileKey;
+    private long offset;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private byte[] pendingLine = new byte[1024];
+    private int pendingLength;
+    private int processedEvents;
+
+    private volatile boolean following;
+
+    public GCLogFollower(Path path) {
+        this(path, new GCLogAnalyzer(), new MemoryLeakDetector());
+    }
+
+    public GCLogFollower(Path path, GCLogAnalyzer analyzer, MemoryLeakDetector leakDetector) {
+        this.path = path;
+        this.analyzer = analyzer;
+        this.leakDetector = leakDetector.newOnlineDetector();
+        this.statistics = analyzer.newStatistics();
+        gcLog.setLogFile(path.toString());
+    }
+
+    /**
+     * Follow the file until {@link #stop()} is called or {@code durationMillis} has passed,
+     * handing a fresh analysis to {@code listener} at most every {@code reportIntervalMillis}
+     * whenever new events arrived.
+     */
+    public void follow(long reportIntervalMillis, long durationMillis, Consumer<PauseAnalysis> listener)
+            throws IOException, InterruptedException {
+        Path directory = path.toAbsolutePath().getParent();
+        following = true;
+        long startTime = System.currentTimeMillis();
+
+        try (WatchService watcher = directory.getFileSystem().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            logger.info("Following GC log {}", path);
+
+            int unreported = poll();
+            long lastReport = 0;
+            while (following && System.currentTimeMillis() - startTime < durationMillis) {
+                long now = System.currentTimeMillis();
+                if (unreported > 0 && now - lastReport >= reportIntervalMillis) {
+                    listener.accept(getAnalysis());
+                    lastReport = now;
+                    unreported = 0;
+                }
+
+                WatchKey key = watcher.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    // Any change in the directory just triggers a read; the file itself tells what happened
+                    key.pollEvents();
+                    key.reset();
+                }
+                unreported += poll();
+            }
+        } finally {
+            following = false;
+            closeChannel();
+        }
+    }
+
+    public void stop() {
+        following = false;
+    }
+
+    /**
+     * Read whatever was appended since the last call. Returns the number of new events.
+     */
+    public int poll() throws IOException {
+        if (channel == null && !open()) return 0;
+
+        Object currentKey = currentFileKey();
+        if (currentKey != null && fileKey != null && !currentKey.equals(fileKey)) {
+            // Rotated: finish the old file, then start over on the new one
+            readAppended();
+            flushPendingLine(offset);
+            logger.info("GC log {} was rotated, following the new file", path);
+            closeChannel();
+            if (open()) readAppended();
+        } else if (channel.size() < offset) {
+            logger.info("GC log {} was truncated, reading from the start", path);
+            offset = 0;
+            pendingLength = 0;
+            readAppended();
+        } else {
+            readAppended();
+        }
+
+        return processNewEvents();
+    }
+
+    /**
+     * Analysis of everything seen so far. Costs O(recent window), independent of how
+     * many events the followed file has produced.
+     */
+    public PauseAnalysis getAnalysis() {
+        gcLog.calculateStatistics();
+        PauseAnalysis analysis = analyzer.analyze(gcLog, statistics);
+
+        if (leakDetector.isLeakDetected()) {
+            MemoryLeakDetector.LeakAnalysisResult leak = leakDetector.getResult();
+            analysis.addIssue("POSSIBLE_MEMORY_LEAK",
+                    String.format("%s heap growth since following started (%.1f%% confidence, %.2f MB/minute)",
+                            leak.getPatternType(), leak.getConfidence() * 100, leak.getGrowthRate() / (1024 * 1024)),
+                    "CRITICAL");
+        }
+        return analysis;
+    }
+
+    public GCLog getGcLog() { return gcLog; }
+    public GCStatistics getStatistics() { return statistics; }
+    public OnlineLeakDetector getLeakDetector() { return leakDetector; }
+
+    private boolean open() throws IOException {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        fileKey = currentFileKey();
+        offset = 0;
+        pendingLength = 0;
+        return true;
+    }
+
+    private void startParser(GCParserProvider provider) {
+        logger.info("Detected GC type: {}", provider.getGcType());
+        gcLog.setGcType(provider.getGcType());
+        lineParser = provider.newParser();
+    }
+
+    private Object currentFileKey() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            // Not every file system has file keys; creation time is the fallback identity
+            return Objects.requireNonNullElse(attributes.fileKey(), attributes.creationTime());
+        } catch (IOException e) {
+            return null; // Between rotation and re-creation
+        }
+    }
+
+    private void readAppended() throws IOException {
+        while (true) {
+            readBuffer.clear();
+            int read = channel.read(readBuffer, offset);
+            if (read <= 0) return;
+            offset += read;
+
+            for (int i = 0; i < read; i++) {
+                byte b = readBuffer.get(i);
+                if (b == '\n') {
+                    flushPendingLine(offset - read + i);
+                } else {
+                    if (pendingLength == pendingLine.length) {
+                        pendingLine = Arrays.copyOf(pendingLine, pendingLength * 2);
+                    }
+                    pendingLine[pendingLength++] = b;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse the pending line, which ends at file position {@code lineEnd}
+     */
+    private void flushPendingLine(long lineEnd) {
+        long lineStart = lineEnd - pendingLength;
+        int length = pendingLength;
+        if (length > 0 && pendingLine[length - 1] == '\r') length--;
+        pendingLength = 0;
+        if (length == 0) return;
+
+        String line = new String(pendingLine, 0, length, StandardCharsets.UTF_8);
+        if (lineParser == null) {
+            detectFormat(line, lineStart);
+            return;
+        }
+        gcLog.getParseDiagnostics().nextLine(lineStart);
+        lineParser.parseLine(line, gcLog);
+    }
+
+    /**
+     * Hold lines back until one identifies the collector, or until as many lines as
+     * {@link GCLogParser} samples from a file were read, then parse all of them
+     */
+    private void detectFormat(String line, long lineStart) {
+        sampleLines.add(line);
+        sampleOffsets.add(lineStart);
+        GCParserProvider provider = GCParserRegistry.detect(List.of(line));
+        if (provider == null && sampleLines.size() < GCLogParser.DETECTION_SAMPLE_LINES) return;
+
+        startParser(provider != null ? provider : GCLogParser.detectParser(sampleLines));
+        for (int i = 0; i < sampleLines.size(); i++) {
+            gcLog.getParseDiagnostics().nextLine(sampleOffsets.get(i));
+            lineParser.parseLine(sampleLines.get(i), gcLog);
+        }
+        sampleLines.clear();
+        sampleOffsets.clear();
+    }
+
+    private int processNewEvents() {
+        EventStore events = gcLog.getEventStore();
+        int added = events.size() - processedEvents;
+        for (int i = processedEvents; i < events.size(); i++) {
+            statistics.accept(events, i);
+            leakDetector.accept(events, i);
+        }
+
+        if (events.size() >= 2 * RECENT_EVENTS) {
+            gcLog.trimTo(RECENT_EVENTS);
+        }
+        processedEvents = events.size();
+        return added;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
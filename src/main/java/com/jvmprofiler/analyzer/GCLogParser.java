@@ -1,89 +1,629 @@
 package com.jvmprofiler.analyzer;
 
+import com.jvmprofiler.analyzer.model.ColumnarEventStore;
+import com.jvmprofiler.analyzer.model.EventStore;
 import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.OffHeapEventStore;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
 import com.jvmprofiler.analyzer.parsers.G1GCParser;
-import com.jvmprofiler.analyzer.parsers.ZGCParser;
-import com.jvmprofiler.analyzer.parsers.ParallelGCParser;
+import com.jvmprofiler.analyzer.parsers.GCLineParser;
+import com.jvmprofiler.analyzer.parsers.GCParserProvider;
+import com.jvmprofiler.analyzer.parsers.GCParserRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.GZIPInputStream;
 
 public class GCLogParser {
     private static final Logger logger = LogManager.getLogger(GCLogParser.class);
 
-    private G1GCParser g1Parser = new G1GCParser();
-    private ZGCParser zgcParser = new ZGCParser();
-    private ParallelGCParser parallelParser = new ParallelGCParser();
+    // GC type detection only looks at the head of the file
+    static final int DETECTION_SAMPLE_LINES = 1000;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
 
+    // Parallel parsing: files below the minimum are not worth splitting,
+    // and each chunk must fit in a single MappedByteBuffer
+    private static final long MIN_PARALLEL_FILE_SIZE = 16L * 1024 * 1024;
+    private static final long MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+    private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MAX_LINE_LENGTH = 1 << 16;
+    // A chunk or segment first re-parses this much of the text before it, so that GC cycles
+    // logged across the boundary are assembled from all of their lines
+    private static final long WARM_UP_BYTES = 1L << 20;
+
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private final int threads;
+    private final boolean offHeap;
+    private final GCLogCache cache = new GCLogCache();
+    private boolean cacheEnabled = true;
+
+    public GCLogParser() {
+        this(1, false);
+    }
+
+    public GCLogParser(int threads) {
+        this(threads, false);
+    }
+
+    /**
+     * @param threads parser threads for large files
+     * @param offHeap keep the parsed events in native memory instead of on the Java heap;
+     *                the returned {@link GCLog} must then be closed
+     */
+    public GCLogParser(int threads, boolean offHeap) {
+        this.threads = Math.max(1, threads);
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Whether to reuse and maintain the binary {@code .jvmp} sidecar next to the log (default: on)
+     */
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    /**
+     * Parse a GC log. Besides a plain file this accepts a gzipped file ({@code gc.log.gz})
+     * and the base name of a rotated set: {@code gc.log} then also picks up
+     * {@code gc.log.0} ... {@code gc.log.N} and their {@code .gz} archives next to it.
+     */
     public GCLog parseLogFile(String filePath) throws IOException {
         logger.info("Parsing GC log file: {}", filePath);
 
         Path path = Path.of(filePath);
-        if (!Files.exists(path)) {
+        List<Path> segments = findSegments(path);
+        if (!Files.exists(path) && segments.isEmpty()) {
             throw new IOException("GC log file not found: " + filePath);
         }
 
-        List<String> lines = Files.readAllLines(path);
-        if (lines.isEmpty()) {
+        if (segments.size() > 1 || isCompressed(path) || !Files.exists(path)) {
+            return parseLogSet(filePath, segments);
+        }
+
+        if (Files.size(path) == 0) {
             throw new IOException("GC log file is empty: " + filePath);
         }
 
-        // Detect GC type from log content
-        String gcType = detectGCType(lines);
-        logger.info("Detected GC type: {}", gcType);
+        if (cacheEnabled) {
+            EventStore store = newEventStore();
+            GCLog cached = cache.load(path, null, true, store);
+            if (cached != null) {
+                cached.setLogFile(filePath);
+                cached.calculateStatistics();
+                return cached;
+            }
+            store.close();
+        }
 
-        GCLog gcLog = new GCLog();
+        // Detect GC type and log format from log content
+        GCParserProvider provider = detectParser(path);
+        logger.info("Detected GC type: {}", provider.getGcType());
+
+        GCLog gcLog = new GCLog(newEventStore());
         gcLog.setLogFile(filePath);
-        gcLog.setGcType(gcType);
-
-        // Parse based on detected GC type
-        switch (gcType.toUpperCase()) {
-            case "G1GC":
-                g1Parser.parse(lines, gcLog);
-                break;
-            case "ZGC":
-                zgcParser.parse(lines, gcLog);
-                break;
-            case "PARALLELGC":
-                parallelParser.parse(lines, gcLog);
-                break;
-            default:
-                logger.warn("Unknown GC type: {}, trying G1GC parser", gcType);
-                g1Parser.parse(lines, gcLog);
+        gcLog.setGcType(provider.getGcType());
+
+        try {
+            if (threads > 1 && Files.size(path) >= MIN_PARALLEL_FILE_SIZE) {
+                parseParallel(path, gcLog, provider);
+            } else {
+                parseSequential(path, gcLog, provider);
+            }
+        } catch (IOException | RuntimeException e) {
+            gcLog.close();
+            throw e;
         }
 
         gcLog.calculateStatistics();
         logger.info("Parsed {} GC events from log", gcLog.getEvents().size());
+        warnAboutRejectedLines(gcLog);
+
+        if (cacheEnabled) {
+            cache.save(path, null, true, gcLog);
+        }
+
+        return gcLog;
+    }
+
+    private EventStore newEventStore() {
+        return offHeap ? new OffHeapEventStore() : new ColumnarEventStore();
+    }
+
+    /**
+     * Parse the segments of a rotated set concurrently, each with its own decompressing
+     * reader and sidecar cache, then merge them. Rotation numbers wrap around, so segments
+     * are put in the order of their first timestamps before parsing; each one warms up on
+     * the tail of the segment before it, like the chunks of {@link #parseParallel}.
+     */
+    private GCLog parseLogSet(String filePath, List<Path> segments) throws IOException {
+        logger.info("Parsing {} GC log segments for {}", segments.size(), filePath);
+
+        GCParserProvider provider = detectParserOf(segments);
+        logger.info("Detected GC type: {}", provider.getGcType());
+
+        GCLog gcLog = new GCLog(newEventStore());
+        gcLog.setLogFile(filePath);
+        gcLog.setGcType(provider.getGcType());
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(threads, segments.size()));
+        try {
+            List<Path> ordered = orderSegments(segments, provider, pool);
+            List<ForkJoinTask<GCLog>> tasks = new ArrayList<>();
+            for (int i = 0; i < ordered.size(); i++) {
+                Path segment = ordered.get(i);
+                Path previous = i > 0 ? ordered.get(i - 1) : null;
+                boolean last = i == ordered.size() - 1;
+                tasks.add(pool.submit(() -> parseSegment(segment, previous, last, provider)));
+            }
+
+            mergeAndClose(joinAll(tasks), gcLog);
+        } catch (UncheckedIOException e) {
+            gcLog.close();
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            gcLog.close();
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
 
+        gcLog.calculateStatistics();
+        logger.info("Parsed {} GC events from {} segments", gcLog.getEventStore().size(), segments.size());
+        warnAboutRejectedLines(gcLog);
         return gcLog;
     }
 
-    private String detectGCType(List<String> lines) {
+    /**
+     * Segments in the order of their first timestamps; segments without events go last
+     */
+    private List<Path> orderSegments(List<Path> segments, GCParserProvider provider, ForkJoinPool pool) {
+        List<ForkJoinTask<Long>> probes = new ArrayList<>();
+        for (Path segment : segments) {
+            probes.add(pool.submit(() -> firstTimestamp(segment, provider)));
+        }
+        long[] firstTimestamps = new long[segments.size()];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            firstTimestamps[i] = probes.get(i).join();
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong(i -> firstTimestamps[i]));
+
+        List<Path> ordered = new ArrayList<>();
+        for (int i : order) ordered.add(segments.get(i));
+        return ordered;
+    }
+
+    /**
+     * Timestamp of the first event in the head of a segment, Long.MAX_VALUE if there is none
+     */
+    private long firstTimestamp(Path segment, GCParserProvider provider) {
+        GCLog probe = new GCLog();
+        GCLineParser lineParser = provider.newParser();
+        try (BufferedReader reader = openReader(segment, 0)) {
+            String line;
+            for (int i = 0; i < DETECTION_SAMPLE_LINES && (line = reader.readLine()) != null; i++) {
+                if (!line.isEmpty()) lineParser.parseLine(line, probe);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lineParser.finish(probe);
+        return probe.getEventStore().isEmpty() ? Long.MAX_VALUE : probe.getEventStore().getTimestamp(0);
+    }
+
+    /**
+     * Only the last segment finishes its parser; cycles still in flight at the end of an earlier
+     * segment are completed and emitted by the next one, which warms up on this one's tail.
+     * The sidecar is keyed on both, so it is not shared with a standalone parse of the file.
+     */
+    private GCLog parseSegment(Path segment, Path previous, boolean last, GCParserProvider provider) {
+        if (cacheEnabled) {
+            EventStore store = newEventStore();
+            GCLog cached = cache.load(segment, previous, last, store);
+            if (cached != null) return cached;
+            store.close();
+        }
+
+        GCLog segmentLog = new GCLog(newEventStore());
+        segmentLog.setLogFile(segment.toString());
+        segmentLog.setGcType(provider.getGcType());
+        segmentLog.getParseDiagnostics().setSource(segment.getFileName().toString());
+        try {
+            GCLineParser lineParser = provider.newParser();
+            if (previous != null) {
+                warmUp(lineParser, tailLines(previous, WARM_UP_BYTES));
+            }
+            readLines(segment, segmentLog, lineParser);
+            if (last) lineParser.finish(segmentLog);
+        } catch (IOException e) {
+            segmentLog.close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            segmentLog.close();
+            throw e;
+        }
+        segmentLog.calculateStatistics();
+
+        if (cacheEnabled) {
+            cache.save(segment, previous, last, segmentLog);
+        }
+        return segmentLog;
+    }
+
+    /**
+     * The file itself plus its rotated siblings ({@code <name>.N}, {@code <name>.N.gz},
+     * {@code <name>.gz}). A path that is already compressed or numbered stands alone.
+     */
+    static List<Path> findSegments(Path path) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        Path directory = path.toAbsolutePath().getParent();
+        String base = path.getFileName().toString();
+        if (isCompressed(path) || directory == null || !Files.isDirectory(directory)) {
+            if (Files.isRegularFile(path)) segments.add(path);
+            return segments;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path candidate : stream) {
+                String name = candidate.getFileName().toString();
+                if (name.equals(base) || isRotatedSegment(name, base)) {
+                    if (Files.isRegularFile(candidate)) segments.add(candidate);
+                }
+            }
+        }
+        segments.sort(Comparator.comparing(Path::toString));
+        return segments;
+    }
+
+    private static boolean isRotatedSegment(String name, String base) {
+        if (name.equals(base + GZIP_SUFFIX)) return true;
+        if (!name.startsWith(base + ".")) return false;
+
+        String number = name.substring(base.length() + 1);
+        if (number.endsWith(GZIP_SUFFIX)) {
+            number = number.substring(0, number.length() - GZIP_SUFFIX.length());
+        }
+        if (number.isEmpty()) return false;
+        for (int i = 0; i < number.length(); i++) {
+            if (!Character.isDigit(number.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private void warnAboutRejectedLines(GCLog gcLog) {
+        ParseDiagnostics diagnostics = gcLog.getParseDiagnostics();
+        if (diagnostics.getRejectedLines() > 0) {
+            logger.warn("Could not use {} of {} log lines ({} unmatched, {} partial, {} malformed)",
+                    diagnostics.getRejectedLines(), diagnostics.getTotalLines(),
+                    diagnostics.getCount(ParseDiagnostics.Category.UNMATCHED),
+                    diagnostics.getCount(ParseDiagnostics.Category.PARTIAL),
+                    diagnostics.getCount(ParseDiagnostics.Category.MALFORMED));
+        }
+    }
+
+    private static boolean isCompressed(Path path) {
+        return path.getFileName().toString().endsWith(GZIP_SUFFIX);
+    }
+
+    private void parseSequential(Path path, GCLog gcLog, GCParserProvider provider) throws IOException {
+        // Stream lines straight into the collector-specific parser
+        GCLineParser lineParser = provider.newParser();
+        readLines(path, gcLog, lineParser);
+        lineParser.finish(gcLog);
+    }
+
+    private void readLines(Path path, GCLog gcLog, GCLineParser lineParser) throws IOException {
+        ParseDiagnostics diagnostics = gcLog.getParseDiagnostics();
+        try (BufferedReader reader = openReader(path, 0)) {
+            String line;
+            long offset = 0;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    diagnostics.nextLine(offset);
+                    lineParser.parseLine(line, gcLog);
+                }
+                // Offsets assume single-byte characters and '\n' line ends, close enough to find the line
+                offset += line.length() + 1;
+            }
+        }
+    }
+
+    /**
+     * Feed lines that precede the parser's own range; only the parser state they leave behind
+     * is kept, their events and diagnostics belong to the range before
+     */
+    private static void warmUp(GCLineParser lineParser, List<String> lines) {
+        GCLog scratch = new GCLog();
         for (String line : lines) {
-            String lowerLine = line.toLowerCase();
+            if (!line.isEmpty()) lineParser.parseLine(line, scratch);
+        }
+    }
 
-            if (lowerLine.contains("g1") || lowerLine.contains("garbage-first")) {
-                return "G1GC";
-            } else if (lowerLine.contains("zgc") || lowerLine.contains("z garbage")) {
-                return "ZGC";
-            } else if (lowerLine.contains("parallelgc") || lowerLine.contains("ps")) {
-                return "ParallelGC";
-            } else if (lowerLine.contains("commandlineflags")) {
-                // Parse JVM flags to detect GC
-                if (line.contains("-XX:+UseG1GC"))
-                    return "G1GC";
-                if (line.contains("-XX:+UseZGC"))
-                    return "ZGC";
-                if (line.contains("-XX:+UseParallelGC"))
-                    return "ParallelGC";
+    /**
+     * Whole lines from the last {@code maxBytes} of a file; compressed files are read through
+     */
+    private static List<String> tailLines(Path path, long maxBytes) throws IOException {
+        ArrayDeque<String> tail = new ArrayDeque<>();
+        long skip = isCompressed(path) ? 0 : Math.max(0, Files.size(path) - maxBytes);
+        try (BufferedReader reader = openReader(path, skip)) {
+            if (skip > 0) reader.readLine(); // Partial line
+            long bytes = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                tail.addLast(line);
+                bytes += line.length() + 1;
+                while (bytes > maxBytes) {
+                    bytes -= tail.removeFirst().length() + 1;
+                }
             }
         }
+        return new ArrayList<>(tail);
+    }
+
+    /**
+     * Memory-map the file, split it into newline-aligned chunks and parse the chunks
+     * on a fork-join pool. Chunk results are merged back in timestamp order.
+     *
+     * GC cycles are logged over several lines, so a chunk boundary can fall inside one.
+     * Each chunk therefore first re-parses up to {@link #WARM_UP_BYTES} before its start,
+     * and only the last chunk finishes its parser: an event belongs to the chunk holding
+     * the line that completes it, and that chunk has seen all of its earlier lines.
+     */
+    private void parseParallel(Path path, GCLog gcLog, GCParserProvider provider) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<long[]> chunks = splitIntoChunks(channel);
+            logger.info("Parsing {} chunks on {} threads", chunks.size(), threads);
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                List<ForkJoinTask<GCLog>> tasks = new ArrayList<>();
+                for (int i = 0; i < chunks.size(); i++) {
+                    long[] chunk = chunks.get(i);
+                    boolean last = i == chunks.size() - 1;
+                    tasks.add(pool.submit(() -> parseChunk(channel, chunk[0], chunk[1], chunk[2], last, provider)));
+                }
+
+                mergeAndClose(joinAll(tasks), gcLog);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Chunks as {start, end, warm-up start}
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunkSize = size / ((long) threads * CHUNKS_PER_THREAD);
+        chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, chunkSize));
+
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(MAX_LINE_LENGTH);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            if (end < size) {
+                end = nextLineStart(channel, end, probe);
+            }
+            long warmUpStart = start > WARM_UP_BYTES ? nextLineStart(channel, start - WARM_UP_BYTES, probe) : 0;
+            chunks.add(new long[]{start, end, Math.min(warmUpStart, start)});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private GCLog parseChunk(FileChannel channel, long start, long end, long warmUpStart, boolean last,
+                             GCParserProvider provider) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, warmUpStart, end - warmUpStart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        GCLog chunkLog = new GCLog(newEventStore());
+        chunkLog.setGcType(provider.getGcType());
+        GCLog scratch = new GCLog();
+        // Every chunk gets its own parser instance so chunks parsed on different threads never share state
+        GCLineParser lineParser = provider.newParser();
+        int rangeStart = (int) (start - warmUpStart);
+
+        byte[] lineBytes = new byte[1024];
+        int limit = buffer.limit();
+        int lineStart = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && buffer.get(i) != '\n') continue;
+
+            int lineEnd = i;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') lineEnd--;
+            int length = lineEnd - lineStart;
+            if (length > 0) {
+                if (length > lineBytes.length) {
+                    lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+                }
+                buffer.get(lineStart, lineBytes, 0, length);
+                String line = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+                if (lineStart < rangeStart) {
+                    lineParser.parseLine(line, scratch);
+                } else {
+                    chunkLog.getParseDiagnostics().nextLine(warmUpStart + lineStart);
+                    lineParser.parseLine(line, chunkLog);
+                }
+            }
+            lineStart = i + 1;
+        }
+        if (last) lineParser.finish(chunkLog);
+        return chunkLog;
+    }
 
-        // Default to G1GC (most common)
-        return "G1GC";
+    /**
+     * Results of all tasks in submission order. If any task failed, the results of the
+     * others are closed, so their native memory is not leaked, and the first failure is rethrown.
+     */
+    private static List<GCLog> joinAll(List<ForkJoinTask<GCLog>> tasks) {
+        List<GCLog> results = new ArrayList<>();
+        RuntimeException failure = null;
+        for (ForkJoinTask<GCLog> task : tasks) {
+            try {
+                results.add(task.join());
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) {
+            results.forEach(GCLog::close);
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Merge the chunk or segment logs into the target, then release their stores
+     */
+    private void mergeAndClose(List<GCLog> chunkLogs, GCLog target) {
+        try {
+            mergeChunks(chunkLogs, target);
+        } finally {
+            chunkLogs.forEach(GCLog::close);
+        }
+    }
+
+    /**
+     * K-way merge of the per-chunk event lists by timestamp. Ties keep file order.
+     * Histograms and statistics are merged directly, without revisiting the events.
+     */
+    private void mergeChunks(List<GCLog> chunkLogs, GCLog target) {
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            int cmp = Long.compare(chunkLogs.get(a[0]).getEventStore().getTimestamp(a[1]),
+                    chunkLogs.get(b[0]).getEventStore().getTimestamp(b[1]));
+            return cmp != 0 ? cmp : Integer.compare(a[0], b[0]);
+        });
+
+        for (int i = 0; i < chunkLogs.size(); i++) {
+            GCLog chunkLog = chunkLogs.get(i);
+            if (!chunkLog.getEventStore().isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+            if (target.getJvmVersion() == null && chunkLog.getJvmVersion() != null) {
+                target.setJvmVersion(chunkLog.getJvmVersion());
+            }
+            target.setParallelGcThreads(Math.max(target.getParallelGcThreads(), chunkLog.getParallelGcThreads()));
+            chunkLog.getAllocationStalls().forEach(target::addAllocationStall);
+            target.getParseDiagnostics().merge(chunkLog.getParseDiagnostics());
+        }
+
+        for (GCLog chunkLog : chunkLogs) {
+            target.getPauseHistogram().add(chunkLog.getPauseHistogram());
+            target.getStatistics().merge(chunkLog.getStatistics());
+        }
+
+        EventStore merged = target.getEventStore();
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            EventStore events = chunkLogs.get(head[0]).getEventStore();
+            merged.add(events, head[1]);
+            if (++head[1] < events.size()) {
+                heads.add(head);
+            }
+        }
+    }
+
+    /**
+     * @param skip bytes to skip in an uncompressed file
+     */
+    private static BufferedReader openReader(Path path, long skip) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        if (skip > 0) {
+            in.skipNBytes(skip);
+        }
+        if (isCompressed(path)) {
+            // Decompressed on the fly; nothing is written to disk
+            in = new GZIPInputStream(in, READ_BUFFER_SIZE);
+        }
+        // InputStreamReader replaces malformed bytes instead of failing the whole parse
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+    }
+
+    static GCParserProvider detectParser(Path path) throws IOException {
+        return detectParserOf(List.of(path));
+    }
+
+    /**
+     * Sample the head of each file until one of them identifies the collector and log format;
+     * at most {@link #DETECTION_SAMPLE_LINES} lines are read per file, whatever its size
+     */
+    private static GCParserProvider detectParserOf(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            List<String> sample = new ArrayList<>();
+            try (BufferedReader reader = openReader(path, 0)) {
+                String line;
+                while (sample.size() < DETECTION_SAMPLE_LINES && (line = reader.readLine()) != null) {
+                    sample.add(line);
+                }
+            }
+            GCParserProvider provider = GCParserRegistry.detect(sample);
+            if (provider != null) return provider;
+        }
+        return defaultParser();
+    }
+
+    static GCParserProvider detectParser(List<String> lines) {
+        GCParserProvider provider = GCParserRegistry.detect(lines);
+        return provider != null ? provider : defaultParser();
+    }
+
+    /**
+     * Default to G1GC (most common)
+     */
+    private static GCParserProvider defaultParser() {
+        GCParserProvider provider = GCParserRegistry.forGcType("G1GC");
+        if (provider == null) {
+            logger.warn("No G1GC parser registered, check META-INF/services; using the built-in one");
+            return new G1GCParser.Provider();
+        }
+        return provider;
     }
-}
\ No newline at end of file
+}
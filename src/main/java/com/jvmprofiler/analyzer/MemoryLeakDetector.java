@@ -1,13 +1,14 @@
 package com.jvmprofiler.analyzer;
 
+import com.jvmprofiler.analyzer.model.EventStore;
 import com.jvmprofiler.analyzer.model.GCEvent;
 import com.jvmprofiler.analyzer.model.GCLog;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 public class MemoryLeakDetector {
     private static final Logger logger = LogManager.getLogger(MemoryLeakDetector.class);
@@ -62,6 +63,13 @@ public class MemoryLeakDetector {
         }
     }
 
+    /**
+     * Streaming detector with this detector's thresholds, for events that arrive one at a time
+     */
+    public OnlineLeakDetector newOnlineDetector() {
+        return new OnlineLeakDetector(leakConfidenceThreshold, minEventsForAnalysis);
+    }
+
     /**
      * Main method to detect memory leaks from GC log data
      */
@@ -71,7 +79,7 @@ public class MemoryLeakDetector {
         LeakAnalysisResult result = new LeakAnalysisResult();
         result.setSuspiciousEvents(new ArrayList<>());
 
-        List<GCEvent> events = gcLog.getEvents();
+        EventStore events = gcLog.getEventStore();
 
         if (events.size() < minEventsForAnalysis) {
             result.setLeakDetected(false);
@@ -80,10 +88,11 @@ public class MemoryLeakDetector {
             return result;
         }
 
-        // Multiple detection strategies
-        double linearConfidence = analyzeLinearGrowth(events, result);
-        double exponentialConfidence = analyzeExponentialGrowth(events, result);
-        double steppingConfidence = analyzeSteppingPattern(events, result);
+        // Multiple detection strategies share one pass over the major GC column
+        int[] majorEvents = filterMajorGcEvents(events);
+        double linearConfidence = analyzeLinearGrowth(events, majorEvents, result);
+        double exponentialConfidence = analyzeExponentialGrowth(events, majorEvents, result);
+        double steppingConfidence = analyzeSteppingPattern(events, majorEvents, result);
         double efficiencyConfidence = analyzeMemoryEfficiencyTrend(events, result);
 
         // Combine confidence scores
@@ -109,17 +118,17 @@ public class MemoryLeakDetector {
     /**
      * Detect linear growth pattern in heap usage after GC
      */
-    private double analyzeLinearGrowth(List<GCEvent> events, LeakAnalysisResult result) {
-        List<GCEvent> filteredEvents = filterMajorGcEvents(events);
-        if (filteredEvents.size() < 5) return 0.0;
+    private double analyzeLinearGrowth(EventStore events, int[] filteredEvents, LeakAnalysisResult result) {
+        if (filteredEvents.length < 5) return 0.0;
 
         // Simple linear regression on heap after GC
         double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
-        int n = filteredEvents.size();
+        int n = filteredEvents.length;
+        long firstTimestamp = events.getTimestamp(filteredEvents[0]);
 
         for (int i = 0; i < n; i++) {
-            double x = (filteredEvents.get(i).getTimestamp() - filteredEvents.get(0).getTimestamp()) / (1000.0 * 60.0); // minutes
-            double y = filteredEvents.get(i).getHeapAfter(); // bytes
+            double x = (events.getTimestamp(filteredEvents[i]) - firstTimestamp) / (1000.0 * 60.0); // minutes
+            double y = events.getHeapAfter(filteredEvents[i]); // bytes
             sumX += x;
             sumY += y;
             sumXY += x * y;
@@ -134,8 +143,8 @@ public class MemoryLeakDetector {
         double meanY = sumY / n;
 
         for (int i = 0; i < n; i++) {
-            double x = (filteredEvents.get(i).getTimestamp() - filteredEvents.get(0).getTimestamp()) / (1000.0 * 60.0);
-            double y = filteredEvents.get(i).getHeapAfter();
+            double x = (events.getTimestamp(filteredEvents[i]) - firstTimestamp) / (1000.0 * 60.0);
+            double y = events.getHeapAfter(filteredEvents[i]);
             double predicted = slope * x + intercept;
             ssTot += Math.pow(y - meanY, 2);
             ssRes += Math.pow(y - predicted, 2);
@@ -152,7 +161,7 @@ public class MemoryLeakDetector {
 
             // Mark events that contribute to the trend
             if (confidence > 0.7) {
-                result.getSuspiciousEvents().addAll(filteredEvents.subList(n / 2, n)); // Later events more suspicious
+                addEvents(events, Arrays.copyOfRange(filteredEvents, n / 2, n), result); // Later events more suspicious
             }
         }
 
@@ -165,15 +174,14 @@ public class MemoryLeakDetector {
     /**
      * Detect exponential growth pattern (more severe leaks)
      */
-    private double analyzeExponentialGrowth(List<GCEvent> events, LeakAnalysisResult result) {
-        List<GCEvent> filteredEvents = filterMajorGcEvents(events);
-        if (filteredEvents.size() < 8) return 0.0;
+    private double analyzeExponentialGrowth(EventStore events, int[] filteredEvents, LeakAnalysisResult result) {
+        if (filteredEvents.length < 8) return 0.0;
 
         // Check if growth rate is accelerating
         List<Double> growthRates = new ArrayList<>();
-        for (int i = 1; i < filteredEvents.size(); i++) {
-            long timeDiff = filteredEvents.get(i).getTimestamp() - filteredEvents.get(i-1).getTimestamp();
-            long heapDiff = filteredEvents.get(i).getHeapAfter() - filteredEvents.get(i-1).getHeapAfter();
+        for (int i = 1; i < filteredEvents.length; i++) {
+            long timeDiff = events.getTimestamp(filteredEvents[i]) - events.getTimestamp(filteredEvents[i-1]);
+            long heapDiff = events.getHeapAfter(filteredEvents[i]) - events.getHeapAfter(filteredEvents[i-1]);
             if (timeDiff > 0) {
                 double rate = (double) heapDiff / (timeDiff / 60000.0); // bytes per minute
                 growthRates.add(rate);
@@ -212,26 +220,25 @@ public class MemoryLeakDetector {
     /**
      * Detect stepping pattern (memory grows in steps, common with caches)
      */
-    private double analyzeSteppingPattern(List<GCEvent> events, LeakAnalysisResult result) {
-        List<GCEvent> filteredEvents = filterMajorGcEvents(events);
-        if (filteredEvents.size() < 6) return 0.0;
+    private double analyzeSteppingPattern(EventStore events, int[] filteredEvents, LeakAnalysisResult result) {
+        if (filteredEvents.length < 6) return 0.0;
 
         // Look for plateaus followed by sudden jumps
         int stepsDetected = 0;
         List<GCEvent> stepEvents = new ArrayList<>();
 
-        for (int i = 1; i < filteredEvents.size() - 1; i++) {
-            GCEvent prev = filteredEvents.get(i-1);
-            GCEvent curr = filteredEvents.get(i);
-            GCEvent next = filteredEvents.get(i+1);
+        for (int i = 1; i < filteredEvents.length - 1; i++) {
+            long prev = events.getHeapAfter(filteredEvents[i-1]);
+            long curr = events.getHeapAfter(filteredEvents[i]);
+            long next = events.getHeapAfter(filteredEvents[i+1]);
 
             // Check for plateau (similar heap values) followed by jump
-            boolean plateau = Math.abs(curr.getHeapAfter() - prev.getHeapAfter()) < (prev.getHeapAfter() * 0.05); // Within 5%
-            boolean jump = next.getHeapAfter() > curr.getHeapAfter() * 1.1; // Jump more than 10%
+            boolean plateau = Math.abs(curr - prev) < (prev * 0.05); // Within 5%
+            boolean jump = next > curr * 1.1; // Jump more than 10%
 
             if (plateau && jump) {
                 stepsDetected++;
-                stepEvents.add(next);
+                stepEvents.add(events.getEvent(filteredEvents[i+1]));
             }
         }
 
@@ -243,10 +250,10 @@ public class MemoryLeakDetector {
                 result.getSuspiciousEvents().addAll(stepEvents);
 
                 // Calculate average growth rate
-                double totalGrowth = filteredEvents.get(filteredEvents.size()-1).getHeapAfter() -
-                        filteredEvents.get(0).getHeapAfter();
-                double totalTime = (filteredEvents.get(filteredEvents.size()-1).getTimestamp() -
-                        filteredEvents.get(0).getTimestamp()) / (1000.0 * 60.0);
+                int last = filteredEvents[filteredEvents.length - 1];
+                int first = filteredEvents[0];
+                double totalGrowth = events.getHeapAfter(last) - events.getHeapAfter(first);
+                double totalTime = (events.getTimestamp(last) - events.getTimestamp(first)) / (1000.0 * 60.0);
                 result.setGrowthRate(totalGrowth / totalTime);
             }
         }
@@ -257,28 +264,22 @@ public class MemoryLeakDetector {
     /**
      * Analyze trend in memory efficiency (should be stable or improving)
      */
-    private double analyzeMemoryEfficiencyTrend(List<GCEvent> events, LeakAnalysisResult result) {
+    private double analyzeMemoryEfficiencyTrend(EventStore events, LeakAnalysisResult result) {
         if (events.size() < 10) return 0.0;
 
         // Calculate efficiency for each GC
-        List<Double> efficiencies = new ArrayList<>();
-        for (GCEvent event : events) {
-            if (event.getHeapBefore() > 0) {
-                double efficiency = (double) event.getHeapFreed() / event.getHeapBefore();
-                efficiencies.add(efficiency);
+        double[] efficiencies = new double[events.size()];
+        int count = 0;
+        for (int i = 0; i < events.size(); i++) {
+            long heapBefore = events.getHeapBefore(i);
+            if (heapBefore > 0) {
+                efficiencies[count++] = (double) events.getHeapFreed(i) / heapBefore;
             }
         }
 
         // Check if efficiency is decreasing over time (sign of fragmentation or leak)
-        double earlyEfficiency = efficiencies.subList(0, efficiencies.size()/2).stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0);
-
-        double lateEfficiency = efficiencies.subList(efficiencies.size()/2, efficiencies.size()).stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0);
+        double earlyEfficiency = average(efficiencies, 0, count / 2);
+        double lateEfficiency = average(efficiencies, count / 2, count);
 
         double efficiencyDrop = earlyEfficiency - lateEfficiency;
         double confidence = 0.0;
@@ -290,26 +291,47 @@ public class MemoryLeakDetector {
             }
 
             // Find least efficient events
-            events.stream()
-                    .filter(event -> {
-                        if (event.getHeapBefore() == 0) return false;
-                        double eff = (double) event.getHeapFreed() / event.getHeapBefore();
-                        return eff < lateEfficiency;
-                    })
-                    .forEach(result.getSuspiciousEvents()::add);
+            for (int i = 0; i < events.size(); i++) {
+                long heapBefore = events.getHeapBefore(i);
+                if (heapBefore == 0) continue;
+                double eff = (double) events.getHeapFreed(i) / heapBefore;
+                if (eff < lateEfficiency) {
+                    result.getSuspiciousEvents().add(events.getEvent(i));
+                }
+            }
         }
 
         return confidence;
     }
 
-    private List<GCEvent> filterMajorGcEvents(List<GCEvent> events) {
-        return events.stream()
-                .filter(GCEvent::isMajorGc)
-                .filter(event -> event.getHeapAfter() > 0)
-                .toList();
+    private double average(double[] values, int from, int to) {
+        if (to <= from) return 0;
+        double sum = 0;
+        for (int i = from; i < to; i++) sum += values[i];
+        return sum / (to - from);
+    }
+
+    /**
+     * Indices of major GCs with a known heap-after value
+     */
+    private int[] filterMajorGcEvents(EventStore events) {
+        int[] indices = new int[events.getMajorGcCount()];
+        int count = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (events.isMajorGc(i) && events.getHeapAfter(i) > 0) {
+                indices[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indices, count);
     }
 
-    private String buildLeakDescription(LeakAnalysisResult result) {
+    private void addEvents(EventStore events, int[] indices, LeakAnalysisResult result) {
+        for (int index : indices) {
+            result.getSuspiciousEvents().add(events.getEvent(index));
+        }
+    }
+
+    static String buildLeakDescription(LeakAnalysisResult result) {
         String pattern = result.getPatternType();
         double growthRateMB = result.getGrowthRate() / (1024 * 1024);
         double confidencePercent = result.getConfidence() * 100;
@@ -350,21 +372,18 @@ public class MemoryLeakDetector {
     /**
      * Quick analysis for real-time monitoring integration
      */
-    public boolean quickLeakCheck(List<GCEvent> recentEvents) {
+    public boolean quickLeakCheck(EventStore recentEvents) {
         if (recentEvents.size() < 5) return false;
 
-        List<GCEvent> majorEvents = filterMajorGcEvents(recentEvents);
-        if (majorEvents.size() < 3) return false;
+        int[] majorEvents = filterMajorGcEvents(recentEvents);
+        if (majorEvents.length < 3) return false;
 
-        // Simple check: if last 3 major GCs show increasing heap after GC
-        boolean increasing = true;
-        for (int i = 1; i < majorEvents.size(); i++) {
-            if (majorEvents.get(i).getHeapAfter() <= majorEvents.get(i-1).getHeapAfter()) {
-                increasing = false;
-                break;
+        // Simple check: if the major GCs show increasing heap after GC
+        for (int i = 1; i < majorEvents.length; i++) {
+            if (recentEvents.getHeapAfter(majorEvents[i]) <= recentEvents.getHeapAfter(majorEvents[i - 1])) {
+                return false;
             }
         }
-
-        return increasing;
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.MutatorUtilization;
+
+/**
+ * Computes the minimum mutator utilization curve of a GC log.
+ *
+ * Pauses are the intervals {@code [timestamp - duration, timestamp]} (the log line is written
+ * when the pause ends). The GC time inside a sliding window is piecewise linear in the window
+ * position, so its maximum is reached when the window starts at a pause start or ends at a
+ * pause end. Two sweeps with two pointers evaluate all those positions in O(n) per window
+ * size, reading the store's columns directly without building per-window arrays.
+ */
+public class MutatorUtilizationAnalyzer {
+
+    public static final long[] DEFAULT_WINDOWS_MILLIS = {10, 100, 1000, 10_000, 60_000};
+
+    private final long[] windowsMillis;
+
+    public MutatorUtilizationAnalyzer() {
+        this(DEFAULT_WINDOWS_MILLIS);
+    }
+
+    public MutatorUtilizationAnalyzer(long... windowsMillis) {
+        this.windowsMillis = windowsMillis.clone();
+    }
+
+    public MutatorUtilization analyze(GCLog gcLog) {
+        return analyze(gcLog.getEventStore());
+    }
+
+    public MutatorUtilization analyze(EventStore events) {
+        MutatorUtilization result = new MutatorUtilization();
+        int n = events.size();
+        if (n == 0) return result;
+
+        for (long windowMillis : windowsMillis) {
+            long window = windowMillis * 1000;
+            if (window <= 0) continue;
+
+            long[] worst = {-1, 0}; // max GC time in a window, window start
+            // Uptime starts over when a restarted JVM appends to the same log;
+            // every run of increasing timestamps is a timeline of its own
+            int from = 0;
+            for (int i = 1; i <= n; i++) {
+                if (i == n || events.getTimestamp(i) < events.getTimestamp(i - 1)) {
+                    sweep(events, from, i, window, worst);
+                    from = i;
+                }
+            }
+            if (worst[0] < 0) continue; // Window longer than every timeline
+
+            double utilization = 1.0 - (double) worst[0] / window;
+            result.addPoint(new MutatorUtilization.Point(windowMillis, utilization, worst[1] / 1000));
+        }
+        return result;
+    }
+
+    private void sweep(EventStore events, int from, int to, long window, long[] worst) {
+        long spanStart = start(events, from, from);
+        long spanEnd = end(events, to - 1);
+        if (window > spanEnd - spanStart) return;
+
+        sweepWindowStarts(events, from, to, window, spanEnd, worst);
+        sweepWindowEnds(events, from, to, window, spanStart, worst);
+    }
+
+    /**
+     * Windows {@code [start(i), start(i) + window]}. {@code busy} holds the pauses i..j-1,
+     * which lie completely inside the window; pause j may be cut by the window end.
+     */
+    private void sweepWindowStarts(EventStore events, int from, int to, long window, long spanEnd, long[] worst) {
+        long busy = 0;
+        int j = from;
+        for (int i = from; i < to; i++) {
+            long windowStart = start(events, from, i);
+            if (windowStart > spanEnd - window) break;
+            if (j < i) {
+                j = i;
+                busy = 0;
+            }
+
+            long windowEnd = windowStart + window;
+            while (j < to && end(events, j) <= windowEnd) {
+                busy += length(events, from, j);
+                j++;
+            }
+            long partial = j < to ? Math.max(0, windowEnd - start(events, from, j)) : 0;
+            record(busy + partial, windowStart, worst);
+
+            if (j > i) busy -= length(events, from, i);
+        }
+    }
+
+    /**
+     * Windows {@code [end(i) - window, end(i)]}. {@code busy} holds the pauses k..i,
+     * which lie completely inside the window; pause k-1 may be cut by the window start.
+     */
+    private void sweepWindowEnds(EventStore events, int from, int to, long window, long spanStart, long[] worst) {
+        long busy = 0;
+        int k = from;
+        for (int i = from; i < to; i++) {
+            busy += length(events, from, i);
+            long windowStart = end(events, i) - window;
+            while (k <= i && start(events, from, k) < windowStart) {
+                busy -= length(events, from, k);
+                k++;
+            }
+            if (windowStart < spanStart) continue;
+
+            long partial = k > from ? Math.max(0, end(events, k - 1) - windowStart) : 0;
+            record(busy + partial, windowStart, worst);
+        }
+    }
+
+    private void record(long busy, long windowStart, long[] worst) {
+        if (busy > worst[0]) {
+            worst[0] = busy;
+            worst[1] = windowStart;
+        }
+    }
+
+    // Pause intervals in microseconds. Timestamps only have millisecond resolution, so a
+    // pause is never allowed to start before the previous one ended.
+
+    private long end(EventStore events, int index) {
+        return events.getTimestamp(index) * 1000;
+    }
+
+    private long start(EventStore events, int from, int index) {
+        long start = end(events, index) - events.getDurationMicros(index);
+        return index > from ? Math.max(start, end(events, index - 1)) : start;
+    }
+
+    private long length(EventStore events, int from, int index) {
+        return Math.max(0, end(events, index) - start(events, from, index));
+    }
+}
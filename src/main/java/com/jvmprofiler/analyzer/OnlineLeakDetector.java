@@ -0,0 +1,225 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+
+/**
+ * Streaming counterpart of {@link MemoryLeakDetector#detectMemoryLeak}: the same linear,
+ * exponential, stepping and efficiency checks, kept as running state so that each event
+ * is an O(1) update and the leak confidence is available after every event.
+ *
+ * The regression over heap-after-major-GC uses Welford-style co-moments (numerically
+ * stable for long streams), acceleration and steps are counters over the last three major
+ * GCs, and the efficiency trend compares the long-run average with an exponentially
+ * weighted recent average instead of splitting the events into halves.
+ */
+public class OnlineLeakDetector {
+    private static final int MAX_SUSPICIOUS_EVENTS = 5;
+    // Smoothing of the recent efficiency, about the last 50 GCs
+    private static final double EFFICIENCY_ALPHA = 2.0 / 51;
+
+    private final double leakConfidenceThreshold;
+    private final int minEventsForAnalysis;
+
+    private long eventCount;
+
+    // Linear regression of heap after major GC (bytes) over time (minutes since the first major GC)
+    private long majorCount;
+    private long firstMajorTimestamp;
+    private long firstMajorHeapAfter;
+    private double meanX;
+    private double meanY;
+    private double m2X;
+    private double m2Y;
+    private double coMoment;
+
+    // Growth rates between consecutive major GCs
+    private long previousTimestamp;
+    private long previousHeapAfter;
+    private long rateCount;
+    private double previousRate;
+    private double latestRate;
+    private long acceleratingPairs;
+    private boolean anyPositiveRate;
+
+    // Plateau followed by a jump, over the last three major GCs
+    private long olderHeapAfter;
+    private long stepsDetected;
+    private final Deque<GCEvent> stepEvents = new ArrayDeque<>();
+
+    // Heap freed as a fraction of heap before GC
+    private long efficiencyCount;
+    private double efficiencySum;
+    private double recentEfficiency;
+
+    public OnlineLeakDetector() {
+        this(0.7, 10);
+    }
+
+    public OnlineLeakDetector(double leakConfidenceThreshold, int minEventsForAnalysis) {
+        this.leakConfidenceThreshold = leakConfidenceThreshold;
+        this.minEventsForAnalysis = minEventsForAnalysis;
+    }
+
+    public void accept(EventStore events, int index) {
+        if (accept(events.getTimestamp(index), events.getHeapBefore(index), events.getHeapAfter(index),
+                events.isMajorGc(index))) {
+            addStepEvent(events.getEvent(index));
+        }
+    }
+
+    public void accept(GCEvent event) {
+        if (accept(event.getTimestamp(), event.getHeapBefore(), event.getHeapAfter(), event.isMajorGc())) {
+            addStepEvent(event);
+        }
+    }
+
+    /**
+     * Returns true when the event completes a step (plateau followed by a jump)
+     */
+    private boolean accept(long timestamp, long heapBefore, long heapAfter, boolean majorGc) {
+        eventCount++;
+
+        if (heapBefore > 0) {
+            double efficiency = (double) (heapBefore - heapAfter) / heapBefore;
+            efficiencyCount++;
+            efficiencySum += efficiency;
+            recentEfficiency = efficiencyCount == 1 ? efficiency
+                    : recentEfficiency + EFFICIENCY_ALPHA * (efficiency - recentEfficiency);
+        }
+
+        return majorGc && heapAfter > 0 && acceptMajorGc(timestamp, heapAfter);
+    }
+
+    private boolean acceptMajorGc(long timestamp, long heapAfter) {
+        majorCount++;
+        if (majorCount == 1) {
+            firstMajorTimestamp = timestamp;
+            firstMajorHeapAfter = heapAfter;
+        }
+
+        double x = (timestamp - firstMajorTimestamp) / (1000.0 * 60.0);
+        double dx = x - meanX;
+        meanX += dx / majorCount;
+        double dy = heapAfter - meanY;
+        meanY += dy / majorCount;
+        m2X += dx * (x - meanX);
+        m2Y += dy * (heapAfter - meanY);
+        coMoment += dx * (heapAfter - meanY);
+
+        if (majorCount > 1) {
+            long timeDiff = timestamp - previousTimestamp;
+            if (timeDiff > 0) {
+                double rate = (heapAfter - previousHeapAfter) / (timeDiff / 60000.0);
+                if (rateCount > 0 && rate > previousRate) acceleratingPairs++;
+                if (rate > 0) anyPositiveRate = true;
+                previousRate = rate;
+                latestRate = rate;
+                rateCount++;
+            }
+        }
+
+        boolean step = false;
+        if (majorCount > 2) {
+            boolean plateau = Math.abs(previousHeapAfter - olderHeapAfter) < olderHeapAfter * 0.05; // Within 5%
+            boolean jump = heapAfter > previousHeapAfter * 1.1; // Jump more than 10%
+            step = plateau && jump;
+            if (step) stepsDetected++;
+        }
+
+        olderHeapAfter = previousHeapAfter;
+        previousTimestamp = timestamp;
+        previousHeapAfter = heapAfter;
+        return step;
+    }
+
+    private void addStepEvent(GCEvent event) {
+        if (stepEvents.size() == MAX_SUSPICIOUS_EVENTS) stepEvents.removeFirst();
+        stepEvents.addLast(event);
+    }
+
+    public long getEventCount() { return eventCount; }
+
+    /** Heap growth in bytes per minute from the regression; 0 before two major GCs */
+    public double getSlope() {
+        return m2X > 0 ? coMoment / m2X : 0;
+    }
+
+    public double getRSquared() {
+        return m2X > 0 && m2Y > 0 ? coMoment * coMoment / (m2X * m2Y) : 0;
+    }
+
+    public double getLinearConfidence() {
+        if (majorCount < 5) return 0.0;
+        double rSquared = getRSquared();
+        return getSlope() > 0 && rSquared > 0.6 ? Math.min(rSquared, 0.9) : 0.0;
+    }
+
+    public double getExponentialConfidence() {
+        if (majorCount < 8 || rateCount < 3) return 0.0;
+        boolean accelerating = acceleratingPairs > rateCount / 2;
+        return accelerating && anyPositiveRate ? 0.8 : 0.0;
+    }
+
+    public double getSteppingConfidence() {
+        if (majorCount < 6 || stepsDetected < 2) return 0.0;
+        return Math.min(stepsDetected * 0.3, 0.8);
+    }
+
+    public double getEfficiencyConfidence() {
+        if (efficiencyCount < 10) return 0.0;
+        double decline = efficiencySum / efficiencyCount - recentEfficiency;
+        return decline > 0.2 ? 0.7 : 0.0;
+    }
+
+    /** Leak confidence after the events seen so far, 0 until enough events arrived */
+    public double getConfidence() {
+        if (eventCount < minEventsForAnalysis) return 0.0;
+        return Math.max(Math.max(getLinearConfidence(), getExponentialConfidence()),
+                Math.max(getSteppingConfidence(), getEfficiencyConfidence()));
+    }
+
+    public boolean isLeakDetected() {
+        return getConfidence() >= leakConfidenceThreshold;
+    }
+
+    /**
+     * Current state as a {@link MemoryLeakDetector.LeakAnalysisResult}. Patterns take the same
+     * precedence as in the offline detector: stepping, exponential, linear, efficiency decline.
+     */
+    public MemoryLeakDetector.LeakAnalysisResult getResult() {
+        MemoryLeakDetector.LeakAnalysisResult result = new MemoryLeakDetector.LeakAnalysisResult();
+        result.setSuspiciousEvents(new ArrayList<>());
+
+        if (eventCount < minEventsForAnalysis) {
+            result.setDescription("Insufficient data for leak detection (need at least " + minEventsForAnalysis + " events)");
+            return result;
+        }
+
+        if (getSteppingConfidence() > 0) {
+            result.setPatternType("STEPPING");
+            result.getSuspiciousEvents().addAll(stepEvents);
+            double totalTime = (previousTimestamp - firstMajorTimestamp) / (1000.0 * 60.0);
+            result.setGrowthRate((previousHeapAfter - firstMajorHeapAfter) / totalTime);
+        } else if (getExponentialConfidence() > 0) {
+            result.setPatternType("EXPONENTIAL");
+            result.setGrowthRate(latestRate);
+        } else if (getLinearConfidence() > 0) {
+            result.setPatternType("LINEAR");
+            result.setGrowthRate(getSlope());
+        } else if (getEfficiencyConfidence() > 0) {
+            result.setPatternType("EFFICIENCY_DECLINE");
+        }
+
+        result.setConfidence(getConfidence());
+        result.setLeakDetected(isLeakDetected());
+        result.setDescription(result.isLeakDetected()
+                ? MemoryLeakDetector.buildLeakDescription(result)
+                : "No strong evidence of memory leak detected");
+        return result;
+    }
+}
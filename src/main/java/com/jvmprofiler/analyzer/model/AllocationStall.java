@@ -0,0 +1,41 @@
+package com.jvmprofiler.analyzer.model;
+
+/**
+ * Allocation stalls of one application thread: ZGC could not free memory fast enough,
+ * so the thread blocked in allocation until a cycle completed.
+ */
+public class AllocationStall {
+    private final String thread;
+    private long count;
+    private long totalMicros;
+    private long maxMicros;
+
+    public AllocationStall(String thread) {
+        this.thread = thread;
+    }
+
+    public AllocationStall(String thread, long count, long totalMicros, long maxMicros) {
+        this.thread = thread;
+        this.count = count;
+        this.totalMicros = totalMicros;
+        this.maxMicros = maxMicros;
+    }
+
+    public void add(long micros) {
+        count++;
+        totalMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    public void merge(AllocationStall other) {
+        count += other.count;
+        totalMicros += other.totalMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    public String getThread() { return thread; }
+    public long getCount() { return count; }
+    public long getTotalMicros() { return totalMicros; }
+    public double getTotalMillis() { return totalMicros / 1000.0; }
+    public long getMaxMicros() { return maxMicros; }
+}
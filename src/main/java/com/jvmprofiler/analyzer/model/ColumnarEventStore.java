@@ -0,0 +1,202 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Struct-of-arrays storage for GC events.
+ *
+ * Every numeric {@link EventField} lives in its own growable {@code long[]} column,
+ * GC type and cause are stored as one-byte dictionary codes and the major/System.gc()
+ * flags as bitsets. Columns outside the core {@link EventField.Group} are allocated, a group at
+ * a time, when the first event sets one of their fields; until then they read as zero.
+ * {@link GCEvent} objects are only created on demand by {@link #getEvent(int)}.
+ * This is the default, on-heap {@link EventStore}.
+ */
+public class ColumnarEventStore implements EventStore {
+    private static final EventField[] FIELDS = EventField.values();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long[][] columns = new long[FIELDS.length][];
+    private int capacity;
+    private byte[] typeCodes;
+    private byte[] causeCodes;
+    private final BitSet majorGc = new BitSet();
+    private final BitSet systemGc = new BitSet();
+    private int size;
+
+    private final NameDictionary names = new NameDictionary();
+
+    public ColumnarEventStore() {
+        allocate(INITIAL_CAPACITY);
+        allocateGroup(EventField.Group.CORE);
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public void add(GCEvent event) {
+        ensureCapacity(size + 1);
+        for (EventField field : FIELDS) {
+            store(field, field.get(event));
+        }
+        typeCodes[size] = names.encode(event.getGcType());
+        causeCodes[size] = names.encode(event.getGcCause());
+        majorGc.set(size, event.isMajorGc());
+        systemGc.set(size, event.isSystemGc());
+        size++;
+    }
+
+    @Override
+    public void add(EventStore other, int index) {
+        ensureCapacity(size + 1);
+        for (EventField field : FIELDS) {
+            store(field, other.get(field, index));
+        }
+        typeCodes[size] = names.encode(other.getGcType(index));
+        causeCodes[size] = names.encode(other.getGcCause(index));
+        majorGc.set(size, other.isMajorGc(index));
+        systemGc.set(size, other.isSystemGc(index));
+        size++;
+    }
+
+    @Override
+    public void addColumns(int count, LongBuffer[] fields, ByteBuffer typeCodes, ByteBuffer causeCodes,
+                           ByteBuffer flags, String[] names) {
+        ensureCapacity(size + count);
+        for (EventField field : FIELDS) {
+            LongBuffer source = fields[field.ordinal()];
+            if (columns[field.ordinal()] == null) {
+                if (isZero(source, count)) continue;
+                allocateGroup(field.getGroup());
+            }
+            source.get(0, columns[field.ordinal()], size, count);
+        }
+
+        byte[] codes = new byte[names.length];
+        for (int i = 0; i < names.length; i++) {
+            codes[i] = this.names.encode(names[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            this.typeCodes[size + i] = codes[typeCodes.get(i) & 0xFF];
+            this.causeCodes[size + i] = codes[causeCodes.get(i) & 0xFF];
+            byte flag = flags.get(i);
+            majorGc.set(size + i, (flag & MAJOR_GC_FLAG) != 0);
+            systemGc.set(size + i, (flag & SYSTEM_GC_FLAG) != 0);
+        }
+        size += count;
+    }
+
+    private static boolean isZero(LongBuffer values, int count) {
+        for (int i = 0; i < count; i++) {
+            if (values.get(i) != 0) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        majorGc.clear();
+        systemGc.clear();
+    }
+
+    @Override
+    public GCEvent getEvent(int index) {
+        checkIndex(index);
+        GCEvent event = new GCEvent();
+        for (EventField field : FIELDS) {
+            long[] column = columns[field.ordinal()];
+            if (column != null) field.set(event, column[index]);
+        }
+        event.setGcType(getGcType(index));
+        event.setGcCause(getGcCause(index));
+        event.setMajorGc(isMajorGc(index));
+        event.setSystemGc(isSystemGc(index));
+        return event;
+    }
+
+    // Column access
+    @Override
+    public long get(EventField field, int index) {
+        checkIndex(index);
+        long[] column = columns[field.ordinal()];
+        return column == null ? 0 : column[index];
+    }
+
+    @Override
+    public String getGcType(int index) {
+        checkIndex(index);
+        return names.decode(typeCodes[index]);
+    }
+
+    @Override
+    public String getGcCause(int index) {
+        checkIndex(index);
+        return names.decode(causeCodes[index]);
+    }
+
+    @Override
+    public boolean isMajorGc(int index) {
+        checkIndex(index);
+        return majorGc.get(index);
+    }
+
+    @Override
+    public boolean isSystemGc(int index) {
+        checkIndex(index);
+        return systemGc.get(index);
+    }
+
+    @Override
+    public int getMajorGcCount() { return majorGc.cardinality(); }
+
+    @Override
+    public int getSystemGcCount() { return systemGc.cardinality(); }
+
+    @Override
+    public long[] copyColumn(EventField field) {
+        long[] column = columns[field.ordinal()];
+        return column == null ? new long[size] : Arrays.copyOf(column, size);
+    }
+
+    private void store(EventField field, long value) {
+        long[] column = columns[field.ordinal()];
+        if (column == null) {
+            if (value == 0) return;
+            allocateGroup(field.getGroup());
+            column = columns[field.ordinal()];
+        }
+        column[size] = value;
+    }
+
+    private void allocateGroup(EventField.Group group) {
+        for (EventField field : group.getFields()) {
+            columns[field.ordinal()] = new long[capacity];
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > capacity) {
+            allocate(Math.max(required, capacity + (capacity >> 1)));
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (columns[f] != null) columns[f] = Arrays.copyOf(columns[f], capacity);
+        }
+        typeCodes = typeCodes == null ? new byte[capacity] : Arrays.copyOf(typeCodes, capacity);
+        causeCodes = causeCodes == null ? new byte[capacity] : Arrays.copyOf(causeCodes, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event index " + index + " out of bounds for size " + size);
+        }
+    }
+}
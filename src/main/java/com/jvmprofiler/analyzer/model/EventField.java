@@ -0,0 +1,90 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * The numeric {@link GCEvent} attributes that event stores keep as primitive columns.
+ *
+ * Fields come in {@link Group}s. The core group is set for every event; the others are only
+ * logged by some collectors (G1 phases, CPU times, ZGC concurrent work ...), so stores
+ * allocate a group's columns once the first event sets one of its fields.
+ */
+public enum EventField {
+    TIMESTAMP(Group.CORE, GCEvent::getTimestamp, GCEvent::setTimestamp),
+    EPOCH_MILLIS(Group.WALL_CLOCK, GCEvent::getEpochMillis, GCEvent::setEpochMillis),
+    DURATION_MICROS(Group.CORE, GCEvent::getDurationMicros, GCEvent::setDurationMicros),
+    HEAP_BEFORE(Group.CORE, GCEvent::getHeapBefore, GCEvent::setHeapBefore),
+    HEAP_AFTER(Group.CORE, GCEvent::getHeapAfter, GCEvent::setHeapAfter),
+    HEAP_COMMITTED(Group.CORE, GCEvent::getHeapCommitted, GCEvent::setHeapCommitted),
+    YOUNG_BEFORE(Group.CORE, GCEvent::getYoungBefore, GCEvent::setYoungBefore),
+    YOUNG_AFTER(Group.CORE, GCEvent::getYoungAfter, GCEvent::setYoungAfter),
+    OLD_BEFORE(Group.CORE, GCEvent::getOldBefore, GCEvent::setOldBefore),
+    OLD_AFTER(Group.CORE, GCEvent::getOldAfter, GCEvent::setOldAfter),
+    PRE_EVACUATE_MICROS(Group.PHASES, e -> e.getPhaseMicros(GCPhase.PRE_EVACUATE), (e, v) -> e.setPhaseMicros(GCPhase.PRE_EVACUATE, v)),
+    MERGE_HEAP_ROOTS_MICROS(Group.PHASES, e -> e.getPhaseMicros(GCPhase.MERGE_HEAP_ROOTS), (e, v) -> e.setPhaseMicros(GCPhase.MERGE_HEAP_ROOTS, v)),
+    EVACUATE_MICROS(Group.PHASES, e -> e.getPhaseMicros(GCPhase.EVACUATE), (e, v) -> e.setPhaseMicros(GCPhase.EVACUATE, v)),
+    POST_EVACUATE_MICROS(Group.PHASES, e -> e.getPhaseMicros(GCPhase.POST_EVACUATE), (e, v) -> e.setPhaseMicros(GCPhase.POST_EVACUATE, v)),
+    OTHER_PHASE_MICROS(Group.PHASES, e -> e.getPhaseMicros(GCPhase.OTHER), (e, v) -> e.setPhaseMicros(GCPhase.OTHER, v)),
+    CPU_USER_MICROS(Group.CPU, GCEvent::getCpuUserMicros, GCEvent::setCpuUserMicros),
+    CPU_SYS_MICROS(Group.CPU, GCEvent::getCpuSysMicros, GCEvent::setCpuSysMicros),
+    CPU_REAL_MICROS(Group.CPU, GCEvent::getCpuRealMicros, GCEvent::setCpuRealMicros),
+    GC_WORKERS(Group.CPU, GCEvent::getGcWorkers, GCEvent::setGcWorkers),
+    CONCURRENT_MARK_MICROS(Group.CONCURRENT, GCEvent::getConcurrentMarkMicros, GCEvent::setConcurrentMarkMicros),
+    CONCURRENT_RELOCATE_MICROS(Group.CONCURRENT, GCEvent::getConcurrentRelocateMicros, GCEvent::setConcurrentRelocateMicros),
+    CONCURRENT_OTHER_MICROS(Group.CONCURRENT, GCEvent::getConcurrentOtherMicros, GCEvent::setConcurrentOtherMicros),
+    LIVE_BYTES(Group.CONCURRENT, GCEvent::getLiveBytes, GCEvent::setLiveBytes),
+    ALLOCATION_STALLS(Group.CONCURRENT, GCEvent::getAllocationStalls, GCEvent::setAllocationStalls),
+    ALLOCATION_STALL_MICROS(Group.CONCURRENT, GCEvent::getAllocationStallMicros, GCEvent::setAllocationStallMicros);
+
+    public enum Group {
+        CORE,
+        WALL_CLOCK,
+        PHASES,
+        CPU,
+        CONCURRENT;
+
+        /** The fields of this group, in slot order */
+        public EventField[] getFields() { return GROUP_FIELDS[ordinal()].clone(); }
+        public int size() { return GROUP_FIELDS[ordinal()].length; }
+    }
+
+    private static final EventField[][] GROUP_FIELDS = new EventField[Group.values().length][];
+
+    static {
+        for (Group group : Group.values()) {
+            List<EventField> fields = new ArrayList<>();
+            for (EventField field : values()) {
+                if (field.group == group) {
+                    field.slot = fields.size();
+                    fields.add(field);
+                }
+            }
+            GROUP_FIELDS[group.ordinal()] = fields.toArray(new EventField[0]);
+        }
+    }
+
+    private final Group group;
+    private int slot; // Position within the group
+    private final ToLongFunction<GCEvent> getter;
+    private final ObjLongConsumer<GCEvent> setter;
+
+    EventField(Group group, ToLongFunction<GCEvent> getter, ObjLongConsumer<GCEvent> setter) {
+        this.group = group;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public Group getGroup() { return group; }
+    public int getSlot() { return slot; }
+
+    public long get(GCEvent event) {
+        return getter.applyAsLong(event);
+    }
+
+    public void set(GCEvent event, long value) {
+        setter.accept(event, value);
+    }
+}
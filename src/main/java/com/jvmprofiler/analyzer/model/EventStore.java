@@ -0,0 +1,112 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Storage backend for the events of a {@link GCLog}.
+ *
+ * Events are addressed by index in insertion order, which parsers keep in timestamp
+ * order. Numeric attributes are read column-wise through {@link #get(EventField, int)},
+ * so analyses never have to materialise {@link GCEvent} objects.
+ */
+public interface EventStore extends AutoCloseable {
+    // Bits of the flag bytes passed to addColumns
+    byte MAJOR_GC_FLAG = 1;
+    byte SYSTEM_GC_FLAG = 2;
+
+    int size();
+
+    default boolean isEmpty() { return size() == 0; }
+
+    void add(GCEvent event);
+
+    /**
+     * Append event {@code index} of another store without materialising it.
+     */
+    void add(EventStore other, int index);
+
+    /**
+     * Append {@code count} events given column by column, without materialising them (e.g. from
+     * the sidecar cache): one buffer per {@link EventField} in declaration order, then a type
+     * code, cause code and flag byte per event. Codes index {@code names}; code 0 is no value.
+     */
+    void addColumns(int count, LongBuffer[] fields, ByteBuffer typeCodes, ByteBuffer causeCodes,
+                    ByteBuffer flags, String[] names);
+
+    void clear();
+
+    GCEvent getEvent(int index);
+
+    long get(EventField field, int index);
+
+    String getGcType(int index);
+
+    String getGcCause(int index);
+
+    boolean isMajorGc(int index);
+
+    boolean isSystemGc(int index);
+
+    int getMajorGcCount();
+
+    int getSystemGcCount();
+
+    /**
+     * Copy of the first {@link #size()} values of a column.
+     */
+    default long[] copyColumn(EventField field) {
+        long[] values = new long[size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(field, i);
+        }
+        return values;
+    }
+
+    // Convenience column accessors
+    default long getTimestamp(int index) { return get(EventField.TIMESTAMP, index); }
+    default long getDurationMicros(int index) { return get(EventField.DURATION_MICROS, index); }
+    default long getDuration(int index) { return getDurationMicros(index) / 1000; }
+    default long getHeapBefore(int index) { return get(EventField.HEAP_BEFORE, index); }
+    default long getHeapAfter(int index) { return get(EventField.HEAP_AFTER, index); }
+    default long getHeapCommitted(int index) { return get(EventField.HEAP_COMMITTED, index); }
+    default long getOldAfter(int index) { return get(EventField.OLD_AFTER, index); }
+
+    default long getHeapFreed(int index) {
+        return getHeapBefore(index) - getHeapAfter(index);
+    }
+
+    /**
+     * Index of the first event whose timestamp is {@code >= timestamp}, or {@link #size()}
+     * when there is none. Binary search, so events must be in timestamp order.
+     */
+    default int lowerBound(long timestamp) {
+        int low = 0, high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getTimestamp(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Visit, in order, the indices of all events with {@code from <= timestamp < to}.
+     */
+    default void scan(long fromTimestamp, long toTimestamp, IntConsumer visitor) {
+        int size = size();
+        for (int i = lowerBound(fromTimestamp); i < size && getTimestamp(i) < toTimestamp; i++) {
+            visitor.accept(i);
+        }
+    }
+
+    /**
+     * Release any memory held outside the Java heap. On-heap stores have nothing to release.
+     */
+    @Override
+    default void close() {}
+}
@@ -0,0 +1,60 @@
+package com.jvmprofiler.analyzer.model;
+
+/**
+ * Predicted time until the post-GC live set reaches a memory limit, with a confidence band.
+ * Times are in minutes from the latest sample; an upper bound of
+ * {@link Double#POSITIVE_INFINITY} means the trend might as well be flat.
+ */
+public class ExhaustionForecast {
+    private final String limitName;          // "committed heap", "max heap"
+    private final long limitBytes;
+    private final long currentLiveBytes;     // Fitted live set at the latest sample
+    private final double growthBytesPerMinute;
+    private final double minutesToExhaustion;
+    private final double lowerMinutes;
+    private final double upperMinutes;
+
+    public ExhaustionForecast(String limitName, long limitBytes, long currentLiveBytes, double growthBytesPerMinute,
+                              double minutesToExhaustion, double lowerMinutes, double upperMinutes) {
+        this.limitName = limitName;
+        this.limitBytes = limitBytes;
+        this.currentLiveBytes = currentLiveBytes;
+        this.growthBytesPerMinute = growthBytesPerMinute;
+        this.minutesToExhaustion = minutesToExhaustion;
+        this.lowerMinutes = lowerMinutes;
+        this.upperMinutes = upperMinutes;
+    }
+
+    public String getLimitName() { return limitName; }
+    public long getLimitBytes() { return limitBytes; }
+    public long getCurrentLiveBytes() { return currentLiveBytes; }
+    public double getGrowthBytesPerMinute() { return growthBytesPerMinute; }
+    public double getMinutesToExhaustion() { return minutesToExhaustion; }
+    public double getLowerMinutes() { return lowerMinutes; }
+    public double getUpperMinutes() { return upperMinutes; }
+
+    /** Half width of the band around the prediction, the "±" of "3h ± 40m" */
+    public double getMarginMinutes() {
+        return Math.max(minutesToExhaustion - lowerMinutes, upperMinutes - minutesToExhaustion);
+    }
+
+    /**
+     * E.g. "3h 05m (2h 30m - 4h 10m)", or "more than ..." when the band has no upper end
+     */
+    public String describe() {
+        if (Double.isInfinite(upperMinutes)) {
+            return String.format("~%s (at least %s, upper bound unknown)",
+                    formatMinutes(minutesToExhaustion), formatMinutes(lowerMinutes));
+        }
+        return String.format("~%s ± %s (%s - %s)", formatMinutes(minutesToExhaustion),
+                formatMinutes(getMarginMinutes()), formatMinutes(lowerMinutes), formatMinutes(upperMinutes));
+    }
+
+    public static String formatMinutes(double minutes) {
+        if (minutes < 1) return String.format("%ds", Math.round(minutes * 60));
+        long total = Math.round(minutes);
+        if (total < 60) return total + "m";
+        if (total < 48 * 60) return String.format("%dh %02dm", total / 60, total % 60);
+        return String.format("%dd %02dh", total / (24 * 60), total % (24 * 60) / 60);
+    }
+}
@@ -5,8 +5,9 @@ import java.util.Date;
 public class GCEvent {
     private String gcType;          // "Young GC", "Full GC", etc.
     private String gcCause;         // "Allocation Failure", "System.gc()", etc.
-    private long timestamp;         // Event timestamp
-    private long duration;          // Pause time in milliseconds
+    private long timestamp;         // JVM uptime in ms, or the wall-clock time when the log has no uptime
+    private long epochMillis;       // Wall-clock time in epoch ms, 0 if the log has no time decorator
+    private long durationMicros;    // Pause time in microseconds
     private long heapBefore;        // Heap size before GC (bytes)
     private long heapAfter;         // Heap size after GC (bytes)
     private long heapCommitted;     // Committed heap size
@@ -16,6 +17,17 @@ public class GCEvent {
     private long oldAfter;          // Old gen after GC
     private boolean majorGc;        // Is this a major GC?
     private boolean systemGc;       // Was it triggered by System.gc()?
+    private long[] phaseMicros;     // Pause phase durations, indexed by GCPhase (null if none logged)
+    private long cpuUserMicros;     // GC thread CPU time in user mode (gc+cpu User=)
+    private long cpuSysMicros;      // GC thread CPU time in the kernel (Sys=)
+    private long cpuRealMicros;     // Wall-clock time of the pause as measured with the CPU times (Real=)
+    private long gcWorkers;         // Parallel GC worker threads used for the pause, 0 if not logged
+    private long concurrentMarkMicros;     // Concurrent marking time of the cycle (ZGC)
+    private long concurrentRelocateMicros; // Concurrent relocation time of the cycle (ZGC)
+    private long concurrentOtherMicros;    // Other concurrent phases of the cycle (ZGC)
+    private long liveBytes;                // Live data found by marking, 0 if not logged
+    private long allocationStalls;         // Allocation stalls relieved by this cycle (ZGC)
+    private long allocationStallMicros;    // Total time those stalls blocked their threads
 
     // Constructors
     public GCEvent() {}
@@ -23,7 +35,7 @@ public class GCEvent {
     public GCEvent(String gcType, long timestamp, long duration) {
         this.gcType = gcType;
         this.timestamp = timestamp;
-        this.duration = duration;
+        this.durationMicros = duration * 1000;
     }
 
     // Getters and Setters
@@ -36,8 +48,14 @@ public class GCEvent {
     public long getTimestamp() { return timestamp; }
     public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
 
-    public long getDuration() { return duration; }
-    public void setDuration(long duration) { this.duration = duration; }
+    public long getEpochMillis() { return epochMillis; }
+    public void setEpochMillis(long epochMillis) { this.epochMillis = epochMillis; }
+
+    public long getDuration() { return durationMicros / 1000; }
+    public void setDuration(long duration) { this.durationMicros = duration * 1000; }
+
+    public long getDurationMicros() { return durationMicros; }
+    public void setDurationMicros(long durationMicros) { this.durationMicros = durationMicros; }
 
     public long getHeapBefore() { return heapBefore; }
     public void setHeapBefore(long heapBefore) { this.heapBefore = heapBefore; }
@@ -66,17 +84,72 @@ public class GCEvent {
     public boolean isSystemGc() { return systemGc; }
     public void setSystemGc(boolean systemGc) { this.systemGc = systemGc; }
 
+    public long getPhaseMicros(GCPhase phase) {
+        return phaseMicros != null ? phaseMicros[phase.ordinal()] : 0;
+    }
+
+    public void setPhaseMicros(GCPhase phase, long micros) {
+        if (phaseMicros == null) {
+            if (micros == 0) return;
+            phaseMicros = new long[GCPhase.values().length];
+        }
+        phaseMicros[phase.ordinal()] = micros;
+    }
+
+    public long getCpuUserMicros() { return cpuUserMicros; }
+    public void setCpuUserMicros(long cpuUserMicros) { this.cpuUserMicros = cpuUserMicros; }
+
+    public long getCpuSysMicros() { return cpuSysMicros; }
+    public void setCpuSysMicros(long cpuSysMicros) { this.cpuSysMicros = cpuSysMicros; }
+
+    public long getCpuRealMicros() { return cpuRealMicros; }
+    public void setCpuRealMicros(long cpuRealMicros) { this.cpuRealMicros = cpuRealMicros; }
+
+    public long getGcWorkers() { return gcWorkers; }
+    public void setGcWorkers(long gcWorkers) { this.gcWorkers = gcWorkers; }
+
+    public long getConcurrentMarkMicros() { return concurrentMarkMicros; }
+    public void setConcurrentMarkMicros(long concurrentMarkMicros) { this.concurrentMarkMicros = concurrentMarkMicros; }
+
+    public long getConcurrentRelocateMicros() { return concurrentRelocateMicros; }
+    public void setConcurrentRelocateMicros(long concurrentRelocateMicros) { this.concurrentRelocateMicros = concurrentRelocateMicros; }
+
+    public long getConcurrentOtherMicros() { return concurrentOtherMicros; }
+    public void setConcurrentOtherMicros(long concurrentOtherMicros) { this.concurrentOtherMicros = concurrentOtherMicros; }
+
+    /** Time spent in concurrent phases; the application keeps running meanwhile */
+    public long getConcurrentMicros() { return concurrentMarkMicros + concurrentRelocateMicros + concurrentOtherMicros; }
+
+    public long getLiveBytes() { return liveBytes; }
+    public void setLiveBytes(long liveBytes) { this.liveBytes = liveBytes; }
+
+    public long getAllocationStalls() { return allocationStalls; }
+    public void setAllocationStalls(long allocationStalls) { this.allocationStalls = allocationStalls; }
+
+    public long getAllocationStallMicros() { return allocationStallMicros; }
+    public void setAllocationStallMicros(long allocationStallMicros) { this.allocationStallMicros = allocationStallMicros; }
+
     // Utility methods
     public long getHeapFreed() {
         return heapBefore - heapAfter;
     }
 
+    /**
+     * Average number of CPUs busy with GC during the pause, (user + sys) / real; 0 if unknown
+     */
+    public double getParallelism() {
+        return cpuRealMicros > 0 ? (double) (cpuUserMicros + cpuSysMicros) / cpuRealMicros : 0;
+    }
+
     public double getDurationSeconds() {
-        return duration / 1000.0;
+        return durationMicros / 1_000_000.0;
     }
 
+    /**
+     * Wall-clock time of the event, or null when the log has no time decorator
+     */
     public Date getEventDate() {
-        return new Date(timestamp);
+        return epochMillis > 0 ? new Date(epochMillis) : null;
     }
 
     @Override
@@ -1,28 +1,66 @@
 package com.jvmprofiler.analyzer.model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-public class GCLog {
-    private List<GCEvent> events = new ArrayList<>();
+public class GCLog implements AutoCloseable {
+    private final EventStore eventStore;
     private String gcType;          // "G1GC", "ZGC", "ParallelGC"
     private String jvmVersion;
     private long startTime;
     private long endTime;
+    private long startEpochMillis;  // Wall-clock range, 0 if the log has no time decorator
+    private long endEpochMillis;
     private String logFile;
+    private int parallelGcThreads;  // Largest GC worker pool seen in the log, 0 if not logged
+    private final Map<String, AllocationStall> allocationStalls = new HashMap<>(); // By stalled thread
 
     // Statistics
+    private final PauseHistogram pauseHistogram = new PauseHistogram();
+    private GCStatistics statistics = GCStatistics.totalsOnly();
+    private final ParseDiagnostics parseDiagnostics = new ParseDiagnostics();
     private long totalGcEvents;
     private long totalGcTime;
     private long longestPause;
     private double averagePause;
     private long totalHeapFreed;
 
-    public GCLog() {}
+    public GCLog() {
+        this(new ColumnarEventStore());
+    }
+
+    public GCLog(EventStore eventStore) {
+        this.eventStore = eventStore;
+    }
 
     // Getters and Setters
-    public List<GCEvent> getEvents() { return events; }
-    public void setEvents(List<GCEvent> events) { this.events = events; }
+
+    /**
+     * Lazy view over the event store. Each {@code get} materialises a new {@link GCEvent},
+     * so analyses over large logs should read the columns through {@link #getEventStore()}.
+     */
+    public List<GCEvent> getEvents() {
+        return new AbstractList<>() {
+            @Override
+            public GCEvent get(int index) { return eventStore.getEvent(index); }
+
+            @Override
+            public int size() { return eventStore.size(); }
+        };
+    }
+
+    public void setEvents(List<GCEvent> events) {
+        eventStore.clear();
+        pauseHistogram.reset();
+        statistics = GCStatistics.totalsOnly();
+        events.forEach(this::addEvent);
+    }
+
+    public EventStore getEventStore() { return eventStore; }
 
     public String getGcType() { return gcType; }
     public void setGcType(String gcType) { this.gcType = gcType; }
@@ -36,22 +74,51 @@ public class GCLog {
     public long getEndTime() { return endTime; }
     public void setEndTime(long endTime) { this.endTime = endTime; }
 
+    public long getStartEpochMillis() { return startEpochMillis; }
+    public long getEndEpochMillis() { return endEpochMillis; }
+
     public String getLogFile() { return logFile; }
     public void setLogFile(String logFile) { this.logFile = logFile; }
 
+    public int getParallelGcThreads() { return parallelGcThreads; }
+    public void setParallelGcThreads(int parallelGcThreads) { this.parallelGcThreads = parallelGcThreads; }
+
+    /**
+     * Record one allocation stall of {@code thread}
+     */
+    public void recordAllocationStall(String thread, long micros) {
+        allocationStalls.computeIfAbsent(thread, AllocationStall::new).add(micros);
+    }
+
+    /**
+     * Add the stall totals of another log (e.g. a parsed chunk or the sidecar cache)
+     */
+    public void addAllocationStall(AllocationStall stall) {
+        allocationStalls.computeIfAbsent(stall.getThread(), AllocationStall::new).merge(stall);
+    }
+
+    /** Allocation stalls per stalled thread, in no particular order */
+    public Collection<AllocationStall> getAllocationStalls() { return allocationStalls.values(); }
+
     // Statistics calculation methods
+
+    /**
+     * Copy the totals out of the running {@link GCStatistics}; no pass over the events.
+     */
     public void calculateStatistics() {
-        if (events.isEmpty()) return;
+        if (statistics.getCount() == 0) return;
 
-        totalGcEvents = events.size();
-        totalGcTime = events.stream().mapToLong(GCEvent::getDuration).sum();
-        longestPause = events.stream().mapToLong(GCEvent::getDuration).max().orElse(0);
-        averagePause = events.stream().mapToLong(GCEvent::getDuration).average().orElse(0);
-        totalHeapFreed = events.stream().mapToLong(GCEvent::getHeapFreed).sum();
+        totalGcEvents = statistics.getCount();
+        totalGcTime = statistics.getTotalGcTimeMillis();
+        longestPause = statistics.getLongestPauseMillis();
+        averagePause = statistics.getAveragePauseMillis();
+        totalHeapFreed = statistics.getTotalHeapFreed();
 
         // Set start and end times from events
-        startTime = events.stream().mapToLong(GCEvent::getTimestamp).min().orElse(0);
-        endTime = events.stream().mapToLong(GCEvent::getTimestamp).max().orElse(0);
+        startTime = statistics.getStartTime();
+        endTime = statistics.getEndTime();
+        startEpochMillis = statistics.getStartEpochMillis();
+        endEpochMillis = statistics.getEndEpochMillis();
     }
 
     public long getTotalGcEvents() { return totalGcEvents; }
@@ -60,19 +127,89 @@ public class GCLog {
     public double getAveragePause() { return averagePause; }
     public long getTotalHeapFreed() { return totalHeapFreed; }
 
+    /**
+     * Pause durations of all events, filled as events are added
+     */
+    public PauseHistogram getPauseHistogram() { return pauseHistogram; }
+
+    /**
+     * Running counts and totals of all events, updated as events are added; no pause
+     * summaries, those come from {@link com.jvmprofiler.analyzer.GCLogAnalyzer}
+     */
+    public GCStatistics getStatistics() { return statistics; }
+
+    /**
+     * Lines the parser could not use, counted as the log is read
+     */
+    public ParseDiagnostics getParseDiagnostics() { return parseDiagnostics; }
+
     // Utility methods
     public void addEvent(GCEvent event) {
-        events.add(event);
+        eventStore.add(event);
+        pauseHistogram.recordMicros(event.getDurationMicros());
+        statistics.accept(eventStore, eventStore.size() - 1);
+    }
+
+    /**
+     * Adopt the running statistics and pause histogram of events that went straight into the
+     * event store instead of through {@link #addEvent}, e.g. when loading the sidecar cache.
+     */
+    public void restoreTotals(GCStatistics statistics, PauseHistogram histogram) {
+        this.statistics = statistics;
+        pauseHistogram.reset();
+        pauseHistogram.add(histogram);
+    }
+
+    /**
+     * Drop all but the latest {@code count} events from the store. The running statistics
+     * and pause histogram keep covering every event ever added, so a long-lived log
+     * (e.g. a followed file) only holds a bounded window of events.
+     */
+    public void trimTo(int count) {
+        int size = eventStore.size();
+        if (size <= count) return;
+
+        ColumnarEventStore latest = new ColumnarEventStore();
+        for (int i = size - count; i < size; i++) {
+            latest.add(eventStore, i);
+        }
+        eventStore.clear();
+        for (int i = 0; i < latest.size(); i++) {
+            eventStore.add(latest, i);
+        }
     }
 
     public List<GCEvent> getMajorGcEvents() {
-        return events.stream().filter(GCEvent::isMajorGc).toList();
+        List<GCEvent> result = new ArrayList<>();
+        for (int i = 0; i < eventStore.size(); i++) {
+            if (eventStore.isMajorGc(i)) result.add(eventStore.getEvent(i));
+        }
+        return result;
     }
 
     public List<GCEvent> getLongPauses(long thresholdMs) {
-        return events.stream()
-                .filter(event -> event.getDuration() > thresholdMs)
-                .toList();
+        List<GCEvent> result = new ArrayList<>();
+        for (int i = 0; i < eventStore.size(); i++) {
+            if (eventStore.getDuration(i) > thresholdMs) result.add(eventStore.getEvent(i));
+        }
+        return result;
+    }
+
+    /**
+     * Events with {@code fromTimestamp <= timestamp < toTimestamp}, located by binary search
+     */
+    public List<GCEvent> getEventsBetween(long fromTimestamp, long toTimestamp) {
+        List<GCEvent> result = new ArrayList<>();
+        eventStore.scan(fromTimestamp, toTimestamp, index -> result.add(eventStore.getEvent(index)));
+        return result;
+    }
+
+    /**
+     * Release the event storage; only needed for off-heap stores.
+     */
+    @Override
+    public void close() {
+        eventStore.close();
     }
 
     public double getGcTimePercentage() {
@@ -80,4 +217,4 @@ public class GCLog {
         long totalTime = endTime - startTime;
         return (double) totalGcTime / totalTime * 100;
     }
-}
\ No newline at end of file
+}
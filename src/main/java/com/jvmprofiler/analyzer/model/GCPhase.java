@@ -0,0 +1,44 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Top-level G1 pause phases as logged under {@code [gc,phases]} at info level.
+ */
+public enum GCPhase {
+    PRE_EVACUATE("Pre Evacuate Collection Set", EventField.PRE_EVACUATE_MICROS),
+    MERGE_HEAP_ROOTS("Merge Heap Roots", EventField.MERGE_HEAP_ROOTS_MICROS),
+    EVACUATE("Evacuate Collection Set", EventField.EVACUATE_MICROS),
+    POST_EVACUATE("Post Evacuate Collection Set", EventField.POST_EVACUATE_MICROS),
+    OTHER("Other", EventField.OTHER_PHASE_MICROS);
+
+    private static final Map<String, GCPhase> BY_LABEL = new HashMap<>();
+
+    static {
+        for (GCPhase phase : values()) {
+            BY_LABEL.put(phase.label, phase);
+        }
+    }
+
+    private final String label;
+    private final EventField field;
+
+    GCPhase(String label, EventField field) {
+        this.label = label;
+        this.field = field;
+    }
+
+    /** Name as it appears in the log */
+    public String getLabel() { return label; }
+
+    /** Column holding this phase's duration in microseconds */
+    public EventField getField() { return field; }
+
+    /**
+     * Phase for a log label, or null when the label is not a top-level phase
+     */
+    public static GCPhase fromLabel(String label) {
+        return BY_LABEL.get(label);
+    }
+}
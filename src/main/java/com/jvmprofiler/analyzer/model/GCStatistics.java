@@ -0,0 +1,425 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Single-pass accumulator for the per-log GC statistics.
+ *
+ * Collects pause totals, heap freed, time range, major/System.gc() counts, memory
+ * efficiency, per-phase pause time, GC thread CPU usage and the long/critical/starved/
+ * Sys-spike pause summaries while visiting each event once.
+ * Partial results (parallel chunks, streamed segments) are combined with {@link #merge}.
+ */
+public class GCStatistics {
+    private static final GCPhase[] PHASES = GCPhase.values();
+
+    // gc+cpu times have 10ms resolution; shorter pauses say nothing about parallelism
+    private static final long MIN_CPU_SAMPLE_MICROS = 10_000;
+    private static final long MINUTE_MILLIS = 60_000;
+    // Layout of getTotals(): the scalar totals, then the phase and tail phase times
+    private static final int TOTALS_SCALARS = 19;
+    private static final int TOTALS_LENGTH = TOTALS_SCALARS + 2 * PHASES.length;
+
+    private final long longPauseThresholdMs;
+    private final long criticalPauseThresholdMs;
+    private long tailPauseThresholdMicros;
+
+    private long count;
+    private long totalDurationMicros;
+    private long maxDurationMicros;
+    private long totalHeapFreed;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private long minEpochMillis = Long.MAX_VALUE; // Wall-clock range of events with a time decorator
+    private long maxEpochMillis;
+    private long majorGcCount;
+    private long systemGcCount;
+    private long totalConcurrentMicros; // Concurrent phases (ZGC), not part of the pauses
+
+    // Memory efficiency: heap freed as a fraction of heap before GC
+    private double efficiencySum;
+    private double maxEfficiency = Double.NEGATIVE_INFINITY;
+    private double minEfficiency = Double.POSITIVE_INFINITY;
+    private GCEvent mostEfficientGc;
+    private GCEvent leastEfficientGc;
+
+    // Pause phase time of all pauses and of the tail pauses (at or above the tail threshold)
+    private final long[] phaseMicros = new long[PHASES.length];
+    private final long[] tailPhaseMicros = new long[PHASES.length];
+    private long tailCount;
+    // Running tail only: duration bucket -> {phase micros..., count}
+    private TreeMap<Long, long[]> phasesByDuration;
+
+    // GC thread CPU time: (user + sys) / real is the parallelism actually achieved
+    private int defaultGcWorkers;
+    private double starvationFraction = 0.5;
+    private double sysSpikeFraction = 0.5;
+    private long cpuPauseCount;
+    private long totalCpuMicros;
+    private long totalSysMicros;
+    private long totalRealMicros;
+    private final TreeMap<Long, long[]> cpuByMinute = new TreeMap<>(); // minute -> {cpu, real}
+    private PauseSummary starvedPauses = new PauseSummary();
+    private PauseSummary sysSpikePauses = new PauseSummary();
+
+    private PauseSummary longPauses = new PauseSummary();
+    private PauseSummary criticalPauses = new PauseSummary();
+    private boolean totalsOnly;
+
+    /**
+     * Accumulator without pause thresholds; the long and critical pause summaries stay empty.
+     */
+    public GCStatistics() {
+        this(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public GCStatistics(long longPauseThresholdMs, long criticalPauseThresholdMs) {
+        this(longPauseThresholdMs, criticalPauseThresholdMs, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param tailPauseThresholdMicros pauses at or above this (e.g. the P99 value) also count
+     *                                 towards the tail phase breakdown
+     */
+    public GCStatistics(long longPauseThresholdMs, long criticalPauseThresholdMs, long tailPauseThresholdMicros) {
+        this.longPauseThresholdMs = longPauseThresholdMs;
+        this.criticalPauseThresholdMs = criticalPauseThresholdMs;
+        this.tailPauseThresholdMicros = tailPauseThresholdMicros;
+    }
+
+    /**
+     * Accumulator that keeps counts and totals only, for the running statistics of a
+     * {@link GCLog}, which see every event of a followed log however long it runs. It never
+     * retains or materialises events (no pause summaries, no most/least efficient GC) and
+     * keeps no per-minute parallelism timeline, so its memory stays constant.
+     */
+    public static GCStatistics totalsOnly() {
+        GCStatistics statistics = new GCStatistics();
+        statistics.totalsOnly = true;
+        return statistics;
+    }
+
+    /**
+     * Keep the phase time per pause duration bucket instead of summing the tail pauses, so
+     * the tail threshold can move as events arrive (e.g. the running P99 of a followed log);
+     * set before accepting events. Buckets are within 1/16 of the pause duration, so the
+     * breakdown is exact up to pauses in the same bucket as the threshold.
+     */
+    public void trackTailByDuration() {
+        phasesByDuration = new TreeMap<>();
+    }
+
+    public boolean isTailTrackedByDuration() { return phasesByDuration != null; }
+
+    /**
+     * Move the tail threshold of statistics that {@link #trackTailByDuration track the tail by duration}
+     */
+    public void setTailPauseThresholdMicros(long tailPauseThresholdMicros) {
+        if (phasesByDuration == null) {
+            throw new IllegalStateException("Tail threshold is fixed unless the tail is tracked by duration");
+        }
+        this.tailPauseThresholdMicros = tailPauseThresholdMicros;
+    }
+
+    /**
+     * Thresholds for the CPU checks; set before accepting events.
+     *
+     * @param defaultGcWorkers   ParallelGCThreads for pauses that do not log their worker count (0 = unknown)
+     * @param starvationFraction a pause is starved when its parallelism is below this fraction of its workers
+     * @param sysSpikeFraction   a pause has a Sys spike when Sys time exceeds this fraction of User time
+     */
+    public void setCpuThresholds(int defaultGcWorkers, double starvationFraction, double sysSpikeFraction) {
+        this.defaultGcWorkers = defaultGcWorkers;
+        this.starvationFraction = starvationFraction;
+        this.sysSpikeFraction = sysSpikeFraction;
+    }
+
+    /**
+     * Keep at most {@code limit} worst and {@code limit} sampled events per pause summary
+     * instead of every matching event (0 = keep all); set before accepting events.
+     */
+    public void setPauseRetention(int limit) {
+        starvedPauses = new PauseSummary(limit);
+        sysSpikePauses = new PauseSummary(limit);
+        longPauses = new PauseSummary(limit);
+        criticalPauses = new PauseSummary(limit);
+    }
+
+    /**
+     * Accept every event of {@code store} in one pass.
+     */
+    public GCStatistics acceptAll(EventStore store) {
+        for (int i = 0; i < store.size(); i++) {
+            accept(store, i);
+        }
+        return this;
+    }
+
+    public void accept(EventStore store, int index) {
+        long durationMicros = store.getDurationMicros(index);
+        long timestamp = store.getTimestamp(index);
+        long heapBefore = store.getHeapBefore(index);
+        long heapFreed = heapBefore - store.getHeapAfter(index);
+
+        count++;
+        totalDurationMicros += durationMicros;
+        maxDurationMicros = Math.max(maxDurationMicros, durationMicros);
+        totalHeapFreed += heapFreed;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        long epochMillis = store.get(EventField.EPOCH_MILLIS, index);
+        if (epochMillis > 0) {
+            minEpochMillis = Math.min(minEpochMillis, epochMillis);
+            maxEpochMillis = Math.max(maxEpochMillis, epochMillis);
+        }
+        if (store.isMajorGc(index)) majorGcCount++;
+        if (store.isSystemGc(index)) systemGcCount++;
+        totalConcurrentMicros += store.get(EventField.CONCURRENT_MARK_MICROS, index)
+                + store.get(EventField.CONCURRENT_RELOCATE_MICROS, index)
+                + store.get(EventField.CONCURRENT_OTHER_MICROS, index);
+
+        double efficiency = heapBefore > 0 ? (double) heapFreed / heapBefore : 0;
+        efficiencySum += efficiency;
+        // Events are only materialised when they become the new extreme
+        if (efficiency > maxEfficiency) {
+            maxEfficiency = efficiency;
+            if (!totalsOnly) mostEfficientGc = store.getEvent(index);
+        }
+        if (efficiency < minEfficiency) {
+            minEfficiency = efficiency;
+            if (!totalsOnly) leastEfficientGc = store.getEvent(index);
+        }
+
+        long[] bucket = phasesByDuration == null ? null
+                : phasesByDuration.computeIfAbsent(durationBucket(durationMicros), key -> new long[PHASES.length + 1]);
+        boolean tail = bucket == null && durationMicros >= tailPauseThresholdMicros;
+        if (tail) tailCount++;
+        if (bucket != null) bucket[PHASES.length]++;
+        for (GCPhase phase : PHASES) {
+            long micros = store.get(phase.getField(), index);
+            phaseMicros[phase.ordinal()] += micros;
+            if (tail) tailPhaseMicros[phase.ordinal()] += micros;
+            if (bucket != null) bucket[phase.ordinal()] += micros;
+        }
+
+        acceptCpu(store, index, timestamp);
+        if (totalsOnly) return;
+
+        long durationMs = durationMicros / 1000;
+        if (durationMs > longPauseThresholdMs) longPauses.add(store, index);
+        if (durationMs > criticalPauseThresholdMs) criticalPauses.add(store, index);
+    }
+
+    private void acceptCpu(EventStore store, int index, long timestamp) {
+        long realMicros = store.get(EventField.CPU_REAL_MICROS, index);
+        if (realMicros <= 0) return;
+        long userMicros = store.get(EventField.CPU_USER_MICROS, index);
+        long sysMicros = store.get(EventField.CPU_SYS_MICROS, index);
+        long cpuMicros = userMicros + sysMicros;
+
+        cpuPauseCount++;
+        totalCpuMicros += cpuMicros;
+        totalSysMicros += sysMicros;
+        totalRealMicros += realMicros;
+        if (totalsOnly) return;
+
+        long[] minute = cpuByMinute.computeIfAbsent(timestamp / MINUTE_MILLIS, key -> new long[2]);
+        minute[0] += cpuMicros;
+        minute[1] += realMicros;
+
+        if (realMicros < MIN_CPU_SAMPLE_MICROS) return;
+        long workers = store.get(EventField.GC_WORKERS, index);
+        if (workers <= 0) workers = defaultGcWorkers;
+        if (workers > 1 && cpuMicros < realMicros * workers * starvationFraction) {
+            starvedPauses.add(store, index);
+        }
+        if (sysMicros >= MIN_CPU_SAMPLE_MICROS && sysMicros > userMicros * sysSpikeFraction) {
+            sysSpikePauses.add(store, index);
+        }
+    }
+
+    /**
+     * Fold another partial result (computed with the same thresholds) into this one.
+     */
+    public void merge(GCStatistics other) {
+        count += other.count;
+        totalDurationMicros += other.totalDurationMicros;
+        maxDurationMicros = Math.max(maxDurationMicros, other.maxDurationMicros);
+        totalHeapFreed += other.totalHeapFreed;
+        minTimestamp = Math.min(minTimestamp, other.minTimestamp);
+        maxTimestamp = Math.max(maxTimestamp, other.maxTimestamp);
+        minEpochMillis = Math.min(minEpochMillis, other.minEpochMillis);
+        maxEpochMillis = Math.max(maxEpochMillis, other.maxEpochMillis);
+        majorGcCount += other.majorGcCount;
+        systemGcCount += other.systemGcCount;
+        totalConcurrentMicros += other.totalConcurrentMicros;
+
+        efficiencySum += other.efficiencySum;
+        if (other.maxEfficiency > maxEfficiency) {
+            maxEfficiency = other.maxEfficiency;
+            mostEfficientGc = other.mostEfficientGc;
+        }
+        if (other.minEfficiency < minEfficiency) {
+            minEfficiency = other.minEfficiency;
+            leastEfficientGc = other.leastEfficientGc;
+        }
+
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseMicros[i] += other.phaseMicros[i];
+            tailPhaseMicros[i] += other.tailPhaseMicros[i];
+        }
+        tailCount += other.tailCount;
+        if (phasesByDuration != null && other.phasesByDuration != null) {
+            for (Map.Entry<Long, long[]> entry : other.phasesByDuration.entrySet()) {
+                long[] bucket = phasesByDuration.computeIfAbsent(entry.getKey(), key -> new long[PHASES.length + 1]);
+                for (int i = 0; i < bucket.length; i++) bucket[i] += entry.getValue()[i];
+            }
+        }
+
+        cpuPauseCount += other.cpuPauseCount;
+        totalCpuMicros += other.totalCpuMicros;
+        totalSysMicros += other.totalSysMicros;
+        totalRealMicros += other.totalRealMicros;
+        for (Map.Entry<Long, long[]> entry : other.cpuByMinute.entrySet()) {
+            long[] minute = cpuByMinute.computeIfAbsent(entry.getKey(), key -> new long[2]);
+            minute[0] += entry.getValue()[0];
+            minute[1] += entry.getValue()[1];
+        }
+        starvedPauses.merge(other.starvedPauses);
+        sysSpikePauses.merge(other.sysSpikePauses);
+
+        longPauses.merge(other.longPauses);
+        criticalPauses.merge(other.criticalPauses);
+    }
+
+    /**
+     * Every count and total as longs (doubles as their raw bits), which is all the state of
+     * {@link #totalsOnly()} statistics, e.g. to persist them with the events.
+     */
+    public long[] getTotals() {
+        if (!totalsOnly) throw new IllegalStateException("Only totals-only statistics consist of their totals");
+        long[] totals = new long[TOTALS_LENGTH];
+        long[] scalars = {count, totalDurationMicros, maxDurationMicros, totalHeapFreed, minTimestamp, maxTimestamp,
+                minEpochMillis, maxEpochMillis, majorGcCount, systemGcCount, totalConcurrentMicros,
+                Double.doubleToRawLongBits(efficiencySum), Double.doubleToRawLongBits(maxEfficiency),
+                Double.doubleToRawLongBits(minEfficiency), tailCount, cpuPauseCount, totalCpuMicros,
+                totalSysMicros, totalRealMicros};
+        System.arraycopy(scalars, 0, totals, 0, TOTALS_SCALARS);
+        System.arraycopy(phaseMicros, 0, totals, TOTALS_SCALARS, PHASES.length);
+        System.arraycopy(tailPhaseMicros, 0, totals, TOTALS_SCALARS + PHASES.length, PHASES.length);
+        return totals;
+    }
+
+    /**
+     * Totals-only statistics from {@link #getTotals()}.
+     */
+    public static GCStatistics fromTotals(long[] totals) {
+        if (totals.length != TOTALS_LENGTH) {
+            throw new IllegalArgumentException("Expected " + TOTALS_LENGTH + " totals but got " + totals.length);
+        }
+        GCStatistics statistics = totalsOnly();
+        int i = 0;
+        statistics.count = totals[i++];
+        statistics.totalDurationMicros = totals[i++];
+        statistics.maxDurationMicros = totals[i++];
+        statistics.totalHeapFreed = totals[i++];
+        statistics.minTimestamp = totals[i++];
+        statistics.maxTimestamp = totals[i++];
+        statistics.minEpochMillis = totals[i++];
+        statistics.maxEpochMillis = totals[i++];
+        statistics.majorGcCount = totals[i++];
+        statistics.systemGcCount = totals[i++];
+        statistics.totalConcurrentMicros = totals[i++];
+        statistics.efficiencySum = Double.longBitsToDouble(totals[i++]);
+        statistics.maxEfficiency = Double.longBitsToDouble(totals[i++]);
+        statistics.minEfficiency = Double.longBitsToDouble(totals[i++]);
+        statistics.tailCount = totals[i++];
+        statistics.cpuPauseCount = totals[i++];
+        statistics.totalCpuMicros = totals[i++];
+        statistics.totalSysMicros = totals[i++];
+        statistics.totalRealMicros = totals[i];
+        System.arraycopy(totals, TOTALS_SCALARS, statistics.phaseMicros, 0, PHASES.length);
+        System.arraycopy(totals, TOTALS_SCALARS + PHASES.length, statistics.tailPhaseMicros, 0, PHASES.length);
+        return statistics;
+    }
+
+    public long getCount() { return count; }
+    public long getTotalGcTimeMillis() { return totalDurationMicros / 1000; }
+    public long getTotalDurationMicros() { return totalDurationMicros; }
+    public long getLongestPauseMillis() { return maxDurationMicros / 1000; }
+    public double getAveragePauseMillis() { return count == 0 ? 0 : totalDurationMicros / 1000.0 / count; }
+    public long getTotalHeapFreed() { return totalHeapFreed; }
+    public long getStartTime() { return count == 0 ? 0 : minTimestamp; }
+    public long getEndTime() { return count == 0 ? 0 : maxTimestamp; }
+    /** Wall-clock time of the first event in epoch milliseconds, 0 if the log has no time decorator */
+    public long getStartEpochMillis() { return maxEpochMillis == 0 ? 0 : minEpochMillis; }
+    public long getEndEpochMillis() { return maxEpochMillis; }
+    public long getMajorGcCount() { return majorGcCount; }
+    public long getMinorGcCount() { return count - majorGcCount; }
+    public long getSystemGcCount() { return systemGcCount; }
+    public long getTotalConcurrentMicros() { return totalConcurrentMicros; }
+
+    /** Average heap freed per GC, as a percentage of the heap before GC */
+    public double getAverageMemoryEfficiency() { return count == 0 ? 0 : efficiencySum / count * 100; }
+    /** Null for {@link #totalsOnly()} statistics */
+    public GCEvent getMostEfficientGc() { return mostEfficientGc; }
+    public GCEvent getLeastEfficientGc() { return leastEfficientGc; }
+
+    public long getPhaseMicros(GCPhase phase) { return phaseMicros[phase.ordinal()]; }
+    public long getTailPhaseMicros(GCPhase phase) {
+        return phasesByDuration == null ? tailPhaseMicros[phase.ordinal()] : sumTailBuckets(phase.ordinal());
+    }
+
+    /** Number of pauses at or above the tail threshold */
+    public long getTailCount() {
+        return phasesByDuration == null ? tailCount : sumTailBuckets(PHASES.length);
+    }
+
+    private long sumTailBuckets(int column) {
+        if (tailPauseThresholdMicros == Long.MAX_VALUE) return 0;
+        long sum = 0;
+        for (long[] bucket : phasesByDuration.tailMap(durationBucket(tailPauseThresholdMicros), true).values()) {
+            sum += bucket[column];
+        }
+        return sum;
+    }
+
+    // Duration rounded down to its 5 most significant bits
+    private static long durationBucket(long micros) {
+        if (micros < 32) return micros;
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - 4;
+        return (micros >>> shift) << shift;
+    }
+
+    /** Pauses with gc+cpu times */
+    public long getCpuPauseCount() { return cpuPauseCount; }
+    public long getTotalCpuMicros() { return totalCpuMicros; }
+    public long getTotalSysMicros() { return totalSysMicros; }
+
+    /** Overall (user + sys) / real over all pauses with CPU times */
+    public double getAverageParallelism() {
+        return totalRealMicros > 0 ? (double) totalCpuMicros / totalRealMicros : 0;
+    }
+
+    /**
+     * Parallelism per minute of log time, keyed by the minute's start in milliseconds;
+     * empty for {@link #totalsOnly()} statistics
+     */
+    public Map<Long, Double> getParallelismByMinute() {
+        Map<Long, Double> timeline = new TreeMap<>();
+        for (Map.Entry<Long, long[]> entry : cpuByMinute.entrySet()) {
+            long[] minute = entry.getValue();
+            if (minute[1] > 0) {
+                timeline.put(entry.getKey() * MINUTE_MILLIS, (double) minute[0] / minute[1]);
+            }
+        }
+        return timeline;
+    }
+
+    public PauseSummary getStarvedPauses() { return starvedPauses; }
+    public PauseSummary getSysSpikePauses() { return sysSpikePauses; }
+
+    public PauseSummary getLongPauses() { return longPauses; }
+    public PauseSummary getCriticalPauses() { return criticalPauses; }
+}
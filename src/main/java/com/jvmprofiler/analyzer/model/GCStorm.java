@@ -0,0 +1,37 @@
+package com.jvmprofiler.analyzer.model;
+
+/**
+ * A stretch of the log in which every sliding window of {@code windowMillis} held more GCs
+ * than the storm threshold. Overlapping windows above the threshold form one storm.
+ */
+public class GCStorm {
+    private final long windowMillis;
+    private long startTime;         // Timestamp of the first GC in the storm
+    private long endTime;           // Timestamp of the last GC in the storm
+    private int gcCount;
+    private long totalPauseMicros;
+    private int peakCount;          // Most GCs seen within a single window
+
+    public GCStorm(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void addGc(long timestamp, long durationMicros) {
+        if (gcCount == 0) startTime = timestamp;
+        endTime = timestamp;
+        gcCount++;
+        totalPauseMicros += durationMicros;
+    }
+
+    public void recordWindowCount(int count) {
+        peakCount = Math.max(peakCount, count);
+    }
+
+    public long getWindowMillis() { return windowMillis; }
+    public long getStartTime() { return startTime; }
+    public long getEndTime() { return endTime; }
+    public int getGcCount() { return gcCount; }
+    public long getTotalPauseMicros() { return totalPauseMicros; }
+    public double getTotalPauseMillis() { return totalPauseMicros / 1000.0; }
+    public int getPeakCount() { return peakCount; }
+}
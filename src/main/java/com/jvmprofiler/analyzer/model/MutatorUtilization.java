@@ -0,0 +1,39 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimum mutator utilization (MMU) curve: for each window size, the smallest fraction
+ * of any window of that size in which the application rather than the GC was running.
+ */
+public class MutatorUtilization {
+
+    public static class Point {
+        private final long windowMillis;
+        private final double utilization;       // 0.0 - 1.0
+        private final long worstWindowStartMillis;
+
+        public Point(long windowMillis, double utilization, long worstWindowStartMillis) {
+            this.windowMillis = windowMillis;
+            this.utilization = utilization;
+            this.worstWindowStartMillis = worstWindowStartMillis;
+        }
+
+        public long getWindowMillis() { return windowMillis; }
+        public double getUtilization() { return utilization; }
+        /** Log timestamp where the window with the lowest utilization starts */
+        public long getWorstWindowStartMillis() { return worstWindowStartMillis; }
+    }
+
+    private final List<Point> points = new ArrayList<>();
+
+    public void addPoint(Point point) {
+        points.add(point);
+    }
+
+    /** One point per window size, smallest window first; sizes longer than the log are left out */
+    public List<Point> getPoints() { return points; }
+
+    public boolean isEmpty() { return points.isEmpty(); }
+}
@@ -0,0 +1,44 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the small set of distinct GC type and cause names to one-byte codes.
+ * Code 0 means "no value"; once the byte range is used up, further distinct
+ * names share a single overflow code.
+ */
+class NameDictionary {
+    private static final int MAX_CODES = 255;
+    private static final String OVERFLOW_NAME = "Other";
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Byte> codes = new HashMap<>();
+
+    NameDictionary() {
+        names.add(null);
+    }
+
+    byte encode(String name) {
+        if (name == null) return 0;
+        Byte code = codes.get(name);
+        if (code != null) return code;
+
+        if (names.size() >= MAX_CODES - 1) {
+            // Dictionary is full: further distinct values collapse into one bucket
+            Byte overflow = codes.get(OVERFLOW_NAME);
+            if (overflow != null) return overflow;
+            name = OVERFLOW_NAME;
+        }
+        byte newCode = (byte) names.size();
+        names.add(name);
+        codes.put(name, newCode);
+        return newCode;
+    }
+
+    String decode(byte code) {
+        return names.get(code & 0xFF);
+    }
+}
@@ -0,0 +1,245 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link EventStore} that keeps events outside the Java heap.
+ *
+ * Each event is a fixed-width core record (one 8-byte slot per core {@link EventField}, followed
+ * by the type code, cause code and flag byte) in {@link MemorySegment}s allocated from a shared
+ * {@link Arena}. The other {@link EventField.Group}s get their own records, indexed the same way,
+ * whose segments are only allocated once an event sets one of the group's fields; until then they
+ * read as zero. Storage grows one segment at a time, so existing records are never copied.
+ * Nothing is freed until {@link #close()}, after which the store must not be used.
+ */
+public class OffHeapEventStore implements EventStore {
+    private static final EventField[] FIELDS = EventField.values();
+    private static final EventField.Group[] GROUPS = EventField.Group.values();
+    private static final int CORE = EventField.Group.CORE.ordinal();
+
+    // Core record layout
+    private static final long CODES_OFFSET = (long) EventField.Group.CORE.size() * Long.BYTES;
+    private static final long TYPE_OFFSET = CODES_OFFSET;
+    private static final long CAUSE_OFFSET = CODES_OFFSET + 1;
+    private static final long FLAGS_OFFSET = CODES_OFFSET + 2;
+    private static final long CORE_RECORD_SIZE = CODES_OFFSET + Long.BYTES;
+
+    // Record size per group
+    private static final long[] RECORD_SIZE = new long[GROUPS.length];
+
+    static {
+        for (EventField.Group group : GROUPS) {
+            RECORD_SIZE[group.ordinal()] = group.ordinal() == CORE
+                    ? CORE_RECORD_SIZE : (long) group.size() * Long.BYTES;
+        }
+    }
+
+    // 64K records per segment
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_RECORDS = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_RECORDS - 1;
+
+    private final Arena arena = Arena.ofShared();
+    private final List<MemorySegment> segments = new ArrayList<>();
+    // Per group, null until the group is first set; the core group uses segments
+    private final List<List<MemorySegment>> groupSegments = new ArrayList<>();
+    private final NameDictionary names = new NameDictionary();
+    private int size;
+    private int majorGcCount;
+    private int systemGcCount;
+
+    public OffHeapEventStore() {
+        for (EventField.Group group : GROUPS) {
+            groupSegments.add(group.ordinal() == CORE ? segments : null);
+        }
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public void add(GCEvent event) {
+        MemorySegment segment = segmentForAppend();
+        long base = offset(size);
+        for (EventField field : FIELDS) {
+            store(field, field.get(event));
+        }
+        appendCodes(segment, base, names.encode(event.getGcType()), names.encode(event.getGcCause()),
+                flagByte(event.isMajorGc(), event.isSystemGc()));
+    }
+
+    @Override
+    public void add(EventStore other, int index) {
+        MemorySegment segment = segmentForAppend();
+        long base = offset(size);
+        for (EventField field : FIELDS) {
+            store(field, other.get(field, index));
+        }
+        appendCodes(segment, base, names.encode(other.getGcType(index)), names.encode(other.getGcCause(index)),
+                flagByte(other.isMajorGc(index), other.isSystemGc(index)));
+    }
+
+    @Override
+    public void addColumns(int count, LongBuffer[] fields, ByteBuffer typeCodes, ByteBuffer causeCodes,
+                           ByteBuffer flags, String[] names) {
+        byte[] codes = new byte[names.length];
+        for (int i = 0; i < names.length; i++) {
+            codes[i] = this.names.encode(names[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            MemorySegment segment = segmentForAppend();
+            long base = offset(size);
+            for (EventField field : FIELDS) {
+                store(field, fields[field.ordinal()].get(i));
+            }
+            appendCodes(segment, base, codes[typeCodes.get(i) & 0xFF], codes[causeCodes.get(i) & 0xFF], flags.get(i));
+        }
+    }
+
+    private void appendCodes(MemorySegment segment, long base, byte typeCode, byte causeCode, byte flags) {
+        segment.set(ValueLayout.JAVA_BYTE, base + TYPE_OFFSET, typeCode);
+        segment.set(ValueLayout.JAVA_BYTE, base + CAUSE_OFFSET, causeCode);
+        segment.set(ValueLayout.JAVA_BYTE, base + FLAGS_OFFSET, flags);
+
+        if ((flags & MAJOR_GC_FLAG) != 0) majorGcCount++;
+        if ((flags & SYSTEM_GC_FLAG) != 0) systemGcCount++;
+        size++;
+    }
+
+    private static byte flagByte(boolean majorGc, boolean systemGc) {
+        return (byte) ((majorGc ? MAJOR_GC_FLAG : 0) | (systemGc ? SYSTEM_GC_FLAG : 0));
+    }
+
+    @Override
+    public void clear() {
+        // Segments are kept and overwritten by later appends
+        size = 0;
+        majorGcCount = 0;
+        systemGcCount = 0;
+    }
+
+    @Override
+    public GCEvent getEvent(int index) {
+        GCEvent event = new GCEvent();
+        for (EventField field : FIELDS) {
+            field.set(event, get(field, index));
+        }
+        event.setGcType(getGcType(index));
+        event.setGcCause(getGcCause(index));
+        event.setMajorGc(isMajorGc(index));
+        event.setSystemGc(isSystemGc(index));
+        return event;
+    }
+
+    @Override
+    public long get(EventField field, int index) {
+        MemorySegment core = segment(index);
+        int group = field.getGroup().ordinal();
+        long slot = (long) field.getSlot() * Long.BYTES;
+        if (group == CORE) {
+            return core.get(ValueLayout.JAVA_LONG, offset(index) + slot);
+        }
+        List<MemorySegment> side = groupSegments.get(group);
+        if (side == null) return 0;
+        return side.get(index >>> SEGMENT_SHIFT)
+                .get(ValueLayout.JAVA_LONG, (index & SEGMENT_MASK) * RECORD_SIZE[group] + slot);
+    }
+
+    @Override
+    public String getGcType(int index) {
+        return names.decode(segment(index).get(ValueLayout.JAVA_BYTE, offset(index) + TYPE_OFFSET));
+    }
+
+    @Override
+    public String getGcCause(int index) {
+        return names.decode(segment(index).get(ValueLayout.JAVA_BYTE, offset(index) + CAUSE_OFFSET));
+    }
+
+    @Override
+    public boolean isMajorGc(int index) {
+        return (flags(index) & MAJOR_GC_FLAG) != 0;
+    }
+
+    @Override
+    public boolean isSystemGc(int index) {
+        return (flags(index) & SYSTEM_GC_FLAG) != 0;
+    }
+
+    @Override
+    public int getMajorGcCount() { return majorGcCount; }
+
+    @Override
+    public int getSystemGcCount() { return systemGcCount; }
+
+    /**
+     * Bytes of native memory currently reserved by this store.
+     */
+    public long getReservedBytes() {
+        long bytes = 0;
+        for (EventField.Group group : GROUPS) {
+            List<MemorySegment> groupSegments = this.groupSegments.get(group.ordinal());
+            if (groupSegments != null) {
+                bytes += (long) groupSegments.size() * SEGMENT_RECORDS * RECORD_SIZE[group.ordinal()];
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        segments.clear();
+        for (int g = 0; g < GROUPS.length; g++) {
+            if (g != CORE) groupSegments.set(g, null);
+        }
+        size = 0;
+        arena.close();
+    }
+
+    private byte flags(int index) {
+        return segment(index).get(ValueLayout.JAVA_BYTE, offset(index) + FLAGS_OFFSET);
+    }
+
+    // Writes a field of the record being appended at size
+    private void store(EventField field, long value) {
+        int group = field.getGroup().ordinal();
+        List<MemorySegment> side = groupSegments.get(group);
+        if (side == null) {
+            if (value == 0) return;
+            side = new ArrayList<>();
+            groupSegments.set(group, side);
+        }
+        long recordSize = RECORD_SIZE[group];
+        int segmentIndex = size >>> SEGMENT_SHIFT;
+        while (side.size() <= segmentIndex) {
+            // Arena memory is zeroed, so records of earlier events read as zero
+            side.add(arena.allocate(SEGMENT_RECORDS * recordSize, Long.BYTES));
+        }
+        side.get(segmentIndex).set(ValueLayout.JAVA_LONG,
+                (size & SEGMENT_MASK) * recordSize + (long) field.getSlot() * Long.BYTES, value);
+    }
+
+    private MemorySegment segmentForAppend() {
+        int segmentIndex = size >>> SEGMENT_SHIFT;
+        if (segmentIndex == segments.size()) {
+            segments.add(arena.allocate(SEGMENT_RECORDS * CORE_RECORD_SIZE, Long.BYTES));
+        }
+        return segments.get(segmentIndex);
+    }
+
+    private MemorySegment segment(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Event index " + index + " out of bounds for size " + size);
+        }
+        return segments.get(index >>> SEGMENT_SHIFT);
+    }
+
+    private static long offset(int index) {
+        return (index & SEGMENT_MASK) * CORE_RECORD_SIZE;
+    }
+}
@@ -0,0 +1,122 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Log lines a parser could not use, counted by {@link Category}, with a bounded sample of them.
+ *
+ * The reader announces every non-empty line with {@link #nextLine(long)}; parsers call
+ * {@link #record} for the lines they reject. Both are a counter update, so a log in an
+ * unexpected format costs no exceptions or console output. Mergeable like {@link GCStatistics}.
+ */
+public class ParseDiagnostics {
+    public static final int SAMPLE_LIMIT = 20;
+    private static final int MAX_SAMPLE_LINE_LENGTH = 300;
+
+    public enum Category {
+        UNMATCHED("not in the collector's log format"),
+        PARTIAL("recognised, but a required value is missing"),
+        MALFORMED("broken decorators or brackets");
+
+        private final String description;
+
+        Category(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() { return description; }
+    }
+
+    /**
+     * One offending line; the offset counts from the start of the (decompressed) file
+     */
+    public static final class Sample {
+        private final Category category;
+        private final String source;
+        private final long offset;
+        private final String line;
+
+        public Sample(Category category, String source, long offset, String line) {
+            this.category = category;
+            this.source = source;
+            this.offset = offset;
+            this.line = line;
+        }
+
+        public Category getCategory() { return category; }
+        /** File the line came from within a rotated set, null for a single file */
+        public String getSource() { return source; }
+        public long getOffset() { return offset; }
+        public String getLine() { return line; }
+    }
+
+    private long totalLines;
+    private final long[] counts = new long[Category.values().length];
+    private final List<Sample> samples = new ArrayList<>();
+    private String source;
+    private long lineOffset;
+
+    /**
+     * Called by the reader before it hands the line starting at {@code offset} to the parser
+     */
+    public void nextLine(long offset) {
+        totalLines++;
+        lineOffset = offset;
+    }
+
+    /**
+     * Count the current line under {@code category}; the first {@link #SAMPLE_LIMIT} are kept
+     */
+    public void record(Category category, String line) {
+        counts[category.ordinal()]++;
+        if (samples.size() < SAMPLE_LIMIT) {
+            String text = line.length() > MAX_SAMPLE_LINE_LENGTH ? line.substring(0, MAX_SAMPLE_LINE_LENGTH) : line;
+            samples.add(new Sample(category, source, lineOffset, text));
+        }
+    }
+
+    /**
+     * Restore counters and samples saved earlier (e.g. in the sidecar cache)
+     */
+    public void restore(long totalLines, long[] counts, List<Sample> samples) {
+        this.totalLines = totalLines;
+        System.arraycopy(counts, 0, this.counts, 0, Math.min(counts.length, this.counts.length));
+        this.samples.clear();
+        this.samples.addAll(samples.subList(0, Math.min(samples.size(), SAMPLE_LIMIT)));
+    }
+
+    /**
+     * Add the next part of the same log (a chunk or a rotated segment); parts are merged in file order
+     */
+    public void merge(ParseDiagnostics other) {
+        totalLines += other.totalLines;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        for (Sample sample : other.samples) {
+            if (samples.size() == SAMPLE_LIMIT) break;
+            samples.add(sample);
+        }
+    }
+
+    /** File name stamped on later samples, for the segments of a rotated set */
+    public void setSource(String source) { this.source = source; }
+
+    public long getTotalLines() { return totalLines; }
+    public long getCount(Category category) { return counts[category.ordinal()]; }
+
+    public long getRejectedLines() {
+        long rejected = 0;
+        for (long count : counts) rejected += count;
+        return rejected;
+    }
+
+    /** Fraction of the non-empty lines the parser understood, 1 for an empty log */
+    public double getCoverage() {
+        return totalLines == 0 ? 1.0 : (double) (totalLines - getRejectedLines()) / totalLines;
+    }
+
+    public List<Sample> getSamples() { return Collections.unmodifiableList(samples); }
+}
@@ -1,9 +1,31 @@
 package com.jvmprofiler.analyzer.model;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class PauseAnalysis {
+    /** One entry of {@link #getIssues()}, see {@link #parseIssue(String)} */
+    public static final class Issue {
+        private final String code;
+        private final String description;
+        private final String severity;
+
+        public Issue(String code, String description, String severity) {
+            this.code = code;
+            this.description = description;
+            this.severity = severity;
+        }
+
+        /** Null when the issue string had no code */
+        public String getCode() { return code; }
+        public String getDescription() { return description; }
+        /** Null when the issue string had no severity */
+        public String getSeverity() { return severity; }
+    }
+
     private GCLog gcLog;
 
     // Basic statistics
@@ -17,14 +39,43 @@ public class PauseAnalysis {
     private double averageMemoryEfficiency;
 
     // Percentile data
+    private PauseHistogram pauseHistogram;
     private long p50;
     private long p90;
     private long p95;
     private long p99;
 
+    // Pause phase breakdown (microseconds per phase), overall and for pauses at or above P99
+    private Map<GCPhase, Long> phaseBreakdown = new EnumMap<>(GCPhase.class);
+    private Map<GCPhase, Long> tailPhaseBreakdown = new EnumMap<>(GCPhase.class);
+    private GCPhase dominantTailPhase;
+
+    // GC thread CPU usage from gc+cpu times
+    private int parallelGcThreads;
+    private double averageParallelism;
+    private Map<Long, Double> parallelismTimeline = new TreeMap<>();
+    private PauseSummary starvedPauses = new PauseSummary();
+    private PauseSummary sysSpikePauses = new PauseSummary();
+
+    // Concurrent collector work (ZGC): concurrent phase time and allocation stalls
+    private long totalConcurrentMicros;
+    private long allocationStallCount;
+    private long totalAllocationStallMicros;
+    private long longestAllocationStallMicros;
+    private List<AllocationStall> allocationStallsByThread = new ArrayList<>();
+
+    // Minimum mutator utilization per window size
+    private MutatorUtilization mutatorUtilization = new MutatorUtilization();
+
+    // GC storms for every configured window length
+    private List<GCStorm> gcStorms = new ArrayList<>();
+
+    // Regimes split at pause time or post-GC heap change points
+    private List<Regime> regimes = new ArrayList<>();
+
     // Issue detection
-    private List<GCEvent> longPauses = new ArrayList<>();
-    private List<GCEvent> criticalPauses = new ArrayList<>();
+    private PauseSummary longPauses = new PauseSummary();
+    private PauseSummary criticalPauses = new PauseSummary();
     private List<String> issues = new ArrayList<>(); // Format: "CODE:Description:SEVERITY"
 
     // Efficiency analysis
@@ -74,11 +125,75 @@ public class PauseAnalysis {
     public long getP99() { return p99; }
     public void setP99(long p99) { this.p99 = p99; }
 
-    public List<GCEvent> getLongPauses() { return longPauses; }
-    public void setLongPauses(List<GCEvent> longPauses) { this.longPauses = longPauses; }
+    public PauseHistogram getPauseHistogram() { return pauseHistogram; }
+    public void setPauseHistogram(PauseHistogram pauseHistogram) { this.pauseHistogram = pauseHistogram; }
+
+    /**
+     * Pause time at any percentile (e.g. 99.9, 99.99) with microsecond resolution
+     */
+    public double getPercentileMillis(double percentile) {
+        return pauseHistogram != null ? pauseHistogram.getValueAtPercentileMillis(percentile) : 0;
+    }
+
+    public Map<GCPhase, Long> getPhaseBreakdown() { return phaseBreakdown; }
+    public void setPhaseBreakdown(Map<GCPhase, Long> phaseBreakdown) { this.phaseBreakdown = phaseBreakdown; }
+
+    public Map<GCPhase, Long> getTailPhaseBreakdown() { return tailPhaseBreakdown; }
+    public void setTailPhaseBreakdown(Map<GCPhase, Long> tailPhaseBreakdown) { this.tailPhaseBreakdown = tailPhaseBreakdown; }
+
+    /** Phase with the most time in the P99 tail pauses, or null when the log has no phase lines */
+    public GCPhase getDominantTailPhase() { return dominantTailPhase; }
+    public void setDominantTailPhase(GCPhase dominantTailPhase) { this.dominantTailPhase = dominantTailPhase; }
+
+    public int getParallelGcThreads() { return parallelGcThreads; }
+    public void setParallelGcThreads(int parallelGcThreads) { this.parallelGcThreads = parallelGcThreads; }
+
+    /** (user + sys) / real over all pauses with CPU times; 0 when the log has none */
+    public double getAverageParallelism() { return averageParallelism; }
+    public void setAverageParallelism(double averageParallelism) { this.averageParallelism = averageParallelism; }
 
-    public List<GCEvent> getCriticalPauses() { return criticalPauses; }
-    public void setCriticalPauses(List<GCEvent> criticalPauses) { this.criticalPauses = criticalPauses; }
+    /** Parallelism per minute, keyed by the minute's start timestamp */
+    public Map<Long, Double> getParallelismTimeline() { return parallelismTimeline; }
+    public void setParallelismTimeline(Map<Long, Double> parallelismTimeline) { this.parallelismTimeline = parallelismTimeline; }
+
+    public PauseSummary getStarvedPauses() { return starvedPauses; }
+    public void setStarvedPauses(PauseSummary starvedPauses) { this.starvedPauses = starvedPauses; }
+
+    public PauseSummary getSysSpikePauses() { return sysSpikePauses; }
+    public void setSysSpikePauses(PauseSummary sysSpikePauses) { this.sysSpikePauses = sysSpikePauses; }
+
+    /** Time the collector spent in concurrent phases, alongside the application */
+    public long getTotalConcurrentMicros() { return totalConcurrentMicros; }
+    public void setTotalConcurrentMicros(long totalConcurrentMicros) { this.totalConcurrentMicros = totalConcurrentMicros; }
+
+    public long getAllocationStallCount() { return allocationStallCount; }
+    public void setAllocationStallCount(long allocationStallCount) { this.allocationStallCount = allocationStallCount; }
+
+    /** Time application threads were blocked in allocation stalls, summed over threads */
+    public long getTotalAllocationStallMicros() { return totalAllocationStallMicros; }
+    public void setTotalAllocationStallMicros(long totalAllocationStallMicros) { this.totalAllocationStallMicros = totalAllocationStallMicros; }
+
+    public long getLongestAllocationStallMicros() { return longestAllocationStallMicros; }
+    public void setLongestAllocationStallMicros(long longestAllocationStallMicros) { this.longestAllocationStallMicros = longestAllocationStallMicros; }
+
+    /** Stalls per thread, most stalled time first */
+    public List<AllocationStall> getAllocationStallsByThread() { return allocationStallsByThread; }
+    public void setAllocationStallsByThread(List<AllocationStall> allocationStallsByThread) { this.allocationStallsByThread = allocationStallsByThread; }
+
+    public MutatorUtilization getMutatorUtilization() { return mutatorUtilization; }
+    public void setMutatorUtilization(MutatorUtilization mutatorUtilization) { this.mutatorUtilization = mutatorUtilization; }
+
+    public List<GCStorm> getGcStorms() { return gcStorms; }
+    public void setGcStorms(List<GCStorm> gcStorms) { this.gcStorms = gcStorms; }
+
+    public List<Regime> getRegimes() { return regimes; }
+    public void setRegimes(List<Regime> regimes) { this.regimes = regimes; }
+
+    public PauseSummary getLongPauses() { return longPauses; }
+    public void setLongPauses(PauseSummary longPauses) { this.longPauses = longPauses; }
+
+    public PauseSummary getCriticalPauses() { return criticalPauses; }
+    public void setCriticalPauses(PauseSummary criticalPauses) { this.criticalPauses = criticalPauses; }
 
     public List<String> getIssues() { return issues; }
     public void setIssues(List<String> issues) { this.issues = issues; }
@@ -97,6 +212,20 @@ public class PauseAnalysis {
         issues.add(code + ":" + description + ":" + severity);
     }
 
+    /**
+     * Split an issue from {@link #getIssues()} into its parts. The description may itself
+     * contain colons, so the code ends at the first colon and the severity starts after the
+     * last one. A string without both separators is returned as a bare description.
+     */
+    public static Issue parseIssue(String issue) {
+        int first = issue.indexOf(':');
+        int last = issue.lastIndexOf(':');
+        if (first > 0 && last > first) {
+            return new Issue(issue.substring(0, first), issue.substring(first + 1, last), issue.substring(last + 1));
+        }
+        return new Issue(null, issue, null);
+    }
+
     public int getIssueCount() {
         return issues.size();
     }
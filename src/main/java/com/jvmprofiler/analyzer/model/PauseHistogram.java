@@ -0,0 +1,133 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory, mergeable high-dynamic-range histogram of pause durations in microseconds.
+ *
+ * Uses the HdrHistogram log-linear bucket layout: every power-of-two range is split into
+ * 1024 linear sub-buckets, so any recorded value is reported with a relative error below
+ * 0.1% (values under 2048 us are exact). The range covers 1 us up to about 50 days in
+ * roughly 270 KB, independent of how many pauses are recorded.
+ */
+public class PauseHistogram {
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 10;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF_COUNT * 2;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = 32;
+
+    /** Largest value that keeps its full precision; larger values are clamped */
+    public static final long MAX_TRACKABLE_MICROS = ((long) SUB_BUCKET_COUNT << (BUCKET_COUNT - 1)) - 1;
+
+    private final long[] counts = new long[(BUCKET_COUNT + 1) * SUB_BUCKET_HALF_COUNT];
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, Math.min(micros, MAX_TRACKABLE_MICROS));
+        counts[countsIndex(value)]++;
+        totalCount++;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * Add all counts of {@code other} to this histogram, e.g. when combining parallel chunks.
+     */
+    public void add(PauseHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        minValue = Math.min(minValue, other.minValue);
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    /**
+     * Index and count of every non-empty bucket as pairs, e.g. to persist the histogram
+     * without its empty buckets
+     */
+    public long[] getNonEmptyBuckets() {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count != 0) nonEmpty++;
+        }
+        long[] buckets = new long[2 * nonEmpty];
+        int next = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            buckets[next++] = i;
+            buckets[next++] = counts[i];
+        }
+        return buckets;
+    }
+
+    /**
+     * Histogram from {@link #getNonEmptyBuckets()} and the recorded minimum and maximum.
+     */
+    public static PauseHistogram fromNonEmptyBuckets(long[] buckets, long minMicros, long maxMicros) {
+        PauseHistogram histogram = new PauseHistogram();
+        for (int i = 0; i < buckets.length; i += 2) {
+            histogram.counts[(int) buckets[i]] += buckets[i + 1];
+            histogram.totalCount += buckets[i + 1];
+        }
+        if (histogram.totalCount > 0) {
+            histogram.minValue = minMicros;
+            histogram.maxValue = maxMicros;
+        }
+        return histogram;
+    }
+
+    public long getTotalCount() { return totalCount; }
+    public long getMinMicros() { return totalCount == 0 ? 0 : minValue; }
+    public long getMaxMicros() { return maxValue; }
+
+    /**
+     * Value at an arbitrary percentile (0-100], e.g. 99.99, in microseconds.
+     */
+    public long getValueAtPercentileMicros(double percentile) {
+        if (totalCount == 0) return 0;
+
+        double clamped = Math.max(0, Math.min(percentile, 100.0));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * totalCount));
+
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public double getValueAtPercentileMillis(double percentile) {
+        return getValueAtPercentileMicros(percentile) / 1000.0;
+    }
+
+    private static int countsIndex(long value) {
+        int bucketIndex = 64 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK) - (SUB_BUCKET_HALF_COUNT_MAGNITUDE + 1);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        long lowestValue = (long) subBucketIndex << bucketIndex;
+        return lowestValue + (1L << bucketIndex) - 1;
+    }
+}
@@ -0,0 +1,155 @@
+package com.jvmprofiler.analyzer.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * One category of notable pauses (long, critical, starved, ...).
+ *
+ * Count, total and maximum are always exact. Unbounded, every matching event is kept.
+ * Bounded to {@code limit}, only the {@code limit} worst pauses (a min-heap on duration)
+ * and a uniform reservoir sample of {@code limit} events are kept, so memory is O(limit)
+ * however many pauses match. Events are only materialised from the store when they enter
+ * one of the two.
+ */
+public class PauseSummary {
+    private static final Comparator<GCEvent> BY_DURATION = Comparator.comparingLong(GCEvent::getDurationMicros);
+    private static final Comparator<GCEvent> BY_TIMESTAMP = Comparator.comparingLong(GCEvent::getTimestamp);
+
+    private final int limit;            // 0 = unbounded
+    private long count;
+    private long totalMicros;
+    private long maxMicros;
+
+    private final List<GCEvent> all = new ArrayList<>();                          // Unbounded only
+    private final PriorityQueue<GCEvent> worst = new PriorityQueue<>(BY_DURATION); // Bounded only, min at head
+    private final List<GCEvent> sample = new ArrayList<>();                       // Bounded only
+    private final Random random = new Random(42); // Fixed seed keeps reports reproducible
+
+    public PauseSummary() {
+        this(0);
+    }
+
+    public PauseSummary(int limit) {
+        this.limit = Math.max(0, limit);
+    }
+
+    public void add(EventStore store, int index) {
+        long durationMicros = store.getDurationMicros(index);
+        count++;
+        totalMicros += durationMicros;
+        maxMicros = Math.max(maxMicros, durationMicros);
+
+        if (limit == 0) {
+            all.add(store.getEvent(index));
+            return;
+        }
+
+        GCEvent event = null;
+        if (worst.size() < limit || durationMicros > worst.peek().getDurationMicros()) {
+            event = store.getEvent(index);
+            if (worst.size() == limit) worst.poll();
+            worst.add(event);
+        }
+
+        // Reservoir sampling (algorithm R)
+        if (sample.size() < limit) {
+            sample.add(event != null ? event : store.getEvent(index));
+        } else {
+            long slot = (long) (random.nextDouble() * count);
+            if (slot < limit) {
+                sample.set((int) slot, event != null ? event : store.getEvent(index));
+            }
+        }
+    }
+
+    /**
+     * Fold in a summary of later events (e.g. the next parallel chunk) with the same limit.
+     * The merged sample draws from each side in proportion to its count.
+     */
+    public void merge(PauseSummary other) {
+        if (limit == 0) {
+            all.addAll(other.all);
+            all.sort(BY_TIMESTAMP);
+        } else {
+            for (GCEvent event : other.worst) {
+                if (worst.size() < limit) {
+                    worst.add(event);
+                } else if (event.getDurationMicros() > worst.peek().getDurationMicros()) {
+                    worst.poll();
+                    worst.add(event);
+                }
+            }
+            mergeSample(other);
+        }
+
+        count += other.count;
+        totalMicros += other.totalMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    private void mergeSample(PauseSummary other) {
+        List<GCEvent> mine = new ArrayList<>(sample);
+        List<GCEvent> theirs = new ArrayList<>(other.sample);
+        Collections.shuffle(mine, random);
+        Collections.shuffle(theirs, random);
+
+        long mineLeft = count;
+        long theirsLeft = other.count;
+        sample.clear();
+        while (sample.size() < limit && (!mine.isEmpty() || !theirs.isEmpty())) {
+            boolean takeMine = theirs.isEmpty()
+                    || (!mine.isEmpty() && random.nextDouble() * (mineLeft + theirsLeft) < mineLeft);
+            if (takeMine) {
+                sample.add(mine.remove(mine.size() - 1));
+                mineLeft--;
+            } else {
+                sample.add(theirs.remove(theirs.size() - 1));
+                theirsLeft--;
+            }
+        }
+    }
+
+    public boolean isBounded() { return limit > 0; }
+    public int getLimit() { return limit; }
+    public long getCount() { return count; }
+    public boolean isEmpty() { return count == 0; }
+    public long getTotalMicros() { return totalMicros; }
+    public long getMaxMicros() { return maxMicros; }
+
+    /** Longest pauses first; all events when unbounded, at most {@code limit} otherwise */
+    public List<GCEvent> getWorst() {
+        List<GCEvent> result = new ArrayList<>(limit == 0 ? all : worst);
+        result.sort(BY_DURATION.reversed());
+        return result;
+    }
+
+    /** Uniform sample in timestamp order; all events when unbounded */
+    public List<GCEvent> getSample() {
+        List<GCEvent> result = new ArrayList<>(limit == 0 ? all : sample);
+        result.sort(BY_TIMESTAMP);
+        return result;
+    }
+
+    /** Every retained event (worst and sampled, without duplicates) in timestamp order */
+    public List<GCEvent> getEvents() {
+        if (limit == 0) return all;
+
+        Set<GCEvent> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<GCEvent> result = new ArrayList<>();
+        for (GCEvent event : worst) {
+            if (seen.add(event)) result.add(event);
+        }
+        for (GCEvent event : sample) {
+            if (seen.add(event)) result.add(event);
+        }
+        result.sort(BY_TIMESTAMP);
+        return result;
+    }
+}
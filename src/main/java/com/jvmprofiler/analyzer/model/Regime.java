@@ -0,0 +1,55 @@
+package com.jvmprofiler.analyzer.model;
+
+/**
+ * A stretch of consecutive GC events with stable pause times and post-GC heap,
+ * as split off by the change-point detector.
+ */
+public class Regime {
+    private final int firstEvent;        // Index of the first event in the regime
+    private final int eventCount;
+    private long startTime;
+    private long endTime;
+    private long majorGcCount;
+    private long totalPauseMicros;
+    private long maxPauseMicros;
+    private long p99PauseMicros;
+    private double averageHeapAfter;
+
+    public Regime(int firstEvent, int eventCount) {
+        this.firstEvent = firstEvent;
+        this.eventCount = eventCount;
+    }
+
+    public int getFirstEvent() { return firstEvent; }
+    public int getEventCount() { return eventCount; }
+
+    public long getStartTime() { return startTime; }
+    public void setStartTime(long startTime) { this.startTime = startTime; }
+
+    public long getEndTime() { return endTime; }
+    public void setEndTime(long endTime) { this.endTime = endTime; }
+
+    public long getMajorGcCount() { return majorGcCount; }
+    public void setMajorGcCount(long majorGcCount) { this.majorGcCount = majorGcCount; }
+
+    public long getTotalPauseMicros() { return totalPauseMicros; }
+    public void setTotalPauseMicros(long totalPauseMicros) { this.totalPauseMicros = totalPauseMicros; }
+
+    public long getMaxPauseMicros() { return maxPauseMicros; }
+    public void setMaxPauseMicros(long maxPauseMicros) { this.maxPauseMicros = maxPauseMicros; }
+
+    public long getP99PauseMicros() { return p99PauseMicros; }
+    public void setP99PauseMicros(long p99PauseMicros) { this.p99PauseMicros = p99PauseMicros; }
+
+    public double getAverageHeapAfter() { return averageHeapAfter; }
+    public void setAverageHeapAfter(double averageHeapAfter) { this.averageHeapAfter = averageHeapAfter; }
+
+    public double getAveragePauseMillis() {
+        return eventCount == 0 ? 0 : totalPauseMicros / 1000.0 / eventCount;
+    }
+
+    /** Pause time as a percentage of the regime's wall-clock span */
+    public double getGcTimePercentage() {
+        return endTime > startTime ? totalPauseMicros / 1000.0 / (endTime - startTime) * 100 : 0;
+    }
+}
@@ -2,96 +2,199 @@ package com.jvmprofiler.analyzer.parsers;
 
 import com.jvmprofiler.analyzer.model.GCEvent;
 import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
+import com.jvmprofiler.analyzer.model.GCPhase;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
-
-public class G1GCParser {
-    private static final Pattern G1_PATTERN = Pattern.compile(
-            "\\[(?<timestamp>\\d+\\.\\d+)s\\]\\[info\\]\\[gc.*?\\]\\s+" +
-                    "(?<type>G1.*?)\\s+" +
-                    "\\((?<cause>.*?)\\)\\s+" +
-                    "(?<before>\\d+)(?:K|M)?->(?<after>\\d+)(?:K|M)?->(?<committed>\\d+)(?:K|M)?\\s+" +
-                    "(?<duration>\\d+\\.\\d+)s"
-    );
-
-    private static final Pattern MEMORY_PATTERN = Pattern.compile(
-            "\\[(?<youngBefore>\\d+)K->(?<youngAfter>\\d+)K\\((?<youngCommitted>\\d+)K\\)\\]\\s+" +
-                    "\\[(?<oldBefore>\\d+)K->(?<oldAfter>\\d+)K\\((?<oldCommitted>\\d+)K\\)\\]"
-    );
+
+public class G1GCParser implements GCLineParser {
+    private final GCLineScanner scanner = new GCLineScanner();
+    // JDK 9+ logs one collection over several GC(id) lines; the summary line comes last
+    private final GCEventAssembler assembler = new GCEventAssembler();
+    // Completed event waiting for the [gc,cpu] line that follows its summary
+    private GCEvent heldEvent;
+    private int heldGcId = -1;
 
     public void parse(List<String> lines, GCLog gcLog) {
         for (String line : lines) {
-            if (line.contains("[gc") && !line.contains("ergo")) {
-                parseG1Event(line, gcLog);
-            } else if (line.contains("CommandLineFlags")) {
-                parseJVMFlags(line, gcLog);
-            }
+            parseLine(line, gcLog);
+        }
+        finish(gcLog);
+    }
+
+    /**
+     * Parse a single log line, so callers can stream a file without holding it in memory
+     */
+    @Override
+    public void parseLine(String line, GCLog gcLog) {
+        if (line.contains("[gc") && !line.contains("ergo")) {
+            parseG1Event(line, gcLog);
+        } else if (line.contains("CommandLineFlags")) {
+            parseJVMFlags(line, gcLog);
+        } else if (!line.startsWith("[")) {
+            // Other tags are part of the log; a line without decorators is not
+            gcLog.getParseDiagnostics().record(Category.UNMATCHED, line);
         }
+        assembler.reportEviction(gcLog.getParseDiagnostics());
     }
 
+    @Override
+    public void finish(GCLog gcLog) {
+        emitHeldEvent(gcLog);
+    }
+
+    /**
+     * Parse a summary line such as
+     * {@code [12.345s][info][gc] GC(7) Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.456ms}
+     * or one of the detail lines that precede it for the same GC id
+     */
     private void parseG1Event(String line, GCLog gcLog) {
-        Matcher matcher = G1_PATTERN.matcher(line);
-        if (matcher.find()) {
-            try {
-                GCEvent event = new GCEvent();
+        GCLineScanner s = scanner.reset(line);
+        if (!s.parseHeader() || !s.hasTimestamp()) {
+            gcLog.getParseDiagnostics().record(Category.MALFORMED, line);
+            return;
+        }
+        if (!s.levelIsOrMissing("info")) {
+            return;
+        }
+        if (s.tagsAre("gc,phases")) {
+            parsePhase(s);
+            return;
+        }
+        if (s.tagsAre("gc,task")) {
+            parseWorkers(s, gcLog);
+            return;
+        }
+        if (s.tagsAre("gc,cpu")) {
+            parseCpu(s, gcLog);
+            return;
+        }
+        if (!s.tagsStartWith("gc")) {
+            return;
+        }
 
-                // Parse basic event info
-                double timestampSec = Double.parseDouble(matcher.group("timestamp"));
-                event.setTimestamp((long)(timestampSec * 1000));
-                event.setGcType(matcher.group("type").trim());
-                event.setGcCause(matcher.group("cause").trim());
+        // "<type> (<cause>)" runs up to the heap transition; Remark and Cleanup have no cause
+        int descriptionStart = s.position();
+        int transitionStart = s.findHeapTransition();
+        if (transitionStart < 0) return;
+
+        int causeStart = s.openingParenBefore(transitionStart);
+        boolean hasCause = causeStart > descriptionStart;
+        int typeEnd = hasCause ? causeStart : transitionStart;
+
+        s.skipWhitespace();
+        double durationMs = s.parseDurationMillis();
+        if (Double.isNaN(durationMs)) {
+            // Heap detail lines such as "Eden regions: 25->0(25)" have no duration; a summary must
+            if (s.tagsAre("gc")) gcLog.getParseDiagnostics().record(Category.PARTIAL, line);
+            return;
+        }
 
-                // Parse memory sizes (convert from K/M to bytes)
-                long before = parseMemorySize(matcher.group("before"));
-                long after = parseMemorySize(matcher.group("after"));
-                long committed = parseMemorySize(matcher.group("committed"));
+        // Picks up the phase durations collected for this GC id
+        GCEvent event = assembler.complete(s.getGcId());
 
-                event.setHeapBefore(before);
-                event.setHeapAfter(after);
-                event.setHeapCommitted(committed);
+        // Parse basic event info
+        event.setTimestamp(s.getTimestampMillis());
+        event.setEpochMillis(s.getEpochMillis());
+        event.setGcType(s.text(descriptionStart, typeEnd));
+        if (hasCause) {
+            event.setGcCause(s.text(causeStart + 1, line.lastIndexOf(')', transitionStart)));
+            event.setSystemGc(event.getGcCause().startsWith("System.gc"));
+        }
 
-                // Parse duration (convert seconds to milliseconds)
-                double durationSec = Double.parseDouble(matcher.group("duration"));
-                event.setDuration((long)(durationSec * 1000));
+        // Memory sizes are already converted from K/M/G to bytes
+        event.setHeapBefore(s.getHeapBefore());
+        event.setHeapAfter(s.getHeapAfter());
+        event.setHeapCommitted(s.getHeapCommitted());
 
-                // Determine if this is a major GC
-                event.setMajorGc(isMajorGc(event.getGcType()));
+        event.setDurationMicros(Math.round(durationMs * 1000));
 
-                // Try to parse young/old gen details
-                parseMemoryDetails(line, event);
+        // Determine if this is a major GC
+        event.setMajorGc(isMajorGc(event.getGcType()));
 
-                gcLog.addEvent(event);
+        // Try to parse young/old gen details
+        parseMemoryDetails(s, event);
 
-            } catch (Exception e) {
-                // Log parsing error but continue
-                System.err.println("Error parsing G1GC line: " + line);
-            }
+        emitHeldEvent(gcLog);
+        if (s.getGcId() >= 0) {
+            heldEvent = event;
+            heldGcId = s.getGcId();
+        } else {
+            gcLog.addEvent(event);
         }
     }
 
-    private void parseMemoryDetails(String line, GCEvent event) {
-        Matcher memMatcher = MEMORY_PATTERN.matcher(line);
-        if (memMatcher.find()) {
-            event.setYoungBefore(parseMemorySize(memMatcher.group("youngBefore")));
-            event.setYoungAfter(parseMemorySize(memMatcher.group("youngAfter")));
-            event.setOldBefore(parseMemorySize(memMatcher.group("oldBefore")));
-            event.setOldAfter(parseMemorySize(memMatcher.group("oldAfter")));
+    private void emitHeldEvent(GCLog gcLog) {
+        if (heldEvent != null) {
+            gcLog.addEvent(heldEvent);
+            heldEvent = null;
+            heldGcId = -1;
         }
     }
 
-    private long parseMemorySize(String sizeStr) {
-        // Handle K/M suffixes and convert to bytes
-        if (sizeStr.endsWith("K")) {
-            return Long.parseLong(sizeStr.replace("K", "")) * 1024;
-        } else if (sizeStr.endsWith("M")) {
-            return Long.parseLong(sizeStr.replace("M", "")) * 1024 * 1024;
-        } else {
-            // Assume bytes if no suffix
-            return Long.parseLong(sizeStr);
+    /**
+     * {@code [12.345s][info][gc,task] GC(7) Using 8 workers of 8 for evacuation}
+     */
+    private void parseWorkers(GCLineScanner s, GCLog gcLog) {
+        int gcId = s.getGcId();
+        if (gcId < 0 || !s.consume("Using ")) return;
+        long active = s.parseLong();
+        if (active <= 0 || !s.consume(" workers of ")) return;
+        long total = s.parseLong();
+        // Concurrent marking runs on the ConcGCThreads pool, not the pause workers
+        if (total <= 0 || s.consume(" for marking")) return;
+
+        assembler.pending(gcId).setGcWorkers(active);
+        if (total > gcLog.getParallelGcThreads()) {
+            gcLog.setParallelGcThreads((int) total);
         }
     }
 
+    /**
+     * {@code [12.345s][info][gc,cpu] GC(7) User=0.05s Sys=0.00s Real=0.01s}, logged right after the summary
+     */
+    private void parseCpu(GCLineScanner s, GCLog gcLog) {
+        if (heldEvent == null || s.getGcId() != heldGcId || !s.findCpuTimes()) return;
+
+        heldEvent.setCpuUserMicros(s.getCpuUserMicros());
+        heldEvent.setCpuSysMicros(s.getCpuSysMicros());
+        heldEvent.setCpuRealMicros(s.getCpuRealMicros());
+        emitHeldEvent(gcLog);
+    }
+
+    /**
+     * Top-level phase line such as {@code [12.345s][info][gc,phases] GC(7)   Evacuate Collection Set: 7.2ms}
+     */
+    private void parsePhase(GCLineScanner s) {
+        int gcId = s.getGcId();
+        int colon = s.indexOf(":");
+        if (gcId < 0 || colon < 0) return;
+
+        GCPhase phase = GCPhase.fromLabel(s.text(s.position(), colon));
+        if (phase == null) return;
+
+        s.position(colon + 1);
+        s.skipWhitespace();
+        double durationMs = s.parseDurationMillis();
+        if (Double.isNaN(durationMs)) return;
+
+        assembler.pending(gcId).setPhaseMicros(phase, Math.round(durationMs * 1000));
+    }
+
+    /**
+     * Optional {@code [youngBefore->youngAfter(committed)] [oldBefore->oldAfter(committed)]} details
+     */
+    private void parseMemoryDetails(GCLineScanner s, GCEvent event) {
+        if (!s.skipPast("[") || s.findHeapTransition() < 0) return;
+        long youngBefore = s.getHeapBefore();
+        long youngAfter = s.getHeapAfter();
+
+        if (!s.skipPast("[") || s.findHeapTransition() < 0) return;
+        event.setYoungBefore(youngBefore);
+        event.setYoungAfter(youngAfter);
+        event.setOldBefore(s.getHeapBefore());
+        event.setOldAfter(s.getHeapAfter());
+    }
+
     private boolean isMajorGc(String gcType) {
         return gcType.contains("Full") || gcType.contains("Mixed") || gcType.contains("Remark");
     }
@@ -105,4 +208,20 @@ public class G1GCParser {
             }
         }
     }
+
+    public static final class Provider implements GCParserProvider {
+        @Override
+        public String getGcType() { return "G1GC"; }
+
+        @Override
+        public boolean detects(String lowerCaseLine) {
+            return lowerCaseLine.contains("g1") || lowerCaseLine.contains("garbage-first");
+        }
+
+        @Override
+        public int getPriority() { return 100; }
+
+        @Override
+        public GCLineParser newParser() { return new G1GCParser(); }
+    }
 }
\ No newline at end of file
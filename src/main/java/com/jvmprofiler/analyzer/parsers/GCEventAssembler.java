@@ -0,0 +1,72 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.GCEvent;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Correlates the lines of one collection by their {@code GC(id)} decorator.
+ *
+ * Detail lines (phases, regions, cpu) fill a pending {@link GCEvent} for their id until the
+ * summary line completes it. At most {@code maxInFlight} ids are pending; the oldest is
+ * evicted beyond that, so truncated or interleaved logs cannot grow the map without bound.
+ * Parsers report an eviction with {@link #reportEviction} after the line that caused it, so it
+ * is counted in the chunk that contains that line.
+ */
+final class GCEventAssembler {
+    static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    private final Map<Integer, GCEvent> inFlight;
+    // Id evicted by the current line, -1 if none
+    private int evictedId = -1;
+
+    GCEventAssembler() {
+        this(DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    GCEventAssembler(int maxInFlight) {
+        this.inFlight = new LinkedHashMap<>(maxInFlight * 2) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, GCEvent> eldest) {
+                if (size() > maxInFlight) {
+                    evictedId = eldest.getKey();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The pending event for {@code gcId}, created on first use
+     */
+    GCEvent pending(int gcId) {
+        GCEvent event = inFlight.get(gcId);
+        if (event == null) {
+            event = new GCEvent();
+            inFlight.put(gcId, event);
+        }
+        return event;
+    }
+
+    /**
+     * Remove and return the pending event for {@code gcId}, or a fresh event when no
+     * detail lines were seen for it (or the id is unknown, {@code gcId < 0}).
+     */
+    GCEvent complete(int gcId) {
+        GCEvent event = gcId >= 0 ? inFlight.remove(gcId) : null;
+        return event != null ? event : new GCEvent();
+    }
+
+    /**
+     * Count an id dropped by the current line as a {@link Category#PARTIAL} collection
+     */
+    void reportEviction(ParseDiagnostics diagnostics) {
+        if (evictedId < 0) return;
+        diagnostics.record(Category.PARTIAL, "GC(" + evictedId + ") dropped before its summary line");
+        evictedId = -1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.GCLog;
+
+/**
+ * Streaming parser for one collector's log format. Instances keep per-file state
+ * (scanner, events being assembled) and must not be shared between threads.
+ */
+public interface GCLineParser {
+
+    void parseLine(String line, GCLog gcLog);
+
+    /**
+     * Called after the last line of the input; emits any event still being assembled.
+     */
+    default void finish(GCLog gcLog) {}
+}
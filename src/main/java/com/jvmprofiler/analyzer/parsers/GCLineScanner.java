@@ -0,0 +1,598 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Hand-written cursor over a single GC log line.
+ *
+ * Understands the unified logging header ({@code [decorators][level][tags] GC(n) ...})
+ * and parses decimals, memory sizes (K/M/G units) and durations in place,
+ * without regexes or intermediate substrings. One instance is reused for
+ * every line of a parse, so it is not thread-safe.
+ */
+public final class GCLineScanner {
+    private static final long KB = 1024L;
+    private static final long MB = 1024L * 1024;
+    private static final long GB = 1024L * 1024 * 1024;
+
+    private static final int INTERN_CACHE_SIZE = 256;
+
+    // Larger millisecond values are wall-clock times: ~3 years of uptime, early 1973 as a date
+    private static final double EPOCH_THRESHOLD_MILLIS = 100_000_000_000.0;
+
+    private String line;
+    private int pos;
+    private int length;
+
+    // Header state
+    private double uptimeMillis;
+    private boolean hasUptime;
+    private long epochMillis;
+    private int levelStart;
+    private int levelEnd;
+    private int tagsStart;
+    private int tagsEnd;
+    private int gcId;
+
+    // Result of the last heap transition parsed
+    private long heapBefore;
+    private long heapAfter;
+    private long heapCommitted;
+
+    // Result of the last duration found
+    private double lastDurationMillis;
+
+    // Result of the last CPU times found
+    private long cpuUserMicros;
+    private long cpuSysMicros;
+    private long cpuRealMicros;
+
+    // Small open-addressed cache so repeated GC types and causes share one String
+    private final String[] internCache = new String[INTERN_CACHE_SIZE];
+
+    public GCLineScanner reset(String line) {
+        this.line = line;
+        this.pos = 0;
+        this.length = line.length();
+        this.hasUptime = false;
+        this.uptimeMillis = 0;
+        this.epochMillis = 0;
+        this.levelStart = this.levelEnd = -1;
+        this.tagsStart = this.tagsEnd = -1;
+        this.gcId = -1;
+        return this;
+    }
+
+    // ---------------------------------------------------------------------
+    // Header
+    // ---------------------------------------------------------------------
+
+    /**
+     * Consume the leading {@code [..][..]} decorator groups, in any order: time and utctime
+     * ({@code 2024-01-01T10:00:00.123+0000}), uptime ({@code 12.345s}), uptimemillis and
+     * timemillis ({@code 12345ms}), uptimenanos and timenanos ({@code 12345678ns}), pid and
+     * tid ({@code 7280}), hostname, level and tags. Any of them may be missing.
+     * Returns false when the line does not start with a decorator.
+     */
+    public boolean parseHeader() {
+        if (pos >= length || line.charAt(pos) != '[') return false;
+
+        boolean gcTagsSeen = false;
+        while (pos < length && line.charAt(pos) == '[') {
+            int start = pos + 1;
+            int end = line.indexOf(']', start);
+            if (end < 0) return false;
+
+            if (parseTime(start, end) || isProcessOrThreadId(start, end)) {
+                // Nothing else to record
+            } else if (levelStart < 0 && isLevel(start, end)) {
+                levelStart = start;
+                levelEnd = end;
+            } else if (!gcTagsSeen) {
+                // The first gc tag set wins; otherwise the last unknown group, since the JVM
+                // prints tags after every other decorator (e.g. after the hostname)
+                tagsStart = start;
+                tagsEnd = trimEnd(start, end);
+                gcTagsSeen = isGcTags(tagsStart, tagsEnd);
+            }
+            pos = end + 1;
+        }
+
+        skipWhitespace();
+        parseGcId();
+        return true;
+    }
+
+    /**
+     * Uptime or wall-clock time decorator; the first of each kind is kept
+     */
+    private boolean parseTime(int start, int end) {
+        while (start < end && line.charAt(start) == ' ') start++;
+        end = trimEnd(start, end);
+
+        if (end - start >= 28 && line.charAt(start + 4) == '-') {
+            long epoch = dateStampAt(start);
+            if (epoch < 0) return false;
+            if (epochMillis == 0) epochMillis = epoch;
+            return true;
+        }
+
+        int numberEnd = scanDecimal(start, end);
+        if (numberEnd == start) return false;
+        double value = decimalValue(start, numberEnd);
+
+        double millis;
+        if (numberEnd == end - 1 && line.charAt(numberEnd) == 's') {
+            millis = value * 1000;
+        } else if (regionIs(numberEnd, end, "ms")) {
+            millis = value;
+        } else if (regionIs(numberEnd, end, "ns")) {
+            millis = value / 1_000_000.0;
+        } else {
+            return false;
+        }
+
+        if (millis >= EPOCH_THRESHOLD_MILLIS) {
+            if (epochMillis == 0) epochMillis = Math.round(millis);
+        } else if (!hasUptime) {
+            uptimeMillis = millis;
+            hasUptime = true;
+        }
+        return true;
+    }
+
+    /** pid and tid are printed as plain numbers, e.g. {@code [7280][7281]} */
+    private boolean isProcessOrThreadId(int start, int end) {
+        end = trimEnd(start, end);
+        if (start == end) return false;
+        for (int i = start; i < end; i++) {
+            if (!isDigit(line.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /** {@code gc} or a tag set starting with it, such as {@code gc,heap} */
+    private boolean isGcTags(int start, int end) {
+        return line.startsWith("gc", start) && (end - start == 2 || line.charAt(start + 2) == ',');
+    }
+
+    private boolean isLevel(int start, int end) {
+        int trimmed = trimEnd(start, end);
+        return regionIs(start, trimmed, "info") || regionIs(start, trimmed, "debug")
+                || regionIs(start, trimmed, "trace") || regionIs(start, trimmed, "warning")
+                || regionIs(start, trimmed, "error");
+    }
+
+    private void parseGcId() {
+        if (!line.startsWith("GC(", pos)) return;
+        int start = pos + 3;
+        int i = start;
+        int id = 0;
+        while (i < length && isDigit(line.charAt(i))) {
+            id = id * 10 + (line.charAt(i) - '0');
+            i++;
+        }
+        if (i > start && i < length && line.charAt(i) == ')') {
+            gcId = id;
+            pos = i + 1;
+            skipWhitespace();
+        }
+    }
+
+    public boolean hasUptime() { return hasUptime; }
+    public long getUptimeMillis() { return Math.round(uptimeMillis); }
+
+    /** Wall-clock time of the line in epoch milliseconds, 0 without a time decorator */
+    public long getEpochMillis() { return epochMillis; }
+
+    public boolean hasTimestamp() { return hasUptime || epochMillis > 0; }
+
+    /** Uptime in milliseconds, or the wall-clock time when the line has no uptime decorator */
+    public long getTimestampMillis() { return hasUptime ? Math.round(uptimeMillis) : epochMillis; }
+    public int getGcId() { return gcId; }
+
+    public boolean levelIs(String level) {
+        return levelStart >= 0 && regionIs(levelStart, trimEnd(levelStart, levelEnd), level);
+    }
+
+    /** True at {@code level}, and on every line of a log written without the level decorator */
+    public boolean levelIsOrMissing(String level) {
+        return levelStart < 0 || levelIs(level);
+    }
+
+    public boolean tagsStartWith(String prefix) {
+        return tagsStart >= 0 && line.startsWith(prefix, tagsStart);
+    }
+
+    public boolean tagsAre(String tags) {
+        return tagsStart >= 0 && regionIs(tagsStart, tagsEnd, tags);
+    }
+
+    // ---------------------------------------------------------------------
+    // Cursor
+    // ---------------------------------------------------------------------
+
+    public int position() { return pos; }
+    public void position(int newPos) { this.pos = newPos; }
+    public boolean atEnd() { return pos >= length; }
+    public String line() { return line; }
+
+    public void skipWhitespace() {
+        while (pos < length && line.charAt(pos) == ' ') pos++;
+    }
+
+    /** Consume {@code literal} if the cursor is on it. */
+    public boolean consume(String literal) {
+        if (line.startsWith(literal, pos)) {
+            pos += literal.length();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean consume(char c) {
+        if (pos < length && line.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    /** Move the cursor past the next occurrence of {@code literal}. */
+    public boolean skipPast(String literal) {
+        int idx = line.indexOf(literal, pos);
+        if (idx < 0) return false;
+        pos = idx + literal.length();
+        return true;
+    }
+
+    public int indexOf(String literal) {
+        return line.indexOf(literal, pos);
+    }
+
+    // ---------------------------------------------------------------------
+    // Numbers
+    // ---------------------------------------------------------------------
+
+    /** Parse an unsigned decimal at the cursor. Returns NaN when there is none. */
+    public double parseDecimal() {
+        int end = scanDecimal(pos, length);
+        if (end == pos) return Double.NaN;
+        double value = decimalValue(pos, end);
+        pos = end;
+        return value;
+    }
+
+    /** Parse an unsigned integer at the cursor. Returns -1 when there is none. */
+    public long parseLong() {
+        int start = pos;
+        long value = 0;
+        while (pos < length && isDigit(line.charAt(pos))) {
+            value = value * 10 + (line.charAt(pos) - '0');
+            pos++;
+        }
+        return pos == start ? -1 : value;
+    }
+
+    /**
+     * Parse a memory size such as {@code 1024K}, {@code 12M}, {@code 1.5G} or {@code 4096B}
+     * and return it in bytes. A number without a unit is taken as bytes.
+     * Returns -1 when there is no number at the cursor.
+     */
+    public long parseMemory() {
+        int start = pos;
+        double value = parseDecimal();
+        if (Double.isNaN(value)) {
+            pos = start;
+            return -1;
+        }
+        long multiplier = 1;
+        if (pos < length) {
+            switch (line.charAt(pos)) {
+                case 'K': multiplier = KB; pos++; break;
+                case 'M': multiplier = MB; pos++; break;
+                case 'G': multiplier = GB; pos++; break;
+                case 'B': pos++; break;
+                default: break;
+            }
+        }
+        return (long) (value * multiplier);
+    }
+
+    /**
+     * Parse a duration such as {@code 12.345ms}, {@code 0.012s} or {@code 0.0123 secs}
+     * and return it in milliseconds. Returns NaN when there is no duration at the cursor.
+     */
+    public double parseDurationMillis() {
+        int start = pos;
+        double value = parseDecimal();
+        if (Double.isNaN(value)) return Double.NaN;
+
+        skipWhitespace();
+        if (consume("ms")) return value;
+        if (consume("us")) return value / 1000.0;
+        if (consume("ns")) return value / 1_000_000.0;
+        if (consume("secs") || consume("s")) return value * 1000.0;
+
+        pos = start;
+        return Double.NaN;
+    }
+
+    /**
+     * Find the first whitespace-separated duration token at or after the cursor.
+     * Returns the index where the token starts (the cursor ends up after it), or -1.
+     */
+    public int findDuration() {
+        int i = pos;
+        while (i < length) {
+            if (isDigit(line.charAt(i)) && (i == 0 || line.charAt(i - 1) == ' ')) {
+                pos = i;
+                double value = parseDurationMillis();
+                if (!Double.isNaN(value) && (pos >= length || line.charAt(pos) == ' ' || line.charAt(pos) == ',')) {
+                    lastDurationMillis = value;
+                    return i;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /** Duration found by the last successful {@link #findDuration()}. */
+    public double getLastDurationMillis() { return lastDurationMillis; }
+
+    /**
+     * Parse a date stamp such as {@code 2024-01-01T10:00:00.123+0000} at {@code start}
+     * and return it as epoch milliseconds, or -1 when there is none
+     */
+    public long dateStampAt(int start) {
+        if (start + 28 > length || line.charAt(start + 10) != 'T' || line.charAt(start + 19) != '.') return -1;
+        int year = digitsAt(start, 4);
+        int month = digitsAt(start + 5, 2);
+        int day = digitsAt(start + 8, 2);
+        int hour = digitsAt(start + 11, 2);
+        int minute = digitsAt(start + 14, 2);
+        int second = digitsAt(start + 17, 2);
+        int millis = digitsAt(start + 20, 3);
+        int offsetHours = digitsAt(start + 24, 2);
+        int offsetMinutes = digitsAt(start + 26, 2);
+        char sign = line.charAt(start + 23);
+        if ((year | month | day | hour | minute | second | millis | offsetHours | offsetMinutes) < 0
+                || (sign != '+' && sign != '-') || month < 1 || month > 12 || day < 1 || day > 31
+                || hour > 23 || minute > 59 || second > 59 || offsetHours > 18 || offsetMinutes > 59) {
+            return -1;
+        }
+        int offsetSeconds = (sign == '-' ? -1 : 1) * (offsetHours * 3600 + offsetMinutes * 60);
+        try {
+            long epochSecond = LocalDateTime.of(year, month, day, hour, minute, second)
+                    .toEpochSecond(ZoneOffset.ofTotalSeconds(offsetSeconds));
+            return epochSecond * 1000 + millis;
+        } catch (DateTimeException e) {
+            return -1; // e.g. February 30th
+        }
+    }
+
+    private int digitsAt(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = line.charAt(i);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // ---------------------------------------------------------------------
+    // Heap transitions
+    // ---------------------------------------------------------------------
+
+    /**
+     * Locate the next {@code before->after(committed)} or {@code before->after->committed}
+     * transition at or after the cursor. A group right before the arrow, as in JDK 17's
+     * {@code before(committed)->after(committed)} or ZGC's {@code before(25%)->after(6%)},
+     * is skipped; ZGC's form has no committed size. Returns the index where the transition
+     * starts (the cursor ends up after it), or -1 when there is none.
+     */
+    public int findHeapTransition() {
+        int arrow = line.indexOf("->", pos);
+        while (arrow > 0) {
+            int sizeEnd = groupStartBefore(arrow);
+            int start = sizeEnd;
+            while (start > 0 && isSizeChar(line.charAt(start - 1))) start--;
+
+            if (start < sizeEnd && isDigit(line.charAt(start)) && parseTransitionAt(start)) {
+                return start;
+            }
+            arrow = line.indexOf("->", arrow + 2);
+        }
+        return -1;
+    }
+
+    /** Start of a {@code (25%)} or {@code (4928K)} group ending right before {@code end}, or {@code end} */
+    private int groupStartBefore(int end) {
+        if (end < 2 || line.charAt(end - 1) != ')') return end;
+        int open = line.lastIndexOf('(', end - 2);
+        if (open <= 0) return end;
+        for (int i = open + 1; i < end - 1; i++) {
+            if (!isSizeChar(line.charAt(i)) && line.charAt(i) != '%') return end;
+        }
+        return open;
+    }
+
+    /** Consume a {@code (25%)} group at the cursor, if there is one */
+    public boolean skipPercentGroup() {
+        if (pos >= length || line.charAt(pos) != '(') return false;
+        int close = line.indexOf(')', pos);
+        if (close < 0 || line.charAt(close - 1) != '%') return false;
+        pos = close + 1;
+        return true;
+    }
+
+    private boolean parseTransitionAt(int start) {
+        pos = start;
+        long before = parseMemory();
+        if (before < 0) return false;
+        if (pos < length && line.charAt(pos) == '(') {
+            int close = line.indexOf(')', pos);
+            if (close > 0 && line.startsWith("->", close + 1)) pos = close + 1;
+        }
+        if (!consume("->")) return false;
+        long after = parseMemory();
+        if (after < 0) return false;
+        if (skipPercentGroup()) {
+            heapBefore = before;
+            heapAfter = after;
+            heapCommitted = 0;
+            return true;
+        }
+
+        long committed = 0;
+        if (consume('(')) {
+            committed = parseMemory();
+            if (committed < 0 || !consume(')')) return false;
+        } else if (consume("->")) {
+            committed = parseMemory();
+            if (committed < 0) return false;
+        }
+
+        heapBefore = before;
+        heapAfter = after;
+        heapCommitted = committed;
+        return true;
+    }
+
+    public long getHeapBefore() { return heapBefore; }
+    public long getHeapAfter() { return heapAfter; }
+    public long getHeapCommitted() { return heapCommitted; }
+
+    // ---------------------------------------------------------------------
+    // CPU times
+    // ---------------------------------------------------------------------
+
+    /**
+     * Parse GC thread CPU times at or after the cursor, either the unified logging form
+     * {@code User=0.12s Sys=0.01s Real=0.02s} or the JDK 8 form
+     * {@code [Times: user=0.12 sys=0.01, real=0.02 secs]}. Returns false when absent.
+     */
+    public boolean findCpuTimes() {
+        boolean unified = line.indexOf("User=", pos) >= 0;
+        String user = unified ? "User=" : "user=";
+        String sys = unified ? "Sys=" : "sys=";
+        String real = unified ? "Real=" : "real=";
+
+        if (!skipPast(user)) return false;
+        double userSeconds = parseDecimal();
+        if (!skipPast(sys)) return false;
+        double sysSeconds = parseDecimal();
+        if (!skipPast(real)) return false;
+        double realSeconds = parseDecimal();
+        if (Double.isNaN(userSeconds) || Double.isNaN(sysSeconds) || Double.isNaN(realSeconds)) return false;
+
+        cpuUserMicros = Math.round(userSeconds * 1_000_000);
+        cpuSysMicros = Math.round(sysSeconds * 1_000_000);
+        cpuRealMicros = Math.round(realSeconds * 1_000_000);
+        return true;
+    }
+
+    public long getCpuUserMicros() { return cpuUserMicros; }
+    public long getCpuSysMicros() { return cpuSysMicros; }
+    public long getCpuRealMicros() { return cpuRealMicros; }
+
+    // ---------------------------------------------------------------------
+    // Text regions
+    // ---------------------------------------------------------------------
+
+    /**
+     * Return the trimmed text between {@code start} and {@code end}. Identical values
+     * come back as the same String, so the steady state does not allocate.
+     */
+    public String text(int start, int end) {
+        while (start < end && line.charAt(start) == ' ') start++;
+        end = trimEnd(start, end);
+        if (start >= end) return "";
+
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + line.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (INTERN_CACHE_SIZE - 1);
+        String cached = internCache[slot];
+        if (cached != null && regionIs(start, end, cached)) {
+            return cached;
+        }
+        String value = line.substring(start, end);
+        internCache[slot] = value;
+        return value;
+    }
+
+    /**
+     * Index of the '(' that opens the parenthesised group ending right before
+     * {@code end} (ignoring trailing spaces), or -1.
+     */
+    public int openingParenBefore(int end) {
+        int close = trimEnd(0, end) - 1;
+        if (close < 0 || line.charAt(close) != ')') return -1;
+        int depth = 0;
+        for (int i = close; i >= 0; i--) {
+            char c = line.charAt(i);
+            if (c == ')') depth++;
+            else if (c == '(' && --depth == 0) return i;
+        }
+        return -1;
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    private int scanDecimal(int start, int end) {
+        int i = start;
+        while (i < end && isDigit(line.charAt(i))) i++;
+        if (i == start) return start;
+        if (i + 1 < end && line.charAt(i) == '.' && isDigit(line.charAt(i + 1))) {
+            i++;
+            while (i < end && isDigit(line.charAt(i))) i++;
+        }
+        return i;
+    }
+
+    private double decimalValue(int start, int end) {
+        long integer = 0;
+        long fraction = 0;
+        long scale = 1;
+        boolean inFraction = false;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '.') {
+                inFraction = true;
+            } else if (inFraction) {
+                if (scale < 1_000_000_000_000L) {
+                    fraction = fraction * 10 + (c - '0');
+                    scale *= 10;
+                }
+            } else {
+                integer = integer * 10 + (c - '0');
+            }
+        }
+        return integer + (double) fraction / scale;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && line.charAt(end - 1) == ' ') end--;
+        return end;
+    }
+
+    private boolean regionIs(int start, int end, String value) {
+        return end - start == value.length() && line.regionMatches(start, value, 0, value.length());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSizeChar(char c) {
+        return isDigit(c) || c == '.' || c == 'K' || c == 'M' || c == 'G' || c == 'B';
+    }
+}
@@ -0,0 +1,37 @@
+package com.jvmprofiler.analyzer.parsers;
+
+/**
+ * Service provider for one collector's log format, discovered through {@link java.util.ServiceLoader}
+ * from {@code META-INF/services/com.jvmprofiler.analyzer.parsers.GCParserProvider}.
+ *
+ * Implementations must be stateless and have a public no-argument constructor; all per-file
+ * state lives in the {@link GCLineParser} returned by {@link #newParser()}. Several providers
+ * may report the same collector, e.g. for its JDK 8 and unified logging formats.
+ */
+public interface GCParserProvider {
+
+    /**
+     * Collector name stored as {@code GCLog.getGcType()}, e.g. {@code "G1GC"}
+     */
+    String getGcType();
+
+    /**
+     * Whether this line from the head of a log identifies the collector. Only a fixed-size
+     * sample of the file is offered, one lower-cased line at a time, so keep it to a few
+     * {@code contains} checks.
+     */
+    boolean detects(String lowerCaseLine);
+
+    /**
+     * Providers with a higher priority are asked first about each line, so specific
+     * markers win over loose ones that other formats could also contain
+     */
+    default int getPriority() {
+        return 0;
+    }
+
+    /**
+     * A new parser for one file (or chunk); never shared between threads
+     */
+    GCLineParser newParser();
+}
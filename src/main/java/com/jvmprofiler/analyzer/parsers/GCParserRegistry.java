@@ -0,0 +1,51 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+
+/**
+ * The {@link GCParserProvider}s on the class path, loaded once and ordered by priority.
+ */
+public final class GCParserRegistry {
+    private static final List<GCParserProvider> PROVIDERS = loadProviders();
+
+    private GCParserRegistry() {}
+
+    private static List<GCParserProvider> loadProviders() {
+        List<GCParserProvider> providers = new ArrayList<>();
+        ServiceLoader.load(GCParserProvider.class, GCParserProvider.class.getClassLoader()).forEach(providers::add);
+        providers.sort(Comparator.comparingInt(GCParserProvider::getPriority).reversed());
+        return List.copyOf(providers);
+    }
+
+    public static List<GCParserProvider> getProviders() {
+        return PROVIDERS;
+    }
+
+    /**
+     * Provider of the first line in {@code sample} that one recognises, or null
+     */
+    public static GCParserProvider detect(List<String> sample) {
+        for (String line : sample) {
+            String lowerCaseLine = line.toLowerCase(Locale.ROOT);
+            for (GCParserProvider provider : PROVIDERS) {
+                if (provider.detects(lowerCaseLine)) return provider;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Highest-priority provider for collector {@code gcType} (case-insensitive), or null.
+     * A collector can have several providers, one per log format.
+     */
+    public static GCParserProvider forGcType(String gcType) {
+        for (GCParserProvider provider : PROVIDERS) {
+            if (provider.getGcType().equalsIgnoreCase(gcType)) return provider;
+        }
+        return null;
+    }
+}
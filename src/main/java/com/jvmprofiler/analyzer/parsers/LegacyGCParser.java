@@ -0,0 +1,513 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.GCEvent;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
+import java.util.List;
+
+/**
+ * JDK 8 {@code -XX:+PrintGCDetails} logs of the Parallel, CMS, G1 and Serial collectors, e.g.
+ * {@code 2024-01-01T10:00:00.000+0000: 12.345: [GC (Allocation Failure) [PSYoungGen: 65536K->10720K(76288K)] 65536K->10728K(251392K), 0.0123 secs] [Times: user=0.03 sys=0.01, real=0.01 secs]}
+ *
+ * Every top-level {@code [...]} section is walked once, without regexes: nested sections
+ * name a generation ({@code PSYoungGen}, {@code ParNew}, {@code CMS}, ...), the first
+ * transition outside them is the whole heap and the duration after the last comma is the
+ * pause. G1 logs the heap and CPU times on the lines after the pause, so each event is held
+ * until its {@code [Times: ...]} section or the next event. Concurrent phases are added to
+ * the next pause. The decorators give the start of a pause; events are timestamped with its
+ * end (start + duration), as in unified logging, where a pause is logged once it is over.
+ */
+public class LegacyGCParser implements GCLineParser {
+    // Lines without sections that belong to the log: its preamble and the heap printouts
+    private static final String[] KNOWN_PLAIN_LINES = {"Memory: ", "Heap", "{Heap", "}", "Desired survivor"};
+
+    private final GCLineScanner scanner = new GCLineScanner();
+    // A line with several sections is still rejected only once
+    private boolean lineRejected;
+
+    // Pause waiting for its [Times: ...] and, for G1, [Eden: ...] sections
+    private GCEvent heldEvent;
+    private long lastTimestamp;
+    private long lastEpochMillis;
+
+    // Decorators of the section being parsed
+    private long sectionUptimeMillis;
+    private long sectionEpochMillis;
+
+    // Concurrent phases since the last pause
+    private long pendingConcurrentMarkMicros;
+    private long pendingConcurrentOtherMicros;
+
+    public void parse(List<String> lines, GCLog gcLog) {
+        for (String line : lines) {
+            parseLine(line, gcLog);
+        }
+        finish(gcLog);
+    }
+
+    /**
+     * Parse a single log line, so callers can stream a file without holding it in memory
+     */
+    @Override
+    public void parseLine(String line, GCLog gcLog) {
+        if (line.startsWith("CommandLine flags: ")) {
+            parseJVMFlags(line, gcLog);
+            return;
+        }
+        if (line.contains(" JRE (")) {
+            parseJVMVersion(line, gcLog);
+            return;
+        }
+
+        lineRejected = false;
+        if (line.indexOf('[') < 0) {
+            if (!isKnownPlainLine(line)) reject(Category.UNMATCHED, line, gcLog);
+            return;
+        }
+
+        GCLineScanner s = scanner.reset(line);
+        int from = 0;
+        int open;
+        // A line can hold several sections, e.g. a pause followed by its [Times: ...]
+        while ((open = line.indexOf('[', from)) >= 0) {
+            parseDecorators(s, from, open);
+            int close = matchingClose(line, open);
+            if (close < 0) {
+                // Truncated, or cut by a concurrent phase logged from another thread
+                if (isPauseLabel(line, open + 1)) reject(Category.MALFORMED, line, gcLog);
+                close = line.length();
+            }
+            parseSection(s, open, close, gcLog);
+            from = close + 1;
+        }
+    }
+
+    private static boolean isKnownPlainLine(String line) {
+        if (line.isEmpty() || Character.isWhitespace(line.charAt(0))) return true;
+        for (String prefix : KNOWN_PLAIN_LINES) {
+            if (line.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isPauseLabel(String line, int labelStart) {
+        return line.startsWith("GC", labelStart) || line.startsWith("Full GC", labelStart);
+    }
+
+    private void reject(Category category, String line, GCLog gcLog) {
+        if (!lineRejected) {
+            lineRejected = true;
+            gcLog.getParseDiagnostics().record(category, line);
+        }
+    }
+
+    @Override
+    public void finish(GCLog gcLog) {
+        emitHeldEvent(gcLog);
+    }
+
+    private void parseSection(GCLineScanner s, int open, int close, GCLog gcLog) {
+        String line = s.line();
+        int labelStart = open + 1;
+        if (line.startsWith("Times: ", labelStart)) {
+            parseTimes(s, open, gcLog);
+        } else if (line.startsWith("Eden: ", labelStart)) {
+            parseG1Heap(s, labelStart);
+        } else if (line.startsWith("Parallel Time: ", labelStart)) {
+            parseG1Workers(s, labelStart, close, gcLog);
+        } else if (line.startsWith("CMS-concurrent-", labelStart) || line.startsWith("GC concurrent-", labelStart)) {
+            parseConcurrentPhase(s, labelStart, close);
+        } else if (isPauseLabel(line, labelStart)) {
+            parsePause(s, labelStart, close, gcLog);
+        }
+    }
+
+    /**
+     * {@code [GC (Allocation Failure) 12.345: [ParNew: 69952K->8704K(78656K), 0.0123 secs] 69952K->12345K(253440K), 0.0124 secs]},
+     * {@code [Full GC (Ergonomics) [PSYoungGen: ...] [ParOldGen: ...] 10728K->10498K(251392K), [Metaspace: ...], 0.0500 secs]},
+     * {@code [GC pause (G1 Evacuation Pause) (young), 0.0123 secs]} or
+     * {@code [GC (CMS Initial Mark) [1 CMS-initial-mark: 0K(174784K)] 12345K(253440K), 0.0012 secs]}
+     */
+    private void parsePause(GCLineScanner s, int start, int close, GCLog gcLog) {
+        String line = s.line();
+
+        // Kind runs up to the first group, section, comma or number
+        int kindEnd = start;
+        while (kindEnd < close) {
+            char c = line.charAt(kindEnd);
+            if (c == '(' || c == '[' || c == ',') break;
+            if (c == ' ' && kindEnd + 1 < close && !Character.isLetter(line.charAt(kindEnd + 1))) break;
+            kindEnd++;
+        }
+        String kind = s.text(start, kindEnd);
+        boolean full = kind.equals("Full GC");
+        boolean g1Pause = kind.equals("GC pause");
+        if (!full && !g1Pause && !kind.equals("GC") && !kind.equals("GC--")
+                && !kind.equals("GC remark") && !kind.equals("GC cleanup")) {
+            return; // G1 detail lines such as [GC Worker Start (ms): ...]
+        }
+
+        // The cause, then G1's qualifiers: (young), (mixed), (initial-mark), (to-space exhausted)
+        String cause = null;
+        boolean mixed = false;
+        boolean initialMark = false;
+        int i = kindEnd;
+        while (true) {
+            while (i < close && line.charAt(i) == ' ') i++;
+            if (i >= close || line.charAt(i) != '(') break;
+            int groupEnd = matchingParen(line, i, close);
+            if (groupEnd < 0) break;
+            if (cause == null) {
+                cause = s.text(i + 1, groupEnd);
+            } else {
+                mixed |= line.startsWith("mixed", i + 1);
+                initialMark |= line.startsWith("initial-mark", i + 1);
+            }
+            i = groupEnd + 1;
+        }
+
+        GCEvent event = new GCEvent();
+        boolean oldCollected = false;
+        int firstArrow = -1;
+        int lastComma = -1;
+        for (int j = i; j < close; j++) {
+            char c = line.charAt(j);
+            if (c == '[') {
+                int sectionEnd = matchingClose(line, j);
+                if (sectionEnd < 0 || sectionEnd > close) break;
+                oldCollected |= parseGeneration(s, j + 1, sectionEnd, event);
+                j = sectionEnd;
+            } else if (c == ',') {
+                lastComma = j;
+            } else if (c == '>' && firstArrow < 0 && line.charAt(j - 1) == '-') {
+                firstArrow = j - 1;
+            }
+        }
+        if (lastComma < 0) {
+            reject(Category.PARTIAL, line, gcLog);
+            return;
+        }
+
+        s.position(lastComma + 1);
+        s.skipWhitespace();
+        double durationMs = s.parseDurationMillis();
+        if (Double.isNaN(durationMs)) {
+            reject(Category.PARTIAL, line, gcLog);
+            return;
+        }
+
+        if (firstArrow >= 0) {
+            s.position(firstArrow);
+            if (s.findHeapTransition() >= 0) {
+                event.setHeapBefore(s.getHeapBefore());
+                event.setHeapAfter(s.getHeapAfter());
+                event.setHeapCommitted(s.getHeapCommitted());
+            }
+        } else {
+            parseOccupancy(s, lastComma, event);
+        }
+
+        // Young collections only log the young generation; the old one holds the rest of the heap
+        if (event.getOldAfter() == 0 && event.getYoungBefore() > 0 && event.getHeapAfter() > 0) {
+            event.setOldBefore(Math.max(0, event.getHeapBefore() - event.getYoungBefore()));
+            event.setOldAfter(Math.max(0, event.getHeapAfter() - event.getYoungAfter()));
+        }
+
+        String type;
+        if (full) {
+            type = "Pause Full";
+        } else if (g1Pause) {
+            type = mixed ? "Pause Mixed" : initialMark ? "Pause Young (Concurrent Start)" : "Pause Young";
+        } else if (kind.equals("GC remark") || "CMS Final Remark".equals(cause)) {
+            type = "Pause Remark";
+        } else if (kind.equals("GC cleanup")) {
+            type = "Pause Cleanup";
+        } else if ("CMS Initial Mark".equals(cause)) {
+            type = "Pause Initial Mark";
+        } else {
+            type = "Pause Young";
+        }
+
+        // Without decorators, a section shares the time of the one before it
+        if (sectionUptimeMillis >= 0 || sectionEpochMillis > 0) {
+            lastTimestamp = sectionUptimeMillis >= 0 ? sectionUptimeMillis : sectionEpochMillis;
+            lastEpochMillis = sectionEpochMillis;
+        }
+        // Stamped with the end of the pause
+        long durationMillis = Math.round(durationMs);
+        event.setTimestamp(lastTimestamp + durationMillis);
+        event.setEpochMillis(lastEpochMillis > 0 ? lastEpochMillis + durationMillis : 0);
+        event.setGcType(type);
+        event.setGcCause(cause);
+        event.setSystemGc(cause != null && cause.startsWith("System.gc"));
+        // A young collection that fell back to collecting the old generation (promotion failure) is a full GC
+        event.setMajorGc(full || oldCollected || type.equals("Pause Mixed") || type.equals("Pause Remark"));
+        event.setDurationMicros(Math.round(durationMs * 1000));
+
+        event.setConcurrentMarkMicros(pendingConcurrentMarkMicros);
+        event.setConcurrentOtherMicros(pendingConcurrentOtherMicros);
+        pendingConcurrentMarkMicros = 0;
+        pendingConcurrentOtherMicros = 0;
+
+        emitHeldEvent(gcLog);
+        heldEvent = event;
+    }
+
+    /**
+     * {@code PSYoungGen: 65536K->10720K(76288K)} or {@code CMS: 174784K->100000K(174784K), 0.2 secs};
+     * returns whether the old generation was collected
+     */
+    private boolean parseGeneration(GCLineScanner s, int start, int end, GCEvent event) {
+        String line = s.line();
+        boolean young = line.startsWith("PSYoungGen", start) || line.startsWith("ParNew", start)
+                || line.startsWith("DefNew", start);
+        boolean old = line.startsWith("ParOldGen", start) || line.startsWith("PSOldGen", start)
+                || line.startsWith("Tenured", start)
+                || (line.startsWith("CMS", start) && !line.startsWith("CMS-", start));
+        if (!young && !old) return false;
+
+        int colon = line.indexOf(':', start);
+        if (colon < 0 || colon > end) return false;
+        s.position(colon + 1);
+        int transition = s.findHeapTransition();
+        if (transition < 0 || transition > end) return false;
+
+        if (young) {
+            event.setYoungBefore(s.getHeapBefore());
+            event.setYoungAfter(s.getHeapAfter());
+            return false;
+        }
+        event.setOldBefore(s.getHeapBefore());
+        event.setOldAfter(s.getHeapAfter());
+        return true;
+    }
+
+    /**
+     * Heap occupancy without a transition, as in CMS's {@code 12345K(253440K), 0.0012 secs}
+     */
+    private void parseOccupancy(GCLineScanner s, int comma, GCEvent event) {
+        String line = s.line();
+        int start = comma;
+        while (start > 0 && line.charAt(start - 1) != ' ' && line.charAt(start - 1) != ']') start--;
+        s.position(start);
+        long used = s.parseMemory();
+        if (used < 0 || !s.consume('(')) return;
+        long committed = s.parseMemory();
+        if (committed < 0 || !s.consume(')')) return;
+        event.setHeapBefore(used);
+        event.setHeapAfter(used);
+        event.setHeapCommitted(committed);
+    }
+
+    /**
+     * G1's {@code [Eden: 24.0M(24.0M)->0.0B(20.0M) Survivors: 0.0B->3072.0K Heap: 24.0M(256.0M)->5000.0K(256.0M)]}
+     */
+    private void parseG1Heap(GCLineScanner s, int start) {
+        if (heldEvent == null) return;
+
+        s.position(start);
+        if (s.findHeapTransition() < 0) return;
+        long youngBefore = s.getHeapBefore();
+        long youngAfter = s.getHeapAfter();
+        if (s.skipPast("Survivors:") && s.findHeapTransition() >= 0) {
+            youngBefore += s.getHeapBefore();
+            youngAfter += s.getHeapAfter();
+        }
+        if (!s.skipPast("Heap:") || s.findHeapTransition() < 0) return;
+
+        heldEvent.setHeapBefore(s.getHeapBefore());
+        heldEvent.setHeapAfter(s.getHeapAfter());
+        heldEvent.setHeapCommitted(s.getHeapCommitted());
+        heldEvent.setYoungBefore(youngBefore);
+        heldEvent.setYoungAfter(youngAfter);
+        heldEvent.setOldBefore(Math.max(0, s.getHeapBefore() - youngBefore));
+        heldEvent.setOldAfter(Math.max(0, s.getHeapAfter() - youngAfter));
+    }
+
+    /**
+     * G1's {@code [Parallel Time: 10.5 ms, GC Workers: 8]}
+     */
+    private void parseG1Workers(GCLineScanner s, int start, int close, GCLog gcLog) {
+        if (heldEvent == null) return;
+        s.position(start);
+        if (!s.skipPast("GC Workers: ") || s.position() > close) return;
+        long workers = s.parseLong();
+        if (workers <= 0) return;
+        heldEvent.setGcWorkers(workers);
+        if (workers > gcLog.getParallelGcThreads()) {
+            gcLog.setParallelGcThreads((int) workers);
+        }
+    }
+
+    /**
+     * {@code [CMS-concurrent-mark: 0.010/0.010 secs]} (CPU/wall time) or
+     * {@code [GC concurrent-mark-end, 0.0500 secs]}; the start markers carry no duration
+     */
+    private void parseConcurrentPhase(GCLineScanner s, int start, int close) {
+        String line = s.line();
+        boolean cms = line.startsWith("CMS-", start);
+        int phaseStart = line.indexOf("concurrent-", start) + "concurrent-".length();
+
+        s.position(phaseStart);
+        if (cms) {
+            int slash = s.indexOf("/");
+            if (slash < 0 || slash > close) return;
+            s.position(slash + 1);
+        } else {
+            int end = s.indexOf("-end, ");
+            if (end < 0 || end > close) return;
+            s.position(end + "-end, ".length());
+        }
+        double durationMs = s.parseDurationMillis();
+        if (Double.isNaN(durationMs)) return;
+
+        long micros = Math.round(durationMs * 1000);
+        if (line.startsWith("mark:", phaseStart) || line.startsWith("mark-end", phaseStart)) {
+            pendingConcurrentMarkMicros += micros;
+        } else {
+            pendingConcurrentOtherMicros += micros;
+        }
+    }
+
+    /**
+     * {@code [Times: user=0.03 sys=0.01, real=0.01 secs]}, which completes the held pause
+     */
+    private void parseTimes(GCLineScanner s, int open, GCLog gcLog) {
+        if (heldEvent == null) return;
+        s.position(open);
+        if (s.findCpuTimes()) {
+            heldEvent.setCpuUserMicros(s.getCpuUserMicros());
+            heldEvent.setCpuSysMicros(s.getCpuSysMicros());
+            heldEvent.setCpuRealMicros(s.getCpuRealMicros());
+        }
+        emitHeldEvent(gcLog);
+    }
+
+    private void emitHeldEvent(GCLog gcLog) {
+        if (heldEvent != null) {
+            gcLog.addEvent(heldEvent);
+            heldEvent = null;
+        }
+    }
+
+    /**
+     * Decorators before a section, {@code 2024-01-01T10:00:00.000+0000: 12.345: } or either
+     * part alone. Sets {@link #sectionUptimeMillis} (-1 without an uptime) and
+     * {@link #sectionEpochMillis} (0 without a date stamp).
+     */
+    private void parseDecorators(GCLineScanner s, int from, int end) {
+        String line = s.line();
+        int i = from;
+        while (i < end && line.charAt(i) == ' ') i++;
+
+        sectionUptimeMillis = -1;
+        sectionEpochMillis = 0;
+        if (i + 4 < end && line.charAt(i + 4) == '-') {
+            sectionEpochMillis = Math.max(0, s.dateStampAt(i));
+            int dateEnd = line.indexOf(": ", i);
+            if (dateEnd < 0 || dateEnd > end) return;
+            i = dateEnd + 2;
+        }
+
+        s.position(i);
+        double uptimeSeconds = s.parseDecimal();
+        if (!Double.isNaN(uptimeSeconds) && s.consume(':')) {
+            sectionUptimeMillis = Math.round(uptimeSeconds * 1000);
+        }
+    }
+
+    /**
+     * Index of the ']' closing the section opened at {@code open}, or -1
+     */
+    private static int matchingClose(String line, int open) {
+        int depth = 0;
+        for (int i = open; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '[') depth++;
+            else if (c == ']' && --depth == 0) return i;
+        }
+        return -1;
+    }
+
+    private static int matchingParen(String line, int open, int end) {
+        int depth = 0;
+        for (int i = open; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '(') depth++;
+            else if (c == ')' && --depth == 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * {@code CommandLine flags: -XX:InitialHeapSize=268435456 -XX:ParallelGCThreads=8 -XX:+PrintGCDetails ...}
+     */
+    private void parseJVMFlags(String line, GCLog gcLog) {
+        int flag = line.indexOf("-XX:ParallelGCThreads=");
+        if (flag < 0) return;
+        GCLineScanner s = scanner.reset(line);
+        s.position(flag + "-XX:ParallelGCThreads=".length());
+        long threads = s.parseLong();
+        if (threads > gcLog.getParallelGcThreads()) {
+            gcLog.setParallelGcThreads((int) threads);
+        }
+    }
+
+    /**
+     * {@code OpenJDK 64-Bit Server VM (25.292-b10) for linux-amd64 JRE (1.8.0_292-b10), built on ...}
+     */
+    private void parseJVMVersion(String line, GCLog gcLog) {
+        int start = line.indexOf(" JRE (") + " JRE (".length();
+        int end = line.indexOf(')', start);
+        if (end > start && gcLog.getJvmVersion() == null) {
+            gcLog.setJvmVersion(line.substring(start, end));
+        }
+    }
+
+    /**
+     * JDK 8 logs of one collector. Asked before the unified logging providers, since JDK 8
+     * sections such as {@code [GC pause (G1 Evacuation Pause)} also match their markers.
+     */
+    private abstract static class Provider implements GCParserProvider {
+        private final String gcType;
+        private final String section;
+        private final String flag;
+
+        Provider(String gcType, String section, String flag) {
+            this.gcType = gcType;
+            this.section = section;
+            this.flag = flag;
+        }
+
+        @Override
+        public String getGcType() { return gcType; }
+
+        @Override
+        public boolean detects(String lowerCaseLine) {
+            return lowerCaseLine.contains(section)
+                    || (lowerCaseLine.startsWith("commandline flags: ") && lowerCaseLine.contains(flag));
+        }
+
+        @Override
+        public int getPriority() { return 110; }
+
+        @Override
+        public GCLineParser newParser() { return new LegacyGCParser(); }
+    }
+
+    public static final class ParallelProvider extends Provider {
+        public ParallelProvider() { super("ParallelGC", "[psyounggen: ", "-xx:+useparallelgc"); }
+    }
+
+    public static final class CMSProvider extends Provider {
+        public CMSProvider() { super("CMS", "[parnew", "-xx:+useconcmarksweepgc"); }
+    }
+
+    public static final class G1Provider extends Provider {
+        public G1Provider() { super("G1GC", "[gc pause (", "-xx:+useg1gc"); }
+    }
+
+    public static final class SerialProvider extends Provider {
+        public SerialProvider() { super("SerialGC", "[defnew: ", "-xx:+useserialgc"); }
+    }
+}
@@ -2,63 +2,89 @@ package com.jvmprofiler.analyzer.parsers;
 
 import com.jvmprofiler.analyzer.model.GCEvent;
 import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
-public class ParallelGCParser {
-    private static final Pattern PARALLEL_PATTERN = Pattern.compile(
-            "\\[(?<timestamp>\\d+\\.\\d+)s\\]\\s+" +
-                    "\\[(?<type>.*?GC)\\]\\s+" +
-                    "(?<before>\\d+)K->(?<after>\\d+)K\\((?<committed>\\d+)K\\),\\s+" +
-                    "(?<duration>\\d+\\.\\d+) secs"
-    );
+public class ParallelGCParser implements GCLineParser {
+    private final GCLineScanner scanner = new GCLineScanner();
 
     public void parse(List<String> lines, GCLog gcLog) {
         for (String line : lines) {
-            if ((line.contains("GC") || line.contains("Full GC")) && line.contains("secs")) {
-                parseParallelEvent(line, gcLog);
-            } else if (line.contains("CommandLineFlags")) {
-                parseJVMFlags(line, gcLog);
-            }
+            parseLine(line, gcLog);
+        }
+        finish(gcLog);
+    }
+
+    /**
+     * Parse a single log line, so callers can stream a file without holding it in memory
+     */
+    @Override
+    public void parseLine(String line, GCLog gcLog) {
+        if ((line.contains("GC") || line.contains("Full GC")) && line.contains("secs")) {
+            parseParallelEvent(line, gcLog);
+        } else if (line.contains("CommandLineFlags")) {
+            parseJVMFlags(line, gcLog);
+        } else if (!line.startsWith("[")) {
+            gcLog.getParseDiagnostics().record(Category.UNMATCHED, line);
         }
     }
 
+    /**
+     * Parse a line such as {@code [12.345s] [Full GC] 524288K->131072K(1048576K), 0.2345 secs}
+     * optionally followed by {@code [Times: user=0.41 sys=0.02, real=0.23 secs]}
+     */
     private void parseParallelEvent(String line, GCLog gcLog) {
-        Matcher matcher = PARALLEL_PATTERN.matcher(line);
-        if (matcher.find()) {
-            try {
-                GCEvent event = new GCEvent();
+        GCLineScanner s = scanner.reset(line);
+        if (!s.parseHeader() || !s.hasTimestamp() || !s.consume('[')) {
+            gcLog.getParseDiagnostics().record(Category.MALFORMED, line);
+            return;
+        }
 
-                double timestampSec = Double.parseDouble(matcher.group("timestamp"));
-                event.setTimestamp((long)(timestampSec * 1000));
+        int typeStart = s.position();
+        int typeEnd = s.indexOf("]");
+        if (typeEnd < 0 || !line.startsWith("GC", typeEnd - 2)) {
+            gcLog.getParseDiagnostics().record(Category.PARTIAL, line);
+            return;
+        }
+        s.position(typeEnd + 1);
 
-                String gcType = matcher.group("type").trim();
-                event.setGcType(gcType);
-                event.setGcCause("Allocation Failure");
+        if (s.findHeapTransition() < 0 || !s.consume(',')) {
+            gcLog.getParseDiagnostics().record(Category.PARTIAL, line);
+            return;
+        }
+        s.skipWhitespace();
+        double durationMs = s.parseDurationMillis();
+        if (Double.isNaN(durationMs)) {
+            gcLog.getParseDiagnostics().record(Category.PARTIAL, line);
+            return;
+        }
 
-                // Parse memory (Parallel GC uses KB)
-                long before = Long.parseLong(matcher.group("before")) * 1024;
-                long after = Long.parseLong(matcher.group("after")) * 1024;
-                long committed = Long.parseLong(matcher.group("committed")) * 1024;
+        GCEvent event = new GCEvent();
+        event.setTimestamp(s.getTimestampMillis());
+        event.setEpochMillis(s.getEpochMillis());
 
-                event.setHeapBefore(before);
-                event.setHeapAfter(after);
-                event.setHeapCommitted(committed);
+        String gcType = s.text(typeStart, typeEnd);
+        event.setGcType(gcType);
+        event.setGcCause("Allocation Failure");
 
-                // Parse duration (convert seconds to milliseconds)
-                double durationSec = Double.parseDouble(matcher.group("duration"));
-                event.setDuration((long)(durationSec * 1000));
+        // Memory sizes are already converted from K to bytes
+        event.setHeapBefore(s.getHeapBefore());
+        event.setHeapAfter(s.getHeapAfter());
+        event.setHeapCommitted(s.getHeapCommitted());
 
-                // Determine if major GC
-                event.setMajorGc(gcType.contains("Full"));
+        event.setDurationMicros(Math.round(durationMs * 1000));
 
-                gcLog.addEvent(event);
+        // Determine if major GC
+        event.setMajorGc(gcType.contains("Full"));
 
-            } catch (Exception e) {
-                System.err.println("Error parsing ParallelGC line: " + line);
-            }
+        // Optional trailing [Times: user=.. sys=.., real=.. secs]
+        if (s.findCpuTimes()) {
+            event.setCpuUserMicros(s.getCpuUserMicros());
+            event.setCpuSysMicros(s.getCpuSysMicros());
+            event.setCpuRealMicros(s.getCpuRealMicros());
         }
+
+        gcLog.addEvent(event);
     }
 
     private void parseJVMFlags(String line, GCLog gcLog) {
@@ -69,4 +95,18 @@ public class ParallelGCParser {
             }
         }
     }
+
+    public static final class Provider implements GCParserProvider {
+        @Override
+        public String getGcType() { return "ParallelGC"; }
+
+        // "ps" (PSYoungGen, PSOldGen) is loose, so this provider is asked last
+        @Override
+        public boolean detects(String lowerCaseLine) {
+            return lowerCaseLine.contains("parallelgc") || lowerCaseLine.contains("ps");
+        }
+
+        @Override
+        public GCLineParser newParser() { return new ParallelGCParser(); }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.GCEvent;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
+import java.util.List;
+
+/**
+ * Serial collector (JDK 9+ unified logging). The summary line has the same shape as G1's;
+ * young and old occupancy come from the {@code DefNew:} and {@code Tenured:} heap lines that
+ * precede it for the same GC id.
+ */
+public class SerialGCParser implements GCLineParser {
+    private final GCLineScanner scanner = new GCLineScanner();
+    private final GCEventAssembler assembler = new GCEventAssembler();
+    // Completed event waiting for the [gc,cpu] line that follows its summary
+    private GCEvent heldEvent;
+    private int heldGcId = -1;
+
+    public void parse(List<String> lines, GCLog gcLog) {
+        for (String line : lines) {
+            parseLine(line, gcLog);
+        }
+        finish(gcLog);
+    }
+
+    /**
+     * Parse a single log line, so callers can stream a file without holding it in memory
+     */
+    @Override
+    public void parseLine(String line, GCLog gcLog) {
+        if (line.contains("[gc")) {
+            parseSerialEvent(line, gcLog);
+        } else if (line.contains("CommandLineFlags")) {
+            parseJVMFlags(line, gcLog);
+        } else if (!line.startsWith("[")) {
+            gcLog.getParseDiagnostics().record(Category.UNMATCHED, line);
+        }
+        assembler.reportEviction(gcLog.getParseDiagnostics());
+    }
+
+    @Override
+    public void finish(GCLog gcLog) {
+        emitHeldEvent(gcLog);
+    }
+
+    private void parseSerialEvent(String line, GCLog gcLog) {
+        GCLineScanner s = scanner.reset(line);
+        if (!s.parseHeader() || !s.hasTimestamp()) {
+            gcLog.getParseDiagnostics().record(Category.MALFORMED, line);
+            return;
+        }
+        if (!s.levelIsOrMissing("info")) {
+            return;
+        }
+        if (s.tagsAre("gc,heap")) {
+            parseGeneration(s);
+        } else if (s.tagsAre("gc,cpu")) {
+            parseCpu(s, gcLog);
+        } else if (s.tagsAre("gc")) {
+            parseSummary(s, gcLog);
+        }
+    }
+
+    /**
+     * {@code [2.345s][info][gc] GC(4) Pause Young (Allocation Failure) 14M->3M(59M) 4.567ms}
+     */
+    private void parseSummary(GCLineScanner s, GCLog gcLog) {
+        int descriptionStart = s.position();
+        int transitionStart = s.findHeapTransition();
+        if (transitionStart < 0) return;
+
+        s.skipWhitespace();
+        double durationMs = s.parseDurationMillis();
+        if (Double.isNaN(durationMs)) {
+            gcLog.getParseDiagnostics().record(Category.PARTIAL, s.line());
+            return;
+        }
+
+        GCEvent event = assembler.complete(s.getGcId());
+        event.setTimestamp(s.getTimestampMillis());
+        event.setEpochMillis(s.getEpochMillis());
+
+        int causeStart = s.openingParenBefore(transitionStart);
+        boolean hasCause = causeStart > descriptionStart;
+        event.setGcType(s.text(descriptionStart, hasCause ? causeStart : transitionStart));
+        if (hasCause) {
+            event.setGcCause(s.text(causeStart + 1, s.line().lastIndexOf(')', transitionStart)));
+            event.setSystemGc(event.getGcCause().startsWith("System.gc"));
+        }
+
+        event.setHeapBefore(s.getHeapBefore());
+        event.setHeapAfter(s.getHeapAfter());
+        event.setHeapCommitted(s.getHeapCommitted());
+        event.setDurationMicros(Math.round(durationMs * 1000));
+        event.setMajorGc(event.getGcType().contains("Full"));
+
+        emitHeldEvent(gcLog);
+        if (s.getGcId() >= 0) {
+            heldEvent = event;
+            heldGcId = s.getGcId();
+        } else {
+            gcLog.addEvent(event);
+        }
+    }
+
+    /**
+     * {@code [2.345s][info][gc,heap] GC(4) DefNew: 4416K(4928K)->512K(4928K) Eden: ...} (JDK 17) or
+     * {@code [2.345s][info][gc,heap] GC(4) Tenured: 0K->1786K(10944K)} (JDK 11)
+     */
+    private void parseGeneration(GCLineScanner s) {
+        int gcId = s.getGcId();
+        if (gcId < 0) return;
+
+        boolean young = s.consume("DefNew:");
+        if (!young && !s.consume("Tenured:")) return;
+        if (s.findHeapTransition() < 0) return;
+
+        GCEvent event = assembler.pending(gcId);
+        if (young) {
+            event.setYoungBefore(s.getHeapBefore());
+            event.setYoungAfter(s.getHeapAfter());
+        } else {
+            event.setOldBefore(s.getHeapBefore());
+            event.setOldAfter(s.getHeapAfter());
+        }
+    }
+
+    /**
+     * {@code [2.345s][info][gc,cpu] GC(4) User=0.01s Sys=0.00s Real=0.01s}, logged right after the summary
+     */
+    private void parseCpu(GCLineScanner s, GCLog gcLog) {
+        if (heldEvent == null || s.getGcId() != heldGcId || !s.findCpuTimes()) return;
+
+        heldEvent.setCpuUserMicros(s.getCpuUserMicros());
+        heldEvent.setCpuSysMicros(s.getCpuSysMicros());
+        heldEvent.setCpuRealMicros(s.getCpuRealMicros());
+        emitHeldEvent(gcLog);
+    }
+
+    private void emitHeldEvent(GCLog gcLog) {
+        if (heldEvent != null) {
+            gcLog.addEvent(heldEvent);
+            heldEvent = null;
+            heldGcId = -1;
+        }
+    }
+
+    private void parseJVMFlags(String line, GCLog gcLog) {
+        if (line.contains("java version")) {
+            int start = line.indexOf("java version");
+            if (start != -1) {
+                gcLog.setJvmVersion(line.substring(start));
+            }
+        }
+    }
+
+    public static final class Provider implements GCParserProvider {
+        @Override
+        public String getGcType() { return "SerialGC"; }
+
+        @Override
+        public boolean detects(String lowerCaseLine) {
+            return lowerCaseLine.contains("using serial") || lowerCaseLine.contains("useserialgc")
+                    || lowerCaseLine.contains("defnew");
+        }
+
+        @Override
+        public int getPriority() { return 70; }
+
+        @Override
+        public GCLineParser newParser() { return new SerialGCParser(); }
+    }
+}
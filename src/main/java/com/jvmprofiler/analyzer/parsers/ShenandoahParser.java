@@ -0,0 +1,209 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.GCEvent;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
+import java.util.List;
+
+/**
+ * Shenandoah (JDK 12+ unified logging).
+ *
+ * Shenandoah logs no summary line per cycle, so one event is assembled from the
+ * {@code [gc] GC(id)} lines of a cycle: its pauses (Init/Final Mark, Init/Final Update Refs)
+ * add up to the event's duration, concurrent marking, evacuation and the other concurrent
+ * phases are kept separately, and the heap transitions of the cleanup phases give the heap
+ * before and after. A cycle is complete after its final cleanup, after a degenerated or full
+ * GC, or when the next GC id starts. Degenerated and full GCs are stop-the-world
+ * collections and keep their own type.
+ */
+public class ShenandoahParser implements GCLineParser {
+    private static final String CYCLE_TYPE = "Concurrent Cycle";
+    private static final String DEGENERATED_TYPE = "Pause Degenerated GC";
+    private static final String FULL_TYPE = "Pause Full";
+
+    private final GCLineScanner scanner = new GCLineScanner();
+
+    // Cycle being assembled
+    private GCEvent current;
+    private int currentGcId = -1;
+    private boolean updateRefsDone;
+    private String cancelCause;
+
+    // Heuristics trigger logged just before the cycle it starts
+    private String pendingTrigger;
+
+    public void parse(List<String> lines, GCLog gcLog) {
+        for (String line : lines) {
+            parseLine(line, gcLog);
+        }
+        finish(gcLog);
+    }
+
+    /**
+     * Parse a single log line, so callers can stream a file without holding it in memory
+     */
+    @Override
+    public void parseLine(String line, GCLog gcLog) {
+        if (line.contains("[gc")) {
+            parseShenandoahEvent(line, gcLog);
+        } else if (line.contains("CommandLineFlags")) {
+            parseJVMFlags(line, gcLog);
+        } else if (!line.startsWith("[")) {
+            gcLog.getParseDiagnostics().record(Category.UNMATCHED, line);
+        }
+    }
+
+    @Override
+    public void finish(GCLog gcLog) {
+        emitCurrent(gcLog);
+    }
+
+    private void parseShenandoahEvent(String line, GCLog gcLog) {
+        GCLineScanner s = scanner.reset(line);
+        if (!s.parseHeader() || !s.hasTimestamp()) {
+            gcLog.getParseDiagnostics().record(Category.MALFORMED, line);
+            return;
+        }
+        if (!s.levelIsOrMissing("info")) {
+            return;
+        }
+        if (s.tagsAre("gc,ergo") && s.consume("Trigger: ")) {
+            pendingTrigger = triggerCause(s);
+            return;
+        }
+        if (!s.tagsAre("gc") || s.getGcId() < 0) {
+            return;
+        }
+
+        if (s.getGcId() != currentGcId || current == null) {
+            emitCurrent(gcLog);
+            startCycle(s.getGcId());
+        }
+        current.setTimestamp(s.getTimestampMillis());
+        current.setEpochMillis(s.getEpochMillis());
+
+        if (s.consume("Cancelling GC: ")) {
+            cancelCause = s.text(s.position(), s.line().length());
+            return;
+        }
+        parsePhase(s, gcLog);
+    }
+
+    /**
+     * {@code [1.234s][info][gc] GC(3) Pause Final Mark (unload classes) 0.456ms} or
+     * {@code [1.240s][info][gc] GC(3) Concurrent cleanup 180M->60M(256M) 0.210ms}
+     */
+    private void parsePhase(GCLineScanner s, GCLog gcLog) {
+        int phaseStart = s.position();
+        int transitionStart = s.findHeapTransition();
+        boolean hasTransition = transitionStart >= 0;
+        if (!hasTransition) s.position(phaseStart);
+        int durationStart = s.findDuration();
+        if (durationStart < 0) {
+            if (hasTransition) gcLog.getParseDiagnostics().record(Category.PARTIAL, s.line());
+            return;
+        }
+        long micros = Math.round(s.getLastDurationMillis() * 1000);
+
+        int phaseEnd = hasTransition ? transitionStart : durationStart;
+        String phase = s.text(phaseStart, phaseEnd);
+
+        if (hasTransition) {
+            if (current.getHeapBefore() == 0) current.setHeapBefore(s.getHeapBefore());
+            current.setHeapAfter(s.getHeapAfter());
+            current.setHeapCommitted(s.getHeapCommitted());
+        }
+
+        if (phase.startsWith(DEGENERATED_TYPE) || phase.startsWith(FULL_TYPE)) {
+            boolean degenerated = phase.startsWith(DEGENERATED_TYPE);
+            current.setGcType(degenerated ? DEGENERATED_TYPE : FULL_TYPE);
+            int causeStart = s.openingParenBefore(phaseEnd);
+            String cause = causeStart > phaseStart ? s.text(causeStart + 1, s.line().lastIndexOf(')', phaseEnd)) : null;
+            // A degenerated GC names the phase it took over; the cancelled cycle knows why
+            current.setGcCause(degenerated && cancelCause != null ? cancelCause : cause);
+            current.setSystemGc(cause != null && cause.startsWith("System.gc"));
+            current.setDurationMicros(current.getDurationMicros() + micros);
+            if (hasTransition) emitCurrent(gcLog);
+        } else if (phase.startsWith("Pause")) {
+            current.setDurationMicros(current.getDurationMicros() + micros);
+            if (phase.startsWith("Pause Final Update Refs")) updateRefsDone = true;
+        } else if (phase.startsWith("Concurrent mark")) {
+            current.setConcurrentMarkMicros(current.getConcurrentMarkMicros() + micros);
+        } else if (phase.startsWith("Concurrent evacuation")) {
+            current.setConcurrentRelocateMicros(current.getConcurrentRelocateMicros() + micros);
+        } else if (phase.startsWith("Concurrent")) {
+            current.setConcurrentOtherMicros(current.getConcurrentOtherMicros() + micros);
+            if (updateRefsDone && hasTransition && phase.startsWith("Concurrent cleanup")) emitCurrent(gcLog);
+        }
+    }
+
+    private void startCycle(int gcId) {
+        current = new GCEvent();
+        currentGcId = gcId;
+        updateRefsDone = false;
+        cancelCause = null;
+        current.setGcType(CYCLE_TYPE);
+        current.setGcCause(pendingTrigger);
+        // Shenandoah is not generational; every cycle covers the whole heap
+        current.setMajorGc(true);
+        pendingTrigger = null;
+    }
+
+    private void emitCurrent(GCLog gcLog) {
+        if (current == null) return;
+        // Lines of a cycle that already completed (e.g. late ergonomics) start a new,
+        // empty event for the same id; those are dropped
+        if (current.getDurationMicros() > 0 || current.getConcurrentMicros() > 0) {
+            gcLog.addEvent(current);
+        }
+        current = null;
+    }
+
+    /**
+     * First sentence of the trigger without its numbers in parentheses, so that causes repeat:
+     * {@code Trigger: Free (20M) is below minimum threshold (40M)} -> {@code Free is below minimum threshold}
+     */
+    private String triggerCause(GCLineScanner s) {
+        String trigger = s.line();
+        StringBuilder cause = new StringBuilder();
+        int depth = 0;
+        for (int i = s.position(); i < trigger.length(); i++) {
+            char c = trigger.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0) {
+                if (c == '.' && (i + 1 == trigger.length() || trigger.charAt(i + 1) == ' ')) break;
+                boolean repeatedSpace = c == ' ' && (cause.length() == 0 || cause.charAt(cause.length() - 1) == ' ');
+                if (!repeatedSpace) cause.append(c);
+            }
+        }
+        return cause.toString().trim();
+    }
+
+    private void parseJVMFlags(String line, GCLog gcLog) {
+        if (line.contains("java version")) {
+            int start = line.indexOf("java version");
+            if (start != -1) {
+                gcLog.setJvmVersion(line.substring(start));
+            }
+        }
+    }
+
+    public static final class Provider implements GCParserProvider {
+        @Override
+        public String getGcType() { return "Shenandoah"; }
+
+        @Override
+        public boolean detects(String lowerCaseLine) {
+            return lowerCaseLine.contains("shenandoah");
+        }
+
+        @Override
+        public int getPriority() { return 80; }
+
+        @Override
+        public GCLineParser newParser() { return new ShenandoahParser(); }
+    }
+}
@@ -2,75 +2,225 @@ package com.jvmprofiler.analyzer.parsers;
 
 import com.jvmprofiler.analyzer.model.GCEvent;
 import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
 import java.util.List;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
-public class ZGCParser {
-    private static final Pattern ZGC_PATTERN = Pattern.compile(
-            "\\[(?<timestamp>\\d+\\.\\d+)s\\]\\[info\\]\\[gc.*?\\]\\s+" +
-                    "(?<phase>.*?)\\s+" +
-                    "(?<duration>\\d+\\.\\d+)ms"
-    );
+/**
+ * ZGC, both the single-generation collector (JDK 11-20, {@code Garbage Collection}) and
+ * generational ZGC (JDK 21+, {@code Minor Collection} / {@code Major Collection}).
+ *
+ * One event is assembled per cycle from its {@code GC(id)} lines: the pauses add up to the
+ * event's duration, concurrent phases are kept separately, and the heap tables provide
+ * live data, committed heap and (generational) young/old occupancy. Allocation stalls are
+ * recorded per stalled thread and added to the next cycle that completes.
+ */
+public class ZGCParser implements GCLineParser {
+    private static final int HEAP_COLUMNS = 4; // Mark Start, Mark End, Relocate Start, Relocate End
 
-    private static final Pattern MEMORY_PATTERN = Pattern.compile(
-            "(?<before>\\d+)M->(?<after>\\d+)M\\((?<committed>\\d+)M\\)"
-    );
+    private final GCLineScanner scanner = new GCLineScanner();
+    // Young cycles of generational ZGC run while an old cycle is still in flight
+    private final GCEventAssembler assembler = new GCEventAssembler();
+    private final long[] heapRow = new long[HEAP_COLUMNS];
+
+    // Stalls since the last completed cycle
+    private long pendingStalls;
+    private long pendingStallMicros;
 
     public void parse(List<String> lines, GCLog gcLog) {
         for (String line : lines) {
-            if (line.contains("[gc") && line.contains("Pause")) {
-                parseZGCEvent(line, gcLog);
-            } else if (line.contains("CommandLineFlags")) {
-                parseJVMFlags(line, gcLog);
-            }
+            parseLine(line, gcLog);
+        }
+        finish(gcLog);
+    }
+
+    /**
+     * Parse a single log line, so callers can stream a file without holding it in memory
+     */
+    @Override
+    public void parseLine(String line, GCLog gcLog) {
+        if (line.contains("[gc")) {
+            parseZGCEvent(line, gcLog);
+        } else if (line.contains("CommandLineFlags")) {
+            parseJVMFlags(line, gcLog);
+        } else if (!line.startsWith("[")) {
+            gcLog.getParseDiagnostics().record(Category.UNMATCHED, line);
         }
+        assembler.reportEviction(gcLog.getParseDiagnostics());
     }
 
     private void parseZGCEvent(String line, GCLog gcLog) {
-        Matcher matcher = ZGC_PATTERN.matcher(line);
-        if (matcher.find()) {
-            try {
-                GCEvent event = new GCEvent();
+        GCLineScanner s = scanner.reset(line);
+        if (!s.parseHeader() || !s.hasTimestamp()) {
+            gcLog.getParseDiagnostics().record(Category.MALFORMED, line);
+            return;
+        }
+        if (!s.levelIsOrMissing("info")) {
+            return;
+        }
+        if (s.tagsAre("gc,phases")) {
+            parsePhase(s);
+        } else if (s.tagsAre("gc,heap")) {
+            parseHeapRow(s);
+        } else if (s.tagsAre("gc")) {
+            if (s.consume("Allocation Stall")) {
+                parseAllocationStall(s, gcLog);
+            } else {
+                parseCycle(s, gcLog);
+            }
+        }
+    }
+
+    /**
+     * Cycle summary such as
+     * {@code [5.678s][info][gc] GC(7) Major Collection (Proactive) 2048M(25%)->512M(6%) 0.250s};
+     * the line that starts the cycle has no heap transition and is skipped
+     */
+    private void parseCycle(GCLineScanner s, GCLog gcLog) {
+        int gcId = s.getGcId();
+        int descriptionStart = s.position();
+        int transitionStart = s.findHeapTransition();
+        if (gcId < 0 || transitionStart < 0) return;
+
+        GCEvent event = assembler.complete(gcId);
+        event.setTimestamp(s.getTimestampMillis());
+        event.setEpochMillis(s.getEpochMillis());
+
+        int causeStart = s.openingParenBefore(transitionStart);
+        boolean hasCause = causeStart > descriptionStart;
+        String type = s.text(descriptionStart, hasCause ? causeStart : transitionStart);
+        event.setGcType(type);
+        if (hasCause) {
+            event.setGcCause(s.text(causeStart + 1, s.line().lastIndexOf(')', transitionStart)));
+            event.setSystemGc(event.getGcCause().startsWith("System.gc"));
+        }
+
+        // Single-generation cycles always collect the whole heap
+        event.setMajorGc(!type.startsWith("Minor"));
 
-                // Parse basic event info
-                double timestampSec = Double.parseDouble(matcher.group("timestamp"));
-                event.setTimestamp((long)(timestampSec * 1000));
+        event.setHeapBefore(s.getHeapBefore());
+        event.setHeapAfter(s.getHeapAfter());
 
-                String phase = matcher.group("phase").trim();
-                event.setGcType("ZGC " + phase);
-                event.setGcCause("Allocation");
+        event.setAllocationStalls(pendingStalls);
+        event.setAllocationStallMicros(pendingStallMicros);
+        pendingStalls = 0;
+        pendingStallMicros = 0;
 
-                // ZGC pauses are typically very short
-                double durationMs = Double.parseDouble(matcher.group("duration"));
-                event.setDuration((long) durationMs);
+        gcLog.addEvent(event);
+    }
+
+    /**
+     * {@code [5.123s][info][gc,phases] GC(7) Y: Concurrent Mark 12.345ms}; pauses
+     * ({@code Pause Mark Start 0.012ms}) add up to the cycle's pause time
+     */
+    private void parsePhase(GCLineScanner s) {
+        int gcId = s.getGcId();
+        if (gcId < 0) return;
+        skipGeneration(s);
+
+        int phaseStart = s.position();
+        int durationStart = s.findDuration();
+        if (durationStart < 0) return;
+        long micros = Math.round(s.getLastDurationMillis() * 1000);
+        String phase = s.text(phaseStart, durationStart);
+
+        GCEvent event = assembler.pending(gcId);
+        if (phase.startsWith("Pause")) {
+            event.setDurationMicros(event.getDurationMicros() + micros);
+        } else if (phase.startsWith("Concurrent Mark") && !phase.startsWith("Concurrent Mark Free")) {
+            // Mark Free only releases the marking stacks once marking is done
+            event.setConcurrentMarkMicros(event.getConcurrentMarkMicros() + micros);
+        } else if (phase.startsWith("Concurrent Relocate")) {
+            event.setConcurrentRelocateMicros(event.getConcurrentRelocateMicros() + micros);
+        } else if (phase.startsWith("Concurrent")) {
+            event.setConcurrentOtherMicros(event.getConcurrentOtherMicros() + micros);
+        }
+    }
 
-                // ZGC doesn't have traditional major/minor distinction
-                event.setMajorGc(phase.contains("Mark") || phase.contains("Relocate"));
+    /**
+     * Row of a heap table, e.g. {@code [5.123s][info][gc,heap] GC(7) Y: Live:  -  42M (1%)  42M (1%)  42M (1%)}.
+     * Generational rows carry a {@code Y:} or {@code O:} prefix.
+     */
+    private void parseHeapRow(GCLineScanner s) {
+        int gcId = s.getGcId();
+        if (gcId < 0) return;
+        char generation = skipGeneration(s);
 
-                // Parse memory information if available
-                parseZGCMemory(line, event);
+        int colon = s.indexOf(":");
+        if (colon < 0) return;
+        String row = s.text(s.position(), colon);
+        s.position(colon + 1);
 
-                gcLog.addEvent(event);
+        GCEvent event = assembler.pending(gcId);
+        switch (row) {
+            case "Live":
+                if (readHeapRow(s) > 1) event.setLiveBytes(event.getLiveBytes() + heapRow[1]); // At mark end
+                break;
+            case "Capacity":
+                if (generation == 0 && readHeapRow(s) > 0) event.setHeapCommitted(heapRow[0]);
+                break;
+            case "Used":
+                if (generation == 'Y' && readHeapRow(s) == HEAP_COLUMNS) {
+                    event.setYoungBefore(heapRow[0]);
+                    event.setYoungAfter(heapRow[HEAP_COLUMNS - 1]);
+                } else if (generation == 'O' && readHeapRow(s) == HEAP_COLUMNS) {
+                    event.setOldBefore(heapRow[0]);
+                    event.setOldAfter(heapRow[HEAP_COLUMNS - 1]);
+                }
+                break;
+            default:
+                break;
+        }
+    }
 
-            } catch (Exception e) {
-                System.err.println("Error parsing ZGC line: " + line);
+    /**
+     * Read up to {@link #HEAP_COLUMNS} sizes such as {@code 42M (1%)}; a {@code -} column reads as 0.
+     * Returns the number of columns read.
+     */
+    private int readHeapRow(GCLineScanner s) {
+        int columns = 0;
+        while (columns < HEAP_COLUMNS) {
+            s.skipWhitespace();
+            if (s.consume('-')) {
+                heapRow[columns++] = 0;
+                continue;
             }
+            long size = s.parseMemory();
+            if (size < 0) break;
+            heapRow[columns++] = size;
+            s.skipWhitespace();
+            s.skipPercentGroup();
         }
+        return columns;
     }
 
-    private void parseZGCMemory(String line, GCEvent event) {
-        Matcher memMatcher = MEMORY_PATTERN.matcher(line);
-        if (memMatcher.find()) {
-            event.setHeapBefore(parseMemorySizeZGC(memMatcher.group("before")));
-            event.setHeapAfter(parseMemorySizeZGC(memMatcher.group("after")));
-            event.setHeapCommitted(parseMemorySizeZGC(memMatcher.group("committed")));
+    /**
+     * {@code [5.123s][info][gc] Allocation Stall (main) 12.345ms}
+     */
+    private void parseAllocationStall(GCLineScanner s, GCLog gcLog) {
+        int threadStart = s.position();
+        int durationStart = s.findDuration();
+        if (durationStart < 0) {
+            gcLog.getParseDiagnostics().record(Category.PARTIAL, s.line());
+            return;
         }
+        long micros = Math.round(s.getLastDurationMillis() * 1000);
+
+        int open = s.openingParenBefore(durationStart);
+        String thread = open >= threadStart
+                ? s.text(open + 1, s.line().lastIndexOf(')', durationStart))
+                : "unknown";
+        gcLog.recordAllocationStall(thread, micros);
+        pendingStalls++;
+        pendingStallMicros += micros;
     }
 
-    private long parseMemorySizeZGC(String sizeStr) {
-        // ZGC typically uses MB in logs
-        return Long.parseLong(sizeStr) * 1024 * 1024;
+    /**
+     * Consume a generational {@code Y: } / {@code y: } / {@code O: } prefix; returns 'Y', 'O' or 0
+     */
+    private char skipGeneration(GCLineScanner s) {
+        if (s.consume("Y: ") || s.consume("y: ")) return 'Y';
+        if (s.consume("O: ")) return 'O';
+        return 0;
     }
 
     private void parseJVMFlags(String line, GCLog gcLog) {
@@ -81,4 +231,20 @@ public class ZGCParser {
             }
         }
     }
-}
\ No newline at end of file
+
+    public static final class Provider implements GCParserProvider {
+        @Override
+        public String getGcType() { return "ZGC"; }
+
+        @Override
+        public boolean detects(String lowerCaseLine) {
+            return lowerCaseLine.contains("zgc") || lowerCaseLine.contains("z garbage");
+        }
+
+        @Override
+        public int getPriority() { return 90; }
+
+        @Override
+        public GCLineParser newParser() { return new ZGCParser(); }
+    }
+}
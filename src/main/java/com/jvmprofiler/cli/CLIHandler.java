@@ -1,20 +1,43 @@
 package com.jvmprofiler.cli;
 
+import com.jvmprofiler.analyzer.ExhaustionForecaster;
 import com.jvmprofiler.analyzer.GCLogAnalyzer;
+import com.jvmprofiler.analyzer.GCLogFollower;
 import com.jvmprofiler.analyzer.GCLogParser;
 import com.jvmprofiler.analyzer.MemoryLeakDetector;
+import com.jvmprofiler.analyzer.MutatorUtilizationAnalyzer;
+import com.jvmprofiler.analyzer.model.ExhaustionForecast;
 import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCPhase;
+import com.jvmprofiler.analyzer.model.GCStorm;
+import com.jvmprofiler.analyzer.model.MutatorUtilization;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
 import com.jvmprofiler.analyzer.model.PauseAnalysis;
+import com.jvmprofiler.analyzer.model.PauseSummary;
+import com.jvmprofiler.analyzer.model.Regime;
 import com.jvmprofiler.monitor.RealTimeDashboard;
+import com.jvmprofiler.report.HtmlReportWriter;
+import com.jvmprofiler.report.JsonReportWriter;
 import org.apache.commons.cli.CommandLine;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import com.jvmprofiler.monitor.prometheus.PrometheusMetricsExporter;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 
 public class CLIHandler {
     private static final Logger logger = LogManager.getLogger(CLIHandler.class);
+    private static final double[] REPORT_PERCENTILES = {50, 90, 95, 99, 99.9, 99.99};
+    private static final int MAX_REPORTED_STORMS = 10;
+    private static final int MAX_REPORTED_PAUSES = 5;
+    private static final int MAX_REPORTED_REJECTED_LINES = 5;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
     private final CommandLineParser parser;
 
     public CLIHandler() {
@@ -32,6 +55,8 @@ public class CLIHandler {
 
             if (cmd.hasOption("monitor")) {
                 handleMonitorCommand(cmd);
+            } else if (cmd.hasOption("analyze-gc") && cmd.hasOption("follow")) {
+                handleFollowGcCommand(cmd);
             } else if (cmd.hasOption("analyze-gc")) {
                 handleAnalyzeGcCommand(cmd);
             } else if (cmd.hasOption("detect-leaks")) {
@@ -106,14 +131,28 @@ public class CLIHandler {
         try {
             logger.info("Analyzing GC log file: {}", logFile);
 
-            GCLogParser parser = new GCLogParser();
-            GCLog gcLog = parser.parseLogFile(logFile);
-
-            GCLogAnalyzer analyzer = new GCLogAnalyzer();
-            PauseAnalysis analysis = analyzer.analyze(gcLog);
-
-            // Generate report based on output format
-            generateGcReport(analysis, outputFormat);
+            GCLogParser parser = createLogParser(cmd);
+            try (GCLog gcLog = parser.parseLogFile(logFile)) {
+                GCLogAnalyzer analyzer = createAnalyzer(cmd);
+                PauseAnalysis analysis = analyzer.analyze(gcLog);
+
+                // Generate report based on output format
+                if ("html".equalsIgnoreCase(outputFormat)) {
+                    Path reportFile = Path.of(cmd.getOptionValue("report-file", Path.of(logFile).getFileName() + ".html"));
+                    new HtmlReportWriter().write(analysis, reportFile);
+                    System.out.println("HTML report written to " + reportFile.toAbsolutePath());
+                } else if ("json".equalsIgnoreCase(outputFormat)) {
+                    JsonReportWriter writer = new JsonReportWriter(cmd.hasOption("include-events"));
+                    String reportFile = cmd.getOptionValue("report-file");
+                    if (reportFile != null) {
+                        writer.write(analysis, Path.of(reportFile));
+                    } else {
+                        writer.write(analysis, System.out);
+                    }
+                } else {
+                    generateGcReport(analysis, outputFormat);
+                }
+            }
 
         } catch (IOException e) {
             System.err.println("Error reading GC log file: " + e.getMessage());
@@ -123,19 +162,60 @@ public class CLIHandler {
         }
     }
 
+    private void handleFollowGcCommand(CommandLine cmd) {
+        String logFile = cmd.getOptionValue("analyze-gc");
+        int interval = Integer.parseInt(cmd.getOptionValue("interval", "2"));
+        String durationStr = cmd.getOptionValue("duration");
+        long durationMillis = durationStr != null ? Integer.parseInt(durationStr) * 1000L : Long.MAX_VALUE;
+
+        try {
+            logger.info("Following GC log file: {}", logFile);
+
+            System.out.println("📈 Following GC log: " + logFile + " | Interval: " + interval + "s");
+            System.out.println("Press Ctrl+C to stop\n");
+
+            GCLogFollower follower = new GCLogFollower(Path.of(logFile), createAnalyzer(cmd), new MemoryLeakDetector());
+            follower.follow(interval * 1000L, durationMillis, this::printLiveStatus);
+
+        } catch (IOException e) {
+            System.err.println("Error following GC log file: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("\nStopped following GC log.");
+        }
+    }
+
+    private void printLiveStatus(PauseAnalysis analysis) {
+        System.out.printf("[%s] %,d events (%,d major) | GC time %.2f%% | P50 %.3f ms | P99 %.3f ms | max %.3f s\n",
+                LocalTime.now().format(TIME_FORMAT),
+                analysis.getTotalEvents(),
+                analysis.getMajorGcCount(),
+                analysis.getGcTimePercentage(),
+                analysis.getPercentileMillis(50),
+                analysis.getPercentileMillis(99),
+                analysis.getLongestPause() / 1000.0);
+
+        for (String issue : analysis.getIssues()) {
+            printIssue(issue);
+        }
+    }
+
     private void handleDetectLeaksCommand(CommandLine cmd) {
         String logFile = cmd.getOptionValue("detect-leaks");
 
         try {
             logger.info("Detecting memory leaks in GC log file: {}", logFile);
 
-            GCLogParser parser = new GCLogParser();
-            GCLog gcLog = parser.parseLogFile(logFile);
+            GCLogParser parser = createLogParser(cmd);
+            try (GCLog gcLog = parser.parseLogFile(logFile)) {
+                MemoryLeakDetector leakDetector = new MemoryLeakDetector();
+                MemoryLeakDetector.LeakAnalysisResult result = leakDetector.detectMemoryLeak(gcLog);
 
-            MemoryLeakDetector leakDetector = new MemoryLeakDetector();
-            MemoryLeakDetector.LeakAnalysisResult result = leakDetector.detectMemoryLeak(gcLog);
+                MutatorUtilization mutatorUtilization = new MutatorUtilizationAnalyzer().analyze(gcLog);
+                ExhaustionForecaster forecaster = new ExhaustionForecaster().acceptAll(gcLog.getEventStore());
 
-            generateLeakReport(result, gcLog);
+                generateLeakReport(result, mutatorUtilization, forecaster, gcLog);
+            }
 
         } catch (IOException e) {
             System.err.println("Error reading GC log file: " + e.getMessage());
@@ -145,6 +225,41 @@ public class CLIHandler {
         }
     }
 
+    private GCLogParser createLogParser(CommandLine cmd) {
+        String threadsStr = cmd.getOptionValue("threads", "1");
+        boolean offHeap = cmd.hasOption("off-heap");
+        GCLogParser logParser;
+        try {
+            logParser = new GCLogParser(Integer.parseInt(threadsStr), offHeap);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid thread count: " + threadsStr + ", parsing with 1 thread");
+            logParser = new GCLogParser(1, offHeap);
+        }
+        logParser.setCacheEnabled(!cmd.hasOption("no-cache"));
+        return logParser;
+    }
+
+    private GCLogAnalyzer createAnalyzer(CommandLine cmd) {
+        GCLogAnalyzer analyzer = new GCLogAnalyzer();
+        String gcThreadsStr = cmd.getOptionValue("gc-threads");
+        if (gcThreadsStr != null) {
+            try {
+                analyzer.setParallelGcThreads(Integer.parseInt(gcThreadsStr));
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid GC thread count: " + gcThreadsStr + ", using the count from the log");
+            }
+        }
+        String retainPausesStr = cmd.getOptionValue("retain-pauses");
+        if (retainPausesStr != null) {
+            try {
+                analyzer.setPauseRetention(Integer.parseInt(retainPausesStr));
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid pause count: " + retainPausesStr + ", keeping 100 pauses per category");
+            }
+        }
+        return analyzer;
+    }
+
     private void generateGcReport(PauseAnalysis analysis, String format) {
         System.out.println("\n" + "=".repeat(80));
         System.out.println("                      GC LOG ANALYSIS REPORT");
@@ -159,6 +274,13 @@ public class CLIHandler {
         System.out.printf("Analysis Period: %,d events over %.1f minutes\n",
                 analysis.getTotalEvents(),
                 (gcLog.getEndTime() - gcLog.getStartTime()) / (1000.0 * 60.0));
+        if (gcLog.getStartEpochMillis() > 0) {
+            System.out.printf("Wall-Clock Period: %s to %s\n",
+                    Instant.ofEpochMilli(gcLog.getStartEpochMillis()), Instant.ofEpochMilli(gcLog.getEndEpochMillis()));
+        }
+        if (gcLog.getParseDiagnostics().getTotalLines() > 0) {
+            printParseCoverage(gcLog.getParseDiagnostics());
+        }
 
         System.out.println("\n" + "-".repeat(80));
         System.out.println("                         STATISTICS");
@@ -175,13 +297,41 @@ public class CLIHandler {
         System.out.println("\nPause Times:");
         System.out.printf("  Longest Pause: %.3f seconds\n", analysis.getLongestPause() / 1000.0);
         System.out.printf("  Average Pause: %.3f seconds\n", analysis.getAveragePause() / 1000.0);
-        System.out.printf("  P50: %.3f seconds\n", analysis.getP50() / 1000.0);
-        System.out.printf("  P90: %.3f seconds\n", analysis.getP90() / 1000.0);
-        System.out.printf("  P95: %.3f seconds\n", analysis.getP95() / 1000.0);
-        System.out.printf("  P99: %.3f seconds\n", analysis.getP99() / 1000.0);
+        // Percentiles have microsecond resolution, so report them in milliseconds
+        for (double percentile : REPORT_PERCENTILES) {
+            System.out.printf("  P%s: %.3f ms\n", formatPercentile(percentile), analysis.getPercentileMillis(percentile));
+        }
+
+        if (!analysis.getLongPauses().isEmpty()) {
+            printWorstPauses(analysis.getLongPauses(), gcLog);
+        }
 
         System.out.printf("Memory Efficiency: %.1f%%\n", analysis.getAverageMemoryEfficiency());
 
+        if (!analysis.getPhaseBreakdown().isEmpty()) {
+            printPhaseBreakdown(analysis);
+        }
+
+        if (analysis.getAverageParallelism() > 0) {
+            printGcCpu(analysis);
+        }
+
+        if (analysis.getTotalConcurrentMicros() > 0 || analysis.getAllocationStallCount() > 0) {
+            printConcurrentWork(analysis);
+        }
+
+        if (!analysis.getMutatorUtilization().isEmpty()) {
+            printMutatorUtilization(analysis.getMutatorUtilization(), gcLog);
+        }
+
+        if (!analysis.getGcStorms().isEmpty()) {
+            printGcStorms(analysis.getGcStorms(), gcLog);
+        }
+
+        if (analysis.getRegimes().size() > 1) {
+            printRegimes(analysis.getRegimes(), gcLog);
+        }
+
         // Issues
         if (analysis.getIssueCount() > 0) {
             System.out.println("\n" + "-".repeat(80));
@@ -189,16 +339,7 @@ public class CLIHandler {
             System.out.println("-".repeat(80));
 
             for (String issue : analysis.getIssues()) {
-                String[] parts = issue.split(":", 3);
-                String severity = parts[2];
-                String message = parts[1];
-
-                String icon = "⚠️";
-                if ("CRITICAL".equals(severity)) {
-                    icon = "🚨";
-                }
-
-                System.out.printf("%s [%s] %s\n", icon, severity, message);
+                printIssue(issue);
             }
         } else {
             System.out.println("\n✅ No significant issues detected");
@@ -220,7 +361,142 @@ public class CLIHandler {
         System.out.println("=".repeat(80));
     }
 
-    private void generateLeakReport(MemoryLeakDetector.LeakAnalysisResult result, GCLog gcLog) {
+    private void printPhaseBreakdown(PauseAnalysis analysis) {
+        Map<GCPhase, Long> breakdown = analysis.getPhaseBreakdown();
+        Map<GCPhase, Long> tailBreakdown = analysis.getTailPhaseBreakdown();
+        long total = breakdown.values().stream().mapToLong(Long::longValue).sum();
+        long tailTotal = tailBreakdown.values().stream().mapToLong(Long::longValue).sum();
+
+        System.out.println("\nPause Phases (share of all pauses / of P99 tail):");
+        for (Map.Entry<GCPhase, Long> entry : breakdown.entrySet()) {
+            long tailMicros = tailBreakdown.getOrDefault(entry.getKey(), 0L);
+            System.out.printf("  %-30s %5.1f%%  %5.1f%%\n", entry.getKey().getLabel(),
+                    entry.getValue() * 100.0 / total,
+                    tailTotal > 0 ? tailMicros * 100.0 / tailTotal : 0);
+        }
+        if (analysis.getDominantTailPhase() != null) {
+            System.out.printf("  Dominant in P99 tail: %s\n", analysis.getDominantTailPhase().getLabel());
+        }
+    }
+
+    private void printWorstPauses(PauseSummary longPauses, GCLog gcLog) {
+        System.out.printf("  Long pauses: %,d (%.3f s in total)\n",
+                longPauses.getCount(), longPauses.getTotalMicros() / 1_000_000.0);
+        longPauses.getWorst().stream()
+                .limit(MAX_REPORTED_PAUSES)
+                .forEach(event -> System.out.printf("    %.3f s at %.3f s - %s (%s)\n",
+                        event.getDurationMicros() / 1_000_000.0,
+                        Math.max(0, event.getTimestamp() - gcLog.getStartTime()) / 1000.0,
+                        event.getGcType(), event.getGcCause()));
+    }
+
+    private void printGcCpu(PauseAnalysis analysis) {
+        System.out.println("\nGC Threads:");
+        System.out.printf("  Parallelism (user+sys)/real: %.2f", analysis.getAverageParallelism());
+        System.out.println(analysis.getParallelGcThreads() > 0
+                ? String.format(" of %d GC threads", analysis.getParallelGcThreads()) : "");
+
+        long firstMinute = analysis.getGcLog().getStartTime() / 60000;
+        analysis.getParallelismTimeline().entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .ifPresent(lowest -> System.out.printf("  Lowest minute: %.2f (minute %d of the log)\n",
+                        lowest.getValue(), lowest.getKey() / 60000 - firstMinute + 1));
+
+        System.out.printf("  Starved pauses: %,d\n", analysis.getStarvedPauses().getCount());
+        System.out.printf("  Sys time spikes: %,d\n", analysis.getSysSpikePauses().getCount());
+    }
+
+    private void printConcurrentWork(PauseAnalysis analysis) {
+        System.out.println("\nConcurrent GC:");
+        System.out.printf("  Concurrent phase time: %.3f seconds\n", analysis.getTotalConcurrentMicros() / 1_000_000.0);
+        System.out.printf("  Allocation stalls: %,d (%.3f ms in total, longest %.3f ms)\n",
+                analysis.getAllocationStallCount(), analysis.getTotalAllocationStallMicros() / 1000.0,
+                analysis.getLongestAllocationStallMicros() / 1000.0);
+        analysis.getAllocationStallsByThread().stream()
+                .limit(MAX_REPORTED_PAUSES)
+                .forEach(stall -> System.out.printf("    %-30s %,6d stalls  %10.3f ms\n",
+                        stall.getThread(), stall.getCount(), stall.getTotalMillis()));
+    }
+
+    private void printMutatorUtilization(MutatorUtilization mutatorUtilization, GCLog gcLog) {
+        System.out.println("\nMinimum Mutator Utilization:");
+        for (MutatorUtilization.Point point : mutatorUtilization.getPoints()) {
+            System.out.printf("  %-10s %5.1f%%  (worst window at %.3f s)\n",
+                    formatWindow(point.getWindowMillis()), point.getUtilization() * 100,
+                    Math.max(0, point.getWorstWindowStartMillis() - gcLog.getStartTime()) / 1000.0);
+        }
+    }
+
+    private void printParseCoverage(ParseDiagnostics diagnostics) {
+        System.out.printf("Parse Coverage: %.2f%% of %,d lines", diagnostics.getCoverage() * 100, diagnostics.getTotalLines());
+        if (diagnostics.getRejectedLines() == 0) {
+            System.out.println();
+            return;
+        }
+        System.out.printf(" (%,d unmatched, %,d partial, %,d malformed)\n",
+                diagnostics.getCount(ParseDiagnostics.Category.UNMATCHED),
+                diagnostics.getCount(ParseDiagnostics.Category.PARTIAL),
+                diagnostics.getCount(ParseDiagnostics.Category.MALFORMED));
+        diagnostics.getSamples().stream()
+                .limit(MAX_REPORTED_REJECTED_LINES)
+                .forEach(sample -> System.out.printf("  %-9s %soffset %,d: %s\n",
+                        sample.getCategory(),
+                        sample.getSource() != null ? sample.getSource() + " " : "",
+                        sample.getOffset(), sample.getLine()));
+    }
+
+    private void printGcStorms(List<GCStorm> storms, GCLog gcLog) {
+        System.out.printf("\nGC Storms (%,d):\n", storms.size());
+        storms.stream()
+                .limit(MAX_REPORTED_STORMS)
+                .forEach(storm -> System.out.printf("  %-6s window  %10.3f s - %10.3f s  %,5d GCs  %9.1f ms paused  (peak %d)\n",
+                        formatWindow(storm.getWindowMillis()),
+                        (storm.getStartTime() - gcLog.getStartTime()) / 1000.0,
+                        (storm.getEndTime() - gcLog.getStartTime()) / 1000.0,
+                        storm.getGcCount(), storm.getTotalPauseMillis(), storm.getPeakCount()));
+        if (storms.size() > MAX_REPORTED_STORMS) {
+            System.out.printf("  ... and %,d more\n", storms.size() - MAX_REPORTED_STORMS);
+        }
+    }
+
+    private void printRegimes(List<Regime> regimes, GCLog gcLog) {
+        System.out.println("\nRegimes:");
+        System.out.printf("  %-23s %9s %10s %10s %10s %11s %7s\n",
+                "Span (s)", "GCs", "Avg (ms)", "P99 (ms)", "Max (ms)", "Heap (MB)", "GC %");
+        for (Regime regime : regimes) {
+            System.out.printf("  %10.1f - %10.1f %,9d %10.2f %10.2f %10.2f %11.1f %6.2f%%\n",
+                    (regime.getStartTime() - gcLog.getStartTime()) / 1000.0,
+                    (regime.getEndTime() - gcLog.getStartTime()) / 1000.0,
+                    regime.getEventCount(), regime.getAveragePauseMillis(),
+                    regime.getP99PauseMicros() / 1000.0, regime.getMaxPauseMicros() / 1000.0,
+                    regime.getAverageHeapAfter() / (1024 * 1024), regime.getGcTimePercentage());
+        }
+    }
+
+    private String formatWindow(long windowMillis) {
+        return windowMillis >= 1000 && windowMillis % 1000 == 0
+                ? (windowMillis / 1000) + " s" : windowMillis + " ms";
+    }
+
+    private void printIssue(String issue) {
+        PauseAnalysis.Issue parsed = PauseAnalysis.parseIssue(issue);
+        String severity = parsed.getSeverity() != null ? parsed.getSeverity() : "";
+        String message = parsed.getDescription();
+
+        String icon = "⚠️";
+        if ("CRITICAL".equals(severity)) {
+            icon = "🚨";
+        }
+
+        System.out.printf("%s [%s] %s\n", icon, severity, message);
+    }
+
+    private String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private void generateLeakReport(MemoryLeakDetector.LeakAnalysisResult result, MutatorUtilization mutatorUtilization,
+                                    ExhaustionForecaster forecaster, GCLog gcLog) {
         System.out.println("\n" + "=".repeat(80));
         System.out.println("                   MEMORY LEAK DETECTION REPORT");
         System.out.println("=".repeat(80));
@@ -245,7 +521,7 @@ public class CLIHandler {
                 result.getSuspiciousEvents().stream()
                         .limit(5) // Show first 5 suspicious events
                         .forEach(event -> System.out.printf("  - %s: Heap after GC: %.1f MB\n",
-                                event.getEventDate(),
+                                event.getEventDate() != null ? event.getEventDate() : event.getTimestamp() / 1000.0 + " s",
                                 event.getHeapAfter() / (1024.0 * 1024.0)));
             }
         } else {
@@ -254,6 +530,19 @@ public class CLIHandler {
             System.out.printf("Description: %s\n", result.getDescription());
         }
 
+        ExhaustionForecast forecast = forecaster.forecastCommitted();
+        if (forecast != null) {
+            System.out.printf("\nLive Set Growth: %.2f MB/minute (now %.1f MB)\n",
+                    forecast.getGrowthBytesPerMinute() / (1024 * 1024), forecast.getCurrentLiveBytes() / (1024.0 * 1024.0));
+            System.out.printf("Time to exhaust %s (%.1f MB): %s\n", forecast.getLimitName(),
+                    forecast.getLimitBytes() / (1024.0 * 1024.0), forecast.describe());
+        }
+
+        // A leak shows up as the GC taking an ever larger share of short windows
+        if (!mutatorUtilization.isEmpty()) {
+            printMutatorUtilization(mutatorUtilization, gcLog);
+        }
+
         System.out.println("\n" + "=".repeat(80));
     }
 }
\ No newline at end of file
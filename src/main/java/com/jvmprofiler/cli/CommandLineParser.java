@@ -41,7 +41,7 @@ public class CommandLineParser {
                 .longOpt("analyze-gc")
                 .hasArg()
                 .argName("file")
-                .desc("Analyze GC log file and generate report")
+                .desc("Analyze GC log file (plain, .gz, or a rotated gc.log.N set) and generate report")
                 .build();
 
         Option output = Option.builder("o")
@@ -51,6 +51,58 @@ public class CommandLineParser {
                 .desc("Output format: text, json, html (default: text)")
                 .build();
 
+        Option reportFile = Option.builder()
+                .longOpt("report-file")
+                .hasArg()
+                .argName("file")
+                .desc("File for the html or json report (default: <log file name>.html, json goes to stdout)")
+                .build();
+
+        Option includeEvents = Option.builder()
+                .longOpt("include-events")
+                .hasArg(false)
+                .desc("Add every GC event to the json report")
+                .build();
+
+        Option follow = Option.builder("f")
+                .longOpt("follow")
+                .hasArg(false)
+                .desc("Keep following the GC log as it grows and report continuously")
+                .build();
+
+        Option threads = Option.builder("t")
+                .longOpt("threads")
+                .hasArg()
+                .argName("count")
+                .desc("Parser threads for large GC log files (default: 1)")
+                .build();
+
+        Option gcThreads = Option.builder()
+                .longOpt("gc-threads")
+                .hasArg()
+                .argName("count")
+                .desc("ParallelGCThreads of the analyzed JVM, when the log does not show it")
+                .build();
+
+        Option retainPauses = Option.builder()
+                .longOpt("retain-pauses")
+                .hasArg()
+                .argName("count")
+                .desc("Worst and sampled pauses kept per category, 0 keeps all (default: 100)")
+                .build();
+
+        Option offHeap = Option.builder()
+                .longOpt("off-heap")
+                .hasArg(false)
+                .desc("Keep parsed GC events in native memory instead of the Java heap")
+                .build();
+
+        Option noCache = Option.builder()
+                .longOpt("no-cache")
+                .hasArg(false)
+                .desc("Do not read or write the binary .jvmp cache next to the GC log")
+                .build();
+
         Option detectLeaks = Option.builder("L")
                 .longOpt("detect-leaks")
                 .hasArg()
@@ -88,6 +140,14 @@ public class CommandLineParser {
         options.addOption(duration);
         options.addOption(analyzeGc);
         options.addOption(output);
+        options.addOption(reportFile);
+        options.addOption(includeEvents);
+        options.addOption(follow);
+        options.addOption(threads);
+        options.addOption(gcThreads);
+        options.addOption(retainPauses);
+        options.addOption(offHeap);
+        options.addOption(noCache);
         options.addOption(detectLeaks);
         options.addOption("h", "help", false, "Show help");
     }
@@ -105,6 +165,11 @@ public class CommandLineParser {
         System.out.println("  jvm-profiler --monitor 1234 --interval 1 --duration 60");
         System.out.println("  jvm-profiler --analyze-gc gc.log");
         System.out.println("  jvm-profiler --analyze-gc gc.log --output html");
+        System.out.println("  jvm-profiler --analyze-gc gc.log --output html --report-file report.html");
+        System.out.println("  jvm-profiler --analyze-gc gc.log --output json --include-events --report-file gc.json");
+        System.out.println("  jvm-profiler --analyze-gc gc.log --threads 8");
+        System.out.println("  jvm-profiler --analyze-gc /var/log/app/gc.log --threads 4   (gc.log, gc.log.0 ... gc.log.N[.gz])");
+        System.out.println("  jvm-profiler --analyze-gc gc.log --follow --interval 5");
         System.out.println("  jvm-profiler --detect-leaks gc.log");
         System.out.println("  jvm-profiler --help");
     }
@@ -75,6 +75,17 @@ public class JVMProfilerJMXConnector {
 
         metrics.setHeapMemory(heap);
         metrics.setNonHeapMemory(nonHeap);
+
+        // Post-GC usage of the old generation is the live set the OOM forecast follows
+        for (ObjectName pool : mBeanServerConnection.queryNames(new ObjectName("java.lang:type=MemoryPool,*"), null)) {
+            String name = pool.getKeyProperty("name");
+            if (name == null || !(name.contains("Old") || name.contains("Tenured"))) continue;
+
+            CompositeData collectionUsage = (CompositeData) mBeanServerConnection.getAttribute(pool, "CollectionUsage");
+            if (collectionUsage != null) {
+                metrics.setOldGenAfterGc(MemoryUsage.from(collectionUsage).getUsed());
+            }
+        }
     }
 
     private void collectGCMetrics(JVMMetrics metrics) throws Exception {
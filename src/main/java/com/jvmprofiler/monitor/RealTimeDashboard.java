@@ -1,5 +1,7 @@
 package com.jvmprofiler.monitor;
 
+import com.jvmprofiler.analyzer.ExhaustionForecaster;
+import com.jvmprofiler.analyzer.model.ExhaustionForecast;
 import com.jvmprofiler.monitor.model.JVMMetrics;
 import com.jvmprofiler.monitor.prometheus.PrometheusMetricsExporter;
 import org.apache.logging.log4j.LogManager;
@@ -14,6 +16,8 @@ public class RealTimeDashboard {
     private boolean prometheusEnabled = false;
     private int currentPid;
     private String currentGcType = "unknown";
+    private final ExhaustionForecaster forecaster = new ExhaustionForecaster();
+    private long lastGcCount = -1;
 
     public void startMonitoring(int pid, int intervalSeconds, Integer durationSeconds) {
         this.currentPid = pid;
@@ -49,6 +53,7 @@ public class RealTimeDashboard {
 
             while (monitoring && (System.currentTimeMillis() - startTime) < durationMillis) {
                 JVMMetrics metrics = jmxConnector.collectMetrics();
+                recordLiveSet(metrics);
                 updateDashboard(metrics);
 
                 // Update Prometheus metrics if enabled
@@ -118,6 +123,21 @@ public class RealTimeDashboard {
         return 0;
     }
 
+    /**
+     * Feed the forecaster one sample per poll in which a GC ran. The live set is the old
+     * gen after its last collection when the JVM reports it, heap used otherwise.
+     */
+    private void recordLiveSet(JVMMetrics metrics) {
+        MemoryUsage heap = metrics.getHeapMemory();
+        forecaster.setMaxHeapBytes(heap.getMax());
+
+        if (metrics.getGcCount() == lastGcCount) return;
+        lastGcCount = metrics.getGcCount();
+
+        long live = metrics.getOldGenAfterGc() > 0 ? metrics.getOldGenAfterGc() : heap.getUsed();
+        forecaster.accept(metrics.getTimestamp(), live, heap.getCommitted());
+    }
+
     // ... rest of your existing RealTimeDashboard methods remain the same ...
     private void updateDashboard(JVMMetrics metrics) {
         // Your existing dashboard update code
@@ -155,6 +175,12 @@ public class RealTimeDashboard {
                 metrics.getPeakThreadCount(),
                 metrics.getTotalStartedThreads());
 
+        // Time until the live set trend reaches the max heap
+        ExhaustionForecast forecast = forecaster.forecastMaxHeap();
+        if (forecast != null) {
+            System.out.printf("║ OOM Forecast: %-44s ║\n", forecast.describe());
+        }
+
         // Prometheus status
         if (prometheusEnabled) {
             System.out.printf("║ 📊 Prometheus: http://localhost:9091/metrics %19s ║\n", "");
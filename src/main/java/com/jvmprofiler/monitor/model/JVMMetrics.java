@@ -5,6 +5,7 @@ import java.lang.management.MemoryUsage;
 public class JVMMetrics {
     private MemoryUsage heapMemory;
     private MemoryUsage nonHeapMemory;
+    private long oldGenAfterGc = -1; // Old gen usage after the last collection, -1 if unknown
     private long gcCount;
     private long gcTime;
     private int threadCount;
@@ -24,6 +25,9 @@ public class JVMMetrics {
     public MemoryUsage getNonHeapMemory() { return nonHeapMemory; }
     public void setNonHeapMemory(MemoryUsage nonHeapMemory) { this.nonHeapMemory = nonHeapMemory; }
 
+    public long getOldGenAfterGc() { return oldGenAfterGc; }
+    public void setOldGenAfterGc(long oldGenAfterGc) { this.oldGenAfterGc = oldGenAfterGc; }
+
     public long getGcCount() { return gcCount; }
     public void setGcCount(long gcCount) { this.gcCount = gcCount; }
 
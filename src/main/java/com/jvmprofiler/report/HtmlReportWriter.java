@@ -0,0 +1,235 @@
+package com.jvmprofiler.report;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCStorm;
+import com.jvmprofiler.analyzer.model.MutatorUtilization;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
+import com.jvmprofiler.analyzer.model.PauseAnalysis;
+import com.jvmprofiler.analyzer.model.Regime;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Self-contained HTML report with inline SVG charts.
+ *
+ * Charts are drawn from {@link LttbDownsampler} output, and the storm table is capped,
+ * so the file stays well under 2 MB however many events the log has.
+ */
+public class HtmlReportWriter {
+    private static final int CHART_POINTS = 2000;
+    private static final int CHART_WIDTH = 960;
+    private static final int CHART_HEIGHT = 240;
+    private static final int MAX_STORM_ROWS = 50;
+    private static final double[] REPORT_PERCENTILES = {50, 90, 95, 99, 99.9, 99.99};
+
+    private final LttbDownsampler downsampler = new LttbDownsampler();
+
+    public void write(PauseAnalysis analysis, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(analysis, out);
+        }
+    }
+
+    public void write(PauseAnalysis analysis, Writer out) throws IOException {
+        GCLog gcLog = analysis.getGcLog();
+
+        out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\">\n");
+        out.write("<title>GC Log Analysis - " + escape(gcLog.getLogFile()) + "</title>\n");
+        out.write("<style>body{font-family:sans-serif;margin:24px;color:#222}"
+                + "table{border-collapse:collapse;margin-bottom:16px}td,th{border:1px solid #ccc;padding:3px 8px;text-align:right}"
+                + "th{background:#f0f0f0}td:first-child,th:first-child{text-align:left}"
+                + ".CRITICAL{color:#b00020}.WARNING{color:#a15c00}svg{border:1px solid #ccc;background:#fafafa}</style>\n");
+        out.write("</head><body>\n<h1>GC Log Analysis Report</h1>\n");
+
+        writeSummary(analysis, gcLog, out);
+
+        EventStore events = gcLog.getEventStore();
+        if (events.size() > 0) {
+            out.write("<h2>Pause Times (ms)</h2>\n");
+            writeChart(events, EventField.DURATION_MICROS, 1000.0, gcLog.getStartTime(), "#1f77b4", out);
+            out.write("<h2>Heap After GC (MB)</h2>\n");
+            writeChart(events, EventField.HEAP_AFTER, 1024.0 * 1024.0, gcLog.getStartTime(), "#d62728", out);
+        }
+
+        writeMutatorUtilization(analysis.getMutatorUtilization(), out);
+        writeRegimes(analysis.getRegimes(), gcLog, out);
+        writeStorms(analysis.getGcStorms(), gcLog, out);
+        writeIssues(analysis, out);
+
+        out.write("</body></html>\n");
+    }
+
+    private void writeSummary(PauseAnalysis analysis, GCLog gcLog, Writer out) throws IOException {
+        out.write("<table>\n");
+        row(out, "GC Type", escape(gcLog.getGcType()));
+        row(out, "JVM Version", escape(gcLog.getJvmVersion() != null ? gcLog.getJvmVersion() : "Unknown"));
+        row(out, "Log File", escape(gcLog.getLogFile()));
+        if (gcLog.getStartEpochMillis() > 0) {
+            row(out, "Wall-Clock Period", escape(Instant.ofEpochMilli(gcLog.getStartEpochMillis()) + " to "
+                    + Instant.ofEpochMilli(gcLog.getEndEpochMillis())));
+        }
+        ParseDiagnostics diagnostics = gcLog.getParseDiagnostics();
+        if (diagnostics.getTotalLines() > 0) {
+            row(out, "Parse Coverage", format("%.2f%% of %,d lines (%,d unmatched, %,d partial, %,d malformed)",
+                    diagnostics.getCoverage() * 100, diagnostics.getTotalLines(),
+                    diagnostics.getCount(ParseDiagnostics.Category.UNMATCHED),
+                    diagnostics.getCount(ParseDiagnostics.Category.PARTIAL),
+                    diagnostics.getCount(ParseDiagnostics.Category.MALFORMED)));
+        }
+        row(out, "Total GC Events", format("%,d (%,d minor, %,d major)",
+                analysis.getTotalEvents(), analysis.getMinorGcCount(), analysis.getMajorGcCount()));
+        row(out, "Total GC Time", format("%.3f s", analysis.getTotalGcTime() / 1000.0));
+        row(out, "GC Time Percentage", format("%.2f%%", analysis.getGcTimePercentage()));
+        row(out, "Application Throughput", format("%.2f%%", 100 - analysis.getGcTimePercentage()));
+        row(out, "Longest Pause", format("%.3f s", analysis.getLongestPause() / 1000.0));
+        row(out, "Average Pause", format("%.3f s", analysis.getAveragePause() / 1000.0));
+        for (double percentile : REPORT_PERCENTILES) {
+            row(out, "P" + formatPercentile(percentile), format("%.3f ms", analysis.getPercentileMillis(percentile)));
+        }
+        row(out, "Memory Efficiency", format("%.1f%%", analysis.getAverageMemoryEfficiency()));
+        if (analysis.getTotalConcurrentMicros() > 0) {
+            row(out, "Concurrent GC Time", format("%.3f s", analysis.getTotalConcurrentMicros() / 1_000_000.0));
+        }
+        if (analysis.getAllocationStallCount() > 0) {
+            row(out, "Allocation Stalls", format("%,d (%.3f ms in total)",
+                    analysis.getAllocationStallCount(), analysis.getTotalAllocationStallMicros() / 1000.0));
+        }
+        out.write("</table>\n");
+    }
+
+    /**
+     * Polyline of the downsampled column against seconds since {@code startTime}
+     */
+    private void writeChart(EventStore events, EventField field, double scale, long startTime,
+                            String color, Writer out) throws IOException {
+        int[] points = downsampler.downsample(events, field, CHART_POINTS);
+
+        long minX = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        double maxY = 0;
+        for (int index : points) {
+            minX = Math.min(minX, events.getTimestamp(index));
+            maxX = Math.max(maxX, events.getTimestamp(index));
+            maxY = Math.max(maxY, events.get(field, index) / scale);
+        }
+        double spanX = Math.max(1, maxX - minX);
+        double spanY = maxY > 0 ? maxY : 1;
+        int left = 60;
+        int bottom = 20;
+        double plotWidth = CHART_WIDTH - left - 10;
+        double plotHeight = CHART_HEIGHT - bottom - 10;
+
+        out.write(format("<svg width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\">\n",
+                CHART_WIDTH, CHART_HEIGHT, CHART_WIDTH, CHART_HEIGHT));
+        out.write(format("<text x=\"4\" y=\"16\" font-size=\"11\">%.1f</text>", maxY));
+        out.write(format("<text x=\"4\" y=\"%d\" font-size=\"11\">0</text>", CHART_HEIGHT - bottom));
+        out.write(format("<text x=\"%d\" y=\"%d\" font-size=\"11\">%.0f s</text>",
+                left, CHART_HEIGHT - 4, (minX - startTime) / 1000.0));
+        out.write(format("<text x=\"%d\" y=\"%d\" font-size=\"11\" text-anchor=\"end\">%.0f s</text>\n",
+                CHART_WIDTH - 10, CHART_HEIGHT - 4, (maxX - startTime) / 1000.0));
+
+        out.write("<polyline fill=\"none\" stroke=\"" + color + "\" stroke-width=\"1\" points=\"");
+        for (int index : points) {
+            double x = left + (events.getTimestamp(index) - minX) / spanX * plotWidth;
+            double y = 10 + plotHeight - events.get(field, index) / scale / spanY * plotHeight;
+            out.write(format("%.1f,%.1f ", x, y));
+        }
+        out.write("\"/>\n</svg>\n");
+    }
+
+    private void writeMutatorUtilization(MutatorUtilization mutatorUtilization, Writer out) throws IOException {
+        if (mutatorUtilization.isEmpty()) return;
+
+        out.write("<h2>Minimum Mutator Utilization</h2>\n<table><tr><th>Window</th><th>MMU</th></tr>\n");
+        for (MutatorUtilization.Point point : mutatorUtilization.getPoints()) {
+            out.write(format("<tr><td>%d ms</td><td>%.1f%%</td></tr>\n",
+                    point.getWindowMillis(), point.getUtilization() * 100));
+        }
+        out.write("</table>\n");
+    }
+
+    private void writeRegimes(List<Regime> regimes, GCLog gcLog, Writer out) throws IOException {
+        if (regimes.size() < 2) return;
+
+        out.write("<h2>Regimes</h2>\n<table><tr><th>Span (s)</th><th>GCs</th><th>Avg (ms)</th>"
+                + "<th>P99 (ms)</th><th>Max (ms)</th><th>Heap (MB)</th><th>GC %</th></tr>\n");
+        for (Regime regime : regimes) {
+            out.write(format("<tr><td>%.1f - %.1f</td><td>%,d</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.1f</td><td>%.2f%%</td></tr>\n",
+                    (regime.getStartTime() - gcLog.getStartTime()) / 1000.0,
+                    (regime.getEndTime() - gcLog.getStartTime()) / 1000.0,
+                    regime.getEventCount(), regime.getAveragePauseMillis(),
+                    regime.getP99PauseMicros() / 1000.0, regime.getMaxPauseMicros() / 1000.0,
+                    regime.getAverageHeapAfter() / (1024 * 1024), regime.getGcTimePercentage()));
+        }
+        out.write("</table>\n");
+    }
+
+    private void writeStorms(List<GCStorm> storms, GCLog gcLog, Writer out) throws IOException {
+        if (storms.isEmpty()) return;
+
+        out.write(format("<h2>GC Storms (%,d)</h2>\n", storms.size()));
+        out.write("<table><tr><th>Window</th><th>Start (s)</th><th>End (s)</th><th>GCs</th>"
+                + "<th>Paused (ms)</th><th>Peak</th></tr>\n");
+        for (GCStorm storm : storms.subList(0, Math.min(storms.size(), MAX_STORM_ROWS))) {
+            out.write(format("<tr><td>%d ms</td><td>%.3f</td><td>%.3f</td><td>%,d</td><td>%.1f</td><td>%d</td></tr>\n",
+                    storm.getWindowMillis(),
+                    (storm.getStartTime() - gcLog.getStartTime()) / 1000.0,
+                    (storm.getEndTime() - gcLog.getStartTime()) / 1000.0,
+                    storm.getGcCount(), storm.getTotalPauseMillis(), storm.getPeakCount()));
+        }
+        out.write("</table>\n");
+        if (storms.size() > MAX_STORM_ROWS) {
+            out.write(format("<p>... and %,d more</p>\n", storms.size() - MAX_STORM_ROWS));
+        }
+    }
+
+    private void writeIssues(PauseAnalysis analysis, Writer out) throws IOException {
+        out.write("<h2>Issues</h2>\n");
+        if (analysis.getIssues().isEmpty()) {
+            out.write("<p>No significant issues detected</p>\n");
+        } else {
+            out.write("<ul>\n");
+            for (String issue : analysis.getIssues()) {
+                PauseAnalysis.Issue parsed = PauseAnalysis.parseIssue(issue);
+                String severity = parsed.getSeverity() != null ? parsed.getSeverity() : "";
+                String message = parsed.getDescription();
+                out.write("<li class=\"" + escape(severity) + "\">[" + escape(severity) + "] " + escape(message) + "</li>\n");
+            }
+            out.write("</ul>\n");
+        }
+
+        if (!analysis.getRecommendations().isEmpty()) {
+            out.write("<h2>Recommendations</h2>\n<ol>\n");
+            for (String recommendation : analysis.getRecommendations()) {
+                out.write("<li>" + escape(recommendation) + "</li>\n");
+            }
+            out.write("</ol>\n");
+        }
+    }
+
+    private void row(Writer out, String name, String value) throws IOException {
+        out.write("<tr><td>" + name + "</td><td>" + value + "</td></tr>\n");
+    }
+
+    private String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+
+    private String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private String escape(String value) {
+        if (value == null) return "";
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,306 @@
+package com.jvmprofiler.report;
+
+import com.jvmprofiler.analyzer.model.AllocationStall;
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCEvent;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCPhase;
+import com.jvmprofiler.analyzer.model.GCStorm;
+import com.jvmprofiler.analyzer.model.MutatorUtilization;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
+import com.jvmprofiler.analyzer.model.PauseAnalysis;
+import com.jvmprofiler.analyzer.model.Regime;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a {@link PauseAnalysis} as JSON, optionally followed by every event.
+ *
+ * The document is streamed through {@link JsonWriter}: events are read column by column
+ * from the {@link EventStore} and written one at a time, so dumping tens of millions of
+ * events needs no more memory than a small report.
+ */
+public class JsonReportWriter {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final double[] REPORT_PERCENTILES = {50, 90, 95, 99, 99.9, 99.99};
+
+    private final boolean includeEvents;
+
+    public JsonReportWriter(boolean includeEvents) {
+        this.includeEvents = includeEvents;
+    }
+
+    public void write(PauseAnalysis analysis, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(analysis, Channels.newOutputStream(channel));
+        }
+    }
+
+    /**
+     * Write to {@code out} and flush it; {@code out} stays open
+     */
+    public void write(PauseAnalysis analysis, OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonWriter json = new JsonWriter(writer);
+        write(analysis, json);
+        json.flush();
+    }
+
+    public void write(PauseAnalysis analysis, JsonWriter json) throws IOException {
+        GCLog gcLog = analysis.getGcLog();
+
+        json.beginObject();
+        json.field("gcType", gcLog.getGcType());
+        json.field("jvmVersion", gcLog.getJvmVersion());
+        json.field("logFile", gcLog.getLogFile());
+        json.field("startTime", gcLog.getStartTime());
+        json.field("endTime", gcLog.getEndTime());
+        json.field("startEpochMillis", gcLog.getStartEpochMillis());
+        json.field("endEpochMillis", gcLog.getEndEpochMillis());
+
+        writeParseDiagnostics(gcLog.getParseDiagnostics(), json);
+        writeStatistics(analysis, json);
+        writePhases(analysis, json);
+        writeGcThreads(analysis, json);
+        writeConcurrentWork(analysis, json);
+        writeMutatorUtilization(analysis.getMutatorUtilization(), json);
+        writeRegimes(analysis.getRegimes(), json);
+        writeStorms(analysis.getGcStorms(), json);
+        writeIssues(analysis, json);
+
+        if (includeEvents) {
+            writeEvents(gcLog.getEventStore(), json);
+        }
+        json.endObject();
+    }
+
+    private void writeParseDiagnostics(ParseDiagnostics diagnostics, JsonWriter json) throws IOException {
+        json.name("parseDiagnostics").beginObject();
+        json.field("totalLines", diagnostics.getTotalLines());
+        json.field("coverage", diagnostics.getCoverage());
+        for (ParseDiagnostics.Category category : ParseDiagnostics.Category.values()) {
+            json.field(category.name().toLowerCase(Locale.ROOT) + "Lines", diagnostics.getCount(category));
+        }
+        json.name("samples").beginArray();
+        for (ParseDiagnostics.Sample sample : diagnostics.getSamples()) {
+            json.beginObject()
+                    .field("category", sample.getCategory().name())
+                    .field("source", sample.getSource())
+                    .field("offset", sample.getOffset())
+                    .field("line", sample.getLine())
+                    .endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private void writeStatistics(PauseAnalysis analysis, JsonWriter json) throws IOException {
+        json.name("statistics").beginObject();
+        json.field("totalEvents", analysis.getTotalEvents());
+        json.field("minorGcCount", analysis.getMinorGcCount());
+        json.field("majorGcCount", analysis.getMajorGcCount());
+        json.field("totalGcTimeMillis", analysis.getTotalGcTime());
+        json.field("gcTimePercentage", analysis.getGcTimePercentage());
+        json.field("longestPauseMillis", analysis.getLongestPause());
+        json.field("averagePauseMillis", analysis.getAveragePause());
+        json.field("averageMemoryEfficiency", analysis.getAverageMemoryEfficiency());
+        json.field("longPauseCount", analysis.getLongPauses().getCount());
+        json.field("criticalPauseCount", analysis.getCriticalPauses().getCount());
+        json.field("longPauseTotalMicros", analysis.getLongPauses().getTotalMicros());
+        writePauses("worstPauses", analysis.getLongPauses().getWorst(), json);
+
+        json.name("pausePercentilesMillis").beginObject();
+        for (double percentile : REPORT_PERCENTILES) {
+            json.field("p" + formatPercentile(percentile), analysis.getPercentileMillis(percentile));
+        }
+        json.endObject();
+        json.endObject();
+    }
+
+    private void writePauses(String name, List<GCEvent> pauses, JsonWriter json) throws IOException {
+        json.name(name).beginArray();
+        for (GCEvent event : pauses) {
+            json.beginObject()
+                    .field("timestamp", event.getTimestamp())
+                    .field("epochMillis", event.getEpochMillis())
+                    .field("durationMicros", event.getDurationMicros())
+                    .field("gcType", event.getGcType())
+                    .field("gcCause", event.getGcCause())
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    private void writePhases(PauseAnalysis analysis, JsonWriter json) throws IOException {
+        if (analysis.getPhaseBreakdown().isEmpty()) return;
+
+        json.name("phaseMicros").beginObject();
+        for (Map.Entry<GCPhase, Long> entry : analysis.getPhaseBreakdown().entrySet()) {
+            json.field(entry.getKey().getLabel(), entry.getValue());
+        }
+        json.endObject();
+        json.name("tailPhaseMicros").beginObject();
+        for (Map.Entry<GCPhase, Long> entry : analysis.getTailPhaseBreakdown().entrySet()) {
+            json.field(entry.getKey().getLabel(), entry.getValue());
+        }
+        json.endObject();
+        GCPhase dominant = analysis.getDominantTailPhase();
+        json.field("dominantTailPhase", dominant != null ? dominant.getLabel() : null);
+    }
+
+    private void writeGcThreads(PauseAnalysis analysis, JsonWriter json) throws IOException {
+        if (analysis.getAverageParallelism() <= 0) return;
+
+        json.name("gcThreads").beginObject();
+        json.field("parallelGcThreads", analysis.getParallelGcThreads());
+        json.field("averageParallelism", analysis.getAverageParallelism());
+        json.field("starvedPauses", analysis.getStarvedPauses().getCount());
+        json.field("sysSpikePauses", analysis.getSysSpikePauses().getCount());
+        json.name("parallelismByMinute").beginArray();
+        for (Map.Entry<Long, Double> entry : analysis.getParallelismTimeline().entrySet()) {
+            json.beginObject().field("minuteStart", entry.getKey()).field("parallelism", entry.getValue()).endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private void writeConcurrentWork(PauseAnalysis analysis, JsonWriter json) throws IOException {
+        if (analysis.getTotalConcurrentMicros() == 0 && analysis.getAllocationStallCount() == 0) return;
+
+        json.name("concurrent").beginObject();
+        json.field("concurrentMicros", analysis.getTotalConcurrentMicros());
+        json.field("allocationStallCount", analysis.getAllocationStallCount());
+        json.field("allocationStallMicros", analysis.getTotalAllocationStallMicros());
+        json.field("longestAllocationStallMicros", analysis.getLongestAllocationStallMicros());
+        json.name("allocationStallsByThread").beginArray();
+        for (AllocationStall stall : analysis.getAllocationStallsByThread()) {
+            json.beginObject()
+                    .field("thread", stall.getThread())
+                    .field("count", stall.getCount())
+                    .field("totalMicros", stall.getTotalMicros())
+                    .field("maxMicros", stall.getMaxMicros())
+                    .endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private void writeMutatorUtilization(MutatorUtilization mutatorUtilization, JsonWriter json) throws IOException {
+        json.name("mutatorUtilization").beginArray();
+        for (MutatorUtilization.Point point : mutatorUtilization.getPoints()) {
+            json.beginObject()
+                    .field("windowMillis", point.getWindowMillis())
+                    .field("utilization", point.getUtilization())
+                    .field("worstWindowStart", point.getWorstWindowStartMillis())
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    private void writeRegimes(List<Regime> regimes, JsonWriter json) throws IOException {
+        json.name("regimes").beginArray();
+        for (Regime regime : regimes) {
+            json.beginObject()
+                    .field("firstEvent", regime.getFirstEvent())
+                    .field("eventCount", regime.getEventCount())
+                    .field("startTime", regime.getStartTime())
+                    .field("endTime", regime.getEndTime())
+                    .field("majorGcCount", regime.getMajorGcCount())
+                    .field("averagePauseMillis", regime.getAveragePauseMillis())
+                    .field("p99PauseMicros", regime.getP99PauseMicros())
+                    .field("maxPauseMicros", regime.getMaxPauseMicros())
+                    .field("averageHeapAfter", regime.getAverageHeapAfter())
+                    .field("gcTimePercentage", regime.getGcTimePercentage())
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    private void writeStorms(List<GCStorm> storms, JsonWriter json) throws IOException {
+        json.name("gcStorms").beginArray();
+        for (GCStorm storm : storms) {
+            json.beginObject()
+                    .field("windowMillis", storm.getWindowMillis())
+                    .field("startTime", storm.getStartTime())
+                    .field("endTime", storm.getEndTime())
+                    .field("gcCount", storm.getGcCount())
+                    .field("totalPauseMicros", storm.getTotalPauseMicros())
+                    .field("peakCount", storm.getPeakCount())
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    private void writeIssues(PauseAnalysis analysis, JsonWriter json) throws IOException {
+        json.name("issues").beginArray();
+        for (String issue : analysis.getIssues()) {
+            PauseAnalysis.Issue parsed = PauseAnalysis.parseIssue(issue);
+            json.beginObject();
+            if (parsed.getCode() != null) {
+                json.field("code", parsed.getCode())
+                        .field("description", parsed.getDescription())
+                        .field("severity", parsed.getSeverity());
+            } else {
+                json.field("description", parsed.getDescription());
+            }
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("recommendations").beginArray();
+        for (String recommendation : analysis.getRecommendations()) {
+            json.value(recommendation);
+        }
+        json.endArray();
+    }
+
+    private void writeEvents(EventStore events, JsonWriter json) throws IOException {
+        EventField[] fields = EventField.values();
+        String[] names = new String[fields.length];
+        for (int f = 0; f < fields.length; f++) {
+            names[f] = camelCase(fields[f].name());
+        }
+
+        json.name("events").beginArray();
+        for (int i = 0; i < events.size(); i++) {
+            json.beginObject();
+            json.field("gcType", events.getGcType(i));
+            json.field("gcCause", events.getGcCause(i));
+            json.field("majorGc", events.isMajorGc(i));
+            json.field("systemGc", events.isSystemGc(i));
+            for (int f = 0; f < fields.length; f++) {
+                json.field(names[f], events.get(fields[f], i));
+            }
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    /** HEAP_AFTER -> heapAfter */
+    private String camelCase(String constant) {
+        StringBuilder name = new StringBuilder();
+        for (String part : constant.toLowerCase(Locale.ROOT).split("_")) {
+            name.append(name.length() == 0 ? part : Character.toUpperCase(part.charAt(0)) + part.substring(1));
+        }
+        return name.toString();
+    }
+
+    private String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+    }
+}
@@ -0,0 +1,74 @@
+package com.jvmprofiler.report;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling of one event column over time.
+ *
+ * The events between the first and last one are split into equal buckets. Each bucket
+ * keeps the event forming the largest triangle with the previously kept event and the
+ * average of the next bucket, so spikes (long pauses, heap peaks) survive while flat
+ * stretches collapse. The columns are read in place; besides the result only O(1) state
+ * is held, whatever the number of events.
+ */
+public class LttbDownsampler {
+
+    /**
+     * Indices of at most {@code threshold} events of {@code events} to plot
+     * {@code field} against the timestamp, in event order
+     */
+    public int[] downsample(EventStore events, EventField field, int threshold) {
+        int n = events.size();
+        if (threshold >= n) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+        if (threshold < 3) {
+            throw new IllegalArgumentException("LTTB needs at least 3 points, got " + threshold);
+        }
+
+        int[] selected = new int[threshold];
+        selected[0] = 0;
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int previous = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int from = (int) (bucket * bucketSize) + 1;
+            int to = bucket == threshold - 3 ? n - 1 : (int) ((bucket + 1) * bucketSize) + 1;
+
+            // Average of the next bucket (the last event for the final bucket)
+            int nextFrom = to;
+            int nextTo = Math.min(n, (int) ((bucket + 2) * bucketSize) + 1);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                averageX += events.getTimestamp(i);
+                averageY += events.get(field, i);
+            }
+            int nextCount = nextTo - nextFrom;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            double previousX = events.getTimestamp(previous);
+            double previousY = events.get(field, previous);
+            double maxArea = -1;
+            int chosen = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((previousX - averageX) * (events.get(field, i) - previousY)
+                        - (previousX - events.getTimestamp(i)) * (averageY - previousY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+
+            selected[bucket + 1] = chosen;
+            previous = chosen;
+        }
+
+        selected[threshold - 1] = n - 1;
+        return selected;
+    }
+}
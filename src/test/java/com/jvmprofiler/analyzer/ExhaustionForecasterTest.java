@@ -0,0 +1,47 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.ColumnarEventStore;
+import com.jvmprofiler.analyzer.model.GCEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExhaustionForecasterTest {
+    private static final long MB = 1024 * 1024;
+    private static final long MINUTE = 60_000;
+
+    @Test
+    void oldGenOnSomeEventsFallsBackToHeapAfterForAll() {
+        ColumnarEventStore events = new ColumnarEventStore();
+        for (int i = 0; i < 20; i++) {
+            GCEvent event = new GCEvent("Pause Young", i * MINUTE, 10);
+            event.setHeapAfter(500 * MB + i * MB);
+            // Only the full GCs log the old generation, far below heap after GC
+            if (i % 5 == 4) event.setOldAfter(100 * MB);
+            events.add(event);
+        }
+
+        ExhaustionForecaster forecaster = new ExhaustionForecaster().acceptAll(events);
+        assertFalse(forecaster.isOldGenSeries());
+        assertEquals(20, forecaster.getSampleCount());
+        assertEquals(MB, forecaster.getGrowthBytesPerMinute(), 1.0);
+    }
+
+    @Test
+    void oldGenOnEveryEventIsTheLiveSet() {
+        ColumnarEventStore events = new ColumnarEventStore();
+        for (int i = 0; i < 20; i++) {
+            GCEvent event = new GCEvent("Pause Young", i * MINUTE, 10);
+            // Young survivors make heap after GC noisy; the old generation grows steadily
+            event.setHeapAfter(500 * MB + (i % 2) * 50 * MB);
+            event.setOldAfter(100 * MB + i * 2 * MB);
+            events.add(event);
+        }
+
+        ExhaustionForecaster forecaster = new ExhaustionForecaster().acceptAll(events);
+        assertTrue(forecaster.isOldGenSeries());
+        assertEquals(2 * MB, forecaster.getGrowthBytesPerMinute(), 1.0);
+    }
+}
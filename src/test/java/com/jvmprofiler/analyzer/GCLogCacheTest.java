@@ -0,0 +1,114 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCLogCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void segmentSidecarIsNotSharedWithAStandaloneParse() throws IOException {
+        // G1 holds each pause back until its gc,cpu line, which the last pause of gc.log.0 lacks
+        Path older = tempDir.resolve("gc.log.0");
+        Path newer = tempDir.resolve("gc.log");
+        List<String> olderLines = new ArrayList<>(List.of("[0.006s][info][gc     ] Using G1"));
+        olderLines.addAll(pauses(0, 3));
+        Files.write(older, olderLines);
+        Files.write(newer, pauses(3, 5));
+
+        GCLogParser parser = new GCLogParser();
+        assertEquals(5, parseCount(parser, newer));
+        // The standalone parse must not reuse the segment's sidecar, which leaves GC(2) to gc.log
+        assertEquals(3, parseCount(parser, older));
+        assertTrue(Files.exists(new GCLogCache().sidecarFor(older)));
+        // ... and the set parse must not reuse the standalone sidecar, which already emitted GC(2)
+        assertEquals(5, parseCount(parser, newer));
+        assertEquals(3, parseCount(parser, older));
+    }
+
+    @Test
+    void cachedLoadMatchesAFreshParse() throws IOException {
+        Path log = tempDir.resolve("gc.log");
+        List<String> lines = new ArrayList<>(List.of("[0.006s][info][gc     ] Using G1"));
+        lines.addAll(pauses(0, 40));
+        lines.add("[41.000s][info][gc          ] GC(40) Pause Full (System.gc()) 200M->50M(512M) 40.000ms");
+        lines.add("[41.000s][info][gc,cpu      ] GC(40) User=0.30s Sys=0.01s Real=0.04s");
+        Files.write(log, lines);
+
+        for (boolean offHeap : new boolean[]{false, true}) {
+            GCLogParser fresh = new GCLogParser(1, offHeap);
+            fresh.setCacheEnabled(false);
+            GCLogParser cached = new GCLogParser(1, offHeap);
+            try (GCLog parsed = fresh.parseLogFile(log.toString())) {
+                cached.parseLogFile(log.toString()).close();
+                try (GCLog loaded = cached.parseLogFile(log.toString())) {
+                    assertSameLog(parsed, loaded);
+                }
+            }
+        }
+    }
+
+    private static void assertSameLog(GCLog expected, GCLog actual) {
+        EventStore expectedStore = expected.getEventStore();
+        EventStore actualStore = actual.getEventStore();
+        assertEquals(41, expectedStore.size());
+        assertEquals(expectedStore.size(), actualStore.size());
+        for (int i = 0; i < expectedStore.size(); i++) {
+            for (EventField field : EventField.values()) {
+                assertEquals(expectedStore.get(field, i), actualStore.get(field, i), field + " of event " + i);
+            }
+            assertEquals(expectedStore.getGcType(i), actualStore.getGcType(i));
+            assertEquals(expectedStore.getGcCause(i), actualStore.getGcCause(i));
+            assertEquals(expectedStore.isMajorGc(i), actualStore.isMajorGc(i));
+            assertEquals(expectedStore.isSystemGc(i), actualStore.isSystemGc(i));
+        }
+        assertEquals(1, actualStore.getSystemGcCount());
+
+        GCStatistics statistics = actual.getStatistics();
+        assertEquals(41, statistics.getCount());
+        assertArrayEquals(expected.getStatistics().getTotals(), statistics.getTotals());
+
+        assertEquals(41, actual.getPauseHistogram().getTotalCount());
+        assertEquals(expected.getPauseHistogram().getMinMicros(), actual.getPauseHistogram().getMinMicros());
+        assertEquals(expected.getPauseHistogram().getMaxMicros(), actual.getPauseHistogram().getMaxMicros());
+        for (double percentile : new double[]{50, 90, 99, 100}) {
+            assertEquals(expected.getPauseHistogram().getValueAtPercentileMicros(percentile),
+                    actual.getPauseHistogram().getValueAtPercentileMicros(percentile));
+        }
+        assertEquals(expected.getParseDiagnostics().getTotalLines(), actual.getParseDiagnostics().getTotalLines());
+    }
+
+    private static int parseCount(GCLogParser parser, Path path) throws IOException {
+        try (GCLog gcLog = parser.parseLogFile(path.toString())) {
+            return gcLog.getEventStore().size();
+        }
+    }
+
+    private static List<String> pauses(int fromId, int toId) {
+        List<String> lines = new ArrayList<>();
+        for (int id = fromId; id < toId; id++) {
+            String prefix = String.format(Locale.ROOT, "[%d.000s][info]", id + 1);
+            String gc = " GC(" + id + ")";
+            lines.add(prefix + "[gc          ]" + gc + " Pause Young (Normal) (G1 Evacuation Pause) 150M->100M(512M) 5.000ms");
+            if (id != 2) lines.add(prefix + "[gc,cpu      ]" + gc + " User=0.01s Sys=0.00s Real=0.01s");
+        }
+        return lines;
+    }
+}
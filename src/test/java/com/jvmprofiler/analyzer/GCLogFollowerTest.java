@@ -0,0 +1,84 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.GCPhase;
+import com.jvmprofiler.analyzer.model.GCStatistics;
+import com.jvmprofiler.analyzer.model.PauseAnalysis;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCLogFollowerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void formatIsDetectedFromLinesAppendedAfterTheFirst() throws IOException {
+        Path log = tempDir.resolve("gc.log");
+        append(log, List.of("[0.005s][info][gc,init] Version: 17.0.9+9 (release)"));
+        GCLogFollower follower = new GCLogFollower(log);
+        assertEquals(0, follower.poll());
+
+        List<String> lines = new ArrayList<>();
+        lines.add("[0.010s][info][gc,init] Initializing The Z Garbage Collector");
+        for (int id = 0; id < 3; id++) {
+            String prefix = String.format(Locale.ROOT, "[%d.334s][info]", id + 1);
+            String gc = " GC(" + id + ")";
+            lines.add(prefix + "[gc,start    ]" + gc + " Garbage Collection (Allocation Rate)");
+            lines.add(prefix + "[gc,phases   ]" + gc + " Pause Mark Start 0.012ms");
+            lines.add(prefix + "[gc,phases   ]" + gc + " Concurrent Mark 20.123ms");
+            lines.add(prefix + "[gc,phases   ]" + gc + " Pause Mark End 0.020ms");
+            lines.add(prefix + "[gc,phases   ]" + gc + " Pause Relocate Start 0.010ms");
+            lines.add(prefix + "[gc          ]" + gc + " Garbage Collection (Allocation Rate) 512M(12%)->100M(3%)");
+        }
+        append(log, lines);
+
+        assertEquals(3, follower.poll());
+        assertEquals("ZGC", follower.getGcLog().getGcType());
+        assertEquals(20_123, follower.getGcLog().getEventStore().get(EventField.CONCURRENT_MARK_MICROS, 0));
+        assertEquals(0, follower.getGcLog().getParseDiagnostics().getRejectedLines());
+    }
+
+    @Test
+    void followedLogHasTailPhaseBreakdown() throws IOException {
+        Path log = tempDir.resolve("gc.log");
+        List<String> lines = new ArrayList<>();
+        lines.add("[0.006s][info][gc     ] Using G1");
+        // One pause more than expected: G1 holds the last one back for its gc,cpu line
+        for (int id = 0; id <= 500; id++) {
+            String prefix = String.format(Locale.ROOT, "[%.3fs][info]", 1 + id * 0.5);
+            String gc = " GC(" + id + ")";
+            int evacuateMs = id % 50 == 49 ? 80 : 5;
+            lines.add(prefix + "[gc,phases   ]" + gc + "   Evacuate Collection Set: " + evacuateMs + ".0ms");
+            lines.add(prefix + "[gc,phases   ]" + gc + "   Other: 0.5ms");
+            lines.add(prefix + "[gc          ]" + gc + " Pause Young (Normal) (G1 Evacuation Pause) 150M->100M(512M) "
+                    + (evacuateMs + 1) + ".000ms");
+        }
+        append(log, lines);
+
+        GCLogFollower follower = new GCLogFollower(log);
+        assertEquals(500, follower.poll());
+        PauseAnalysis analysis = follower.getAnalysis();
+
+        GCStatistics statistics = follower.getStatistics();
+        assertEquals(10, statistics.getTailCount());
+        assertEquals(10 * 80_000, statistics.getTailPhaseMicros(GCPhase.EVACUATE));
+        assertEquals(GCPhase.EVACUATE, analysis.getDominantTailPhase());
+        assertTrue(analysis.getTailPhaseBreakdown().containsKey(GCPhase.OTHER));
+    }
+
+    private static void append(Path path, List<String> lines) throws IOException {
+        Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
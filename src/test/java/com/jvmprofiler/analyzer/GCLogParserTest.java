@@ -0,0 +1,164 @@
+package com.jvmprofiler.analyzer;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCLogParserTest {
+    // Large enough to be split into several chunks
+    private static final long PARALLEL_LOG_SIZE = 20L * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parallelParseOfG1LogMatchesSequentialParse() throws IOException {
+        Path log = tempDir.resolve("g1.log");
+        writeLines(log, g1Log(PARALLEL_LOG_SIZE));
+
+        assertSameEvents(parse(log, 1), parse(log, 8));
+    }
+
+    @Test
+    void parallelParseOfZgcLogMatchesSequentialParse() throws IOException {
+        Path log = tempDir.resolve("zgc.log");
+        writeLines(log, zgcLog(PARALLEL_LOG_SIZE));
+
+        GCLog sequential = parse(log, 1);
+        GCLog parallel = parse(log, 8);
+        assertSameEvents(sequential, parallel);
+        assertEquals(sequential.getAllocationStalls().size(), parallel.getAllocationStalls().size());
+    }
+
+    @Test
+    void rotatedSetSplitInsideACycleMatchesSingleFile() throws IOException {
+        List<String> lines = g1Log(256 * 1024);
+        Path single = tempDir.resolve("single.log");
+        writeLines(single, lines);
+
+        // The JVM rotates wherever the file is full, here between a summary and its cpu line
+        int split = lines.size() / 2;
+        while (!lines.get(split).contains("[gc,cpu")) split++;
+        Path rotated = Files.createDirectory(tempDir.resolve("rotated"));
+        writeLines(rotated.resolve("gc.log.0"), lines.subList(0, split));
+        writeLines(rotated.resolve("gc.log"), lines.subList(split, lines.size()));
+
+        assertSameEvents(parse(single, 1), parse(rotated.resolve("gc.log"), 2));
+    }
+
+    private static GCLog parse(Path log, int threads) throws IOException {
+        GCLogParser parser = new GCLogParser(threads);
+        parser.setCacheEnabled(false);
+        return parser.parseLogFile(log.toString());
+    }
+
+    private static void assertSameEvents(GCLog expected, GCLog actual) {
+        EventStore expectedEvents = expected.getEventStore();
+        EventStore actualEvents = actual.getEventStore();
+        assertEquals(expectedEvents.size(), actualEvents.size(), "event count");
+        for (int i = 0; i < expectedEvents.size(); i++) {
+            for (EventField field : EventField.values()) {
+                assertEquals(expectedEvents.get(field, i), actualEvents.get(field, i), field + " of event " + i);
+            }
+            assertEquals(expectedEvents.getGcType(i), actualEvents.getGcType(i), "type of event " + i);
+            assertEquals(expectedEvents.getGcCause(i), actualEvents.getGcCause(i), "cause of event " + i);
+            assertEquals(expectedEvents.isMajorGc(i), actualEvents.isMajorGc(i), "major flag of event " + i);
+        }
+        assertEquals(expected.getParseDiagnostics().getTotalLines(), actual.getParseDiagnostics().getTotalLines());
+        assertTrue(actual.getParseDiagnostics().getRejectedLines() == 0, "all lines parsed");
+    }
+
+    private static void writeLines(Path path, List<String> lines) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * JDK 17 G1 log: each pause is logged over a dozen GC(id) lines
+     */
+    private static List<String> g1Log(long size) {
+        List<String> lines = new ArrayList<>();
+        lines.add("[0.005s][info][gc,init] Version: 17.0.9+9 (release)");
+        lines.add("[0.006s][info][gc     ] Using G1");
+        long bytes = 0;
+        double time = 1.0;
+        for (int id = 0; bytes < size; id++) {
+            time += 0.2 + (id % 7) * 0.05;
+            String decorators = String.format(Locale.ROOT, "[%.3fs][info]", time);
+            String gc = " GC(" + id + ")";
+            List<String> cycle = List.of(
+                    decorators + "[gc,start    ]" + gc + " Pause Young (Normal) (G1 Evacuation Pause)",
+                    decorators + "[gc,task     ]" + gc + " Using " + (4 + id % 5) + " workers of 8 for evacuation",
+                    decorators + "[gc,phases   ]" + gc + "   Pre Evacuate Collection Set: 0." + (id % 9) + "ms",
+                    decorators + "[gc,phases   ]" + gc + "   Merge Heap Roots: 0.2ms",
+                    decorators + "[gc,phases   ]" + gc + "   Evacuate Collection Set: " + (5 + id % 13) + ".4ms",
+                    decorators + "[gc,phases   ]" + gc + "   Post Evacuate Collection Set: 0.5ms",
+                    decorators + "[gc,phases   ]" + gc + "   Other: 0.1ms",
+                    decorators + "[gc,heap     ]" + gc + " Eden regions: 25->0(25)",
+                    decorators + "[gc,heap     ]" + gc + " Old regions: 10->12",
+                    decorators + "[gc          ]" + gc + " Pause Young (Normal) (G1 Evacuation Pause) "
+                            + (150 + id % 50) + "M->100M(512M) " + (6 + id % 13) + ".713ms",
+                    decorators + "[gc,cpu      ]" + gc + " User=0.0" + (id % 10) + "s Sys=0.00s Real=0.01s");
+            for (String line : cycle) {
+                lines.add(line);
+                bytes += line.length() + 1;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * JDK 21 generational ZGC log: pause time comes only from the gc,phases lines of a cycle,
+     * and allocation stalls are added to the next cycle
+     */
+    private static List<String> zgcLog(long size) {
+        List<String> lines = new ArrayList<>();
+        lines.add("[0.010s][info][gc,init] Initializing The Z Garbage Collector");
+        long bytes = 0;
+        double time = 1.0;
+        for (int id = 0; bytes < size; id++) {
+            time += 0.3 + (id % 5) * 0.1;
+            String decorators = String.format(Locale.ROOT, "[%.3fs][info]", time);
+            String gc = " GC(" + id + ")";
+            List<String> cycle = new ArrayList<>(List.of(
+                    decorators + "[gc          ]" + gc + " Minor Collection (Allocation Rate)",
+                    decorators + "[gc,phases   ]" + gc + " y: Young Generation",
+                    decorators + "[gc,phases   ]" + gc + " y: Pause Mark Start 0.0" + (10 + id % 80) + "ms",
+                    decorators + "[gc,phases   ]" + gc + " y: Concurrent Mark " + (5 + id % 30) + ".732ms",
+                    decorators + "[gc,phases   ]" + gc + " y: Pause Mark End 0.016ms",
+                    decorators + "[gc,phases   ]" + gc + " y: Concurrent Select Relocation Set 2.982ms",
+                    decorators + "[gc,phases   ]" + gc + " y: Pause Relocate Start 0.025ms",
+                    decorators + "[gc,phases   ]" + gc + " y: Concurrent Relocate " + (3 + id % 20) + ".593ms",
+                    decorators + "[gc,heap     ]" + gc + " y: Used:              1000M (12%)          1050M (12%)          1050M (12%)          200M (2%)",
+                    decorators + "[gc,heap     ]" + gc + " y: Live:                 -                 50M (1%)           50M (1%)           50M (1%)",
+                    decorators + "[gc,heap     ]" + gc + "  Capacity:     8192M (100%)       8192M (100%)       8192M (100%)       8192M (100%)"));
+            if (id % 3 == 0) {
+                cycle.add(decorators + "[gc          ] Allocation Stall (worker-" + (id % 4) + ") " + (1 + id % 9) + ".250ms");
+            }
+            cycle.add(decorators + "[gc          ]" + gc + " Minor Collection (Allocation Rate) "
+                    + (2000 + id % 100) + "M(25%)->800M(10%) 0.028s");
+            for (String line : cycle) {
+                lines.add(line);
+                bytes += line.length() + 1;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jvmprofiler.analyzer.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventStoreTest {
+
+    @Test
+    void columnarStoreReadsUnsetGroupsAsZero() {
+        assertOptionalGroupsRoundTrip(new ColumnarEventStore());
+    }
+
+    @Test
+    void offHeapStoreReadsUnsetGroupsAsZero() {
+        try (OffHeapEventStore store = new OffHeapEventStore()) {
+            assertOptionalGroupsRoundTrip(store);
+        }
+    }
+
+    @Test
+    void offHeapStoreReservesOnlyCoreRecordsUntilAGroupIsSet() {
+        try (OffHeapEventStore store = new OffHeapEventStore()) {
+            store.add(pause(0));
+            long coreBytes = store.getReservedBytes();
+            assertEquals(80L * 65536, coreBytes);
+
+            GCEvent withCpu = pause(1);
+            withCpu.setCpuRealMicros(500);
+            store.add(withCpu);
+            assertEquals(coreBytes + 4L * Long.BYTES * 65536, store.getReservedBytes());
+        }
+    }
+
+    // 70K events cross a 64K off-heap segment; CPU times start half way through
+    private static void assertOptionalGroupsRoundTrip(EventStore store) {
+        int count = 70_000;
+        for (int i = 0; i < count; i++) {
+            GCEvent event = pause(i);
+            if (i >= count / 2) {
+                event.setCpuUserMicros(i);
+                event.setGcWorkers(4);
+            }
+            store.add(event);
+        }
+
+        assertEquals(count, store.size());
+        for (int i : new int[] {0, count / 2 - 1, count / 2, 65_536, count - 1}) {
+            assertEquals(i * 10L, store.getTimestamp(i));
+            assertEquals(i >= count / 2 ? i : 0, store.get(EventField.CPU_USER_MICROS, i));
+            assertEquals(i >= count / 2 ? 4 : 0, store.get(EventField.GC_WORKERS, i));
+            assertEquals(0, store.get(EventField.LIVE_BYTES, i));
+            assertEquals(0, store.getEvent(i).getPhaseMicros(GCPhase.EVACUATE));
+        }
+        assertEquals(count, store.copyColumn(EventField.CONCURRENT_MARK_MICROS).length);
+        assertEquals(count - 1L, store.copyColumn(EventField.CPU_USER_MICROS)[count - 1]);
+    }
+
+    private static GCEvent pause(int index) {
+        GCEvent event = new GCEvent("Pause Young", index * 10L, 5);
+        event.setHeapBefore(100);
+        event.setHeapAfter(40);
+        return event;
+    }
+}
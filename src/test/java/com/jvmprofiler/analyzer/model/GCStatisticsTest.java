@@ -0,0 +1,39 @@
+package com.jvmprofiler.analyzer.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCStatisticsTest {
+
+    @Test
+    void totalsOnlyKeepsNothingThatGrowsWithTheLog() {
+        ColumnarEventStore store = new ColumnarEventStore();
+        // One pause per minute for an hour, each with CPU times
+        for (int minute = 0; minute < 60; minute++) {
+            GCEvent event = new GCEvent("Pause Young", minute * 60_000L, 200);
+            event.setHeapBefore(100 + minute);
+            event.setHeapAfter(40);
+            event.setCpuUserMicros(400_000);
+            event.setCpuRealMicros(200_000);
+            store.add(event);
+        }
+
+        GCStatistics totals = GCStatistics.totalsOnly().acceptAll(store);
+        assertEquals(60, totals.getCount());
+        assertEquals(60 * 400_000L, totals.getTotalCpuMicros());
+        assertEquals(2.0, totals.getAverageParallelism(), 1e-9);
+        assertTrue(totals.getParallelismByMinute().isEmpty());
+        assertNull(totals.getMostEfficientGc());
+        assertNull(totals.getLeastEfficientGc());
+
+        GCStatistics full = new GCStatistics(100, 500).acceptAll(store);
+        assertEquals(60, full.getParallelismByMinute().size());
+        assertNotNull(full.getMostEfficientGc());
+        assertEquals(59 * 60_000L, full.getMostEfficientGc().getTimestamp());
+        assertEquals(60, full.getLongPauses().getCount());
+    }
+}
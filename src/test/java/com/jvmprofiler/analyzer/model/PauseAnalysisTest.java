@@ -0,0 +1,29 @@
+package com.jvmprofiler.analyzer.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PauseAnalysisTest {
+
+    @Test
+    void issueDescriptionsMayContainColons() {
+        PauseAnalysis analysis = new PauseAnalysis();
+        analysis.addIssue("LONG_PAUSES", "Worst pause at 12:30:05: 1.2 s (-XX:MaxGCPauseMillis=200)", "CRITICAL");
+
+        PauseAnalysis.Issue issue = PauseAnalysis.parseIssue(analysis.getIssues().get(0));
+        assertEquals("LONG_PAUSES", issue.getCode());
+        assertEquals("Worst pause at 12:30:05: 1.2 s (-XX:MaxGCPauseMillis=200)", issue.getDescription());
+        assertEquals("CRITICAL", issue.getSeverity());
+        assertEquals(1, analysis.getCriticalIssueCount());
+    }
+
+    @Test
+    void issueWithoutSeparatorsIsABareDescription() {
+        PauseAnalysis.Issue issue = PauseAnalysis.parseIssue("Something odd");
+        assertNull(issue.getCode());
+        assertEquals("Something odd", issue.getDescription());
+        assertNull(issue.getSeverity());
+    }
+}
@@ -0,0 +1,64 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.GCPhase;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class G1GCParserTest {
+
+    @Test
+    void cyclesWithoutSummaryAreReportedWhenEvicted() {
+        G1GCParser parser = new G1GCParser();
+        GCLog gcLog = new GCLog();
+        int truncated = GCEventAssembler.DEFAULT_MAX_IN_FLIGHT + 10;
+        for (int id = 0; id < truncated; id++) {
+            parse(parser, gcLog, "[2.862s][info][gc,phases   ] GC(" + id + ")   Evacuate Collection Set: 11.7ms");
+        }
+        parse(parser, gcLog, "[2.870s][info][gc          ] GC(" + truncated
+                + ") Pause Young (Normal) (G1 Evacuation Pause) 150M->100M(512M) 14.638ms");
+        parser.finish(gcLog);
+
+        ParseDiagnostics diagnostics = gcLog.getParseDiagnostics();
+        assertEquals(1, gcLog.getEventStore().size());
+        assertEquals(10, diagnostics.getCount(Category.PARTIAL));
+        assertTrue(diagnostics.getSamples().get(0).getLine().startsWith("GC(0)"));
+    }
+
+    @Test
+    void logWithoutLevelDecoratorIsParsed() {
+        // -Xlog:gc*:file=gc.log:time,uptime,pid,tid,tags
+        String prefix = "[2024-01-01T10:00:02.862+0000][2.862s][7280][7296]";
+        G1GCParser parser = new G1GCParser();
+        GCLog gcLog = new GCLog();
+        parse(parser, gcLog, prefix + "[gc,init     ] Version: 17.0.9+9 (release)");
+        parse(parser, gcLog, prefix + "[gc,start    ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)");
+        parse(parser, gcLog, prefix + "[gc,task     ] GC(0) Using 8 workers of 8 for evacuation");
+        parse(parser, gcLog, prefix + "[gc,phases   ] GC(0)   Evacuate Collection Set: 11.7ms");
+        parse(parser, gcLog, prefix + "[gc          ] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 150M->100M(512M) 14.638ms");
+        parse(parser, gcLog, prefix + "[gc,cpu      ] GC(0) User=0.05s Sys=0.00s Real=0.02s");
+        parser.finish(gcLog);
+
+        EventStore events = gcLog.getEventStore();
+        assertEquals(1, events.size());
+        assertEquals("Pause Young (Normal)", events.getGcType(0));
+        assertEquals(2_862, events.getTimestamp(0));
+        assertEquals(1704103202862L, events.get(EventField.EPOCH_MILLIS, 0));
+        assertEquals(14_638, events.getDurationMicros(0));
+        assertEquals(8, events.get(EventField.GC_WORKERS, 0));
+        assertEquals(11_700, events.getEvent(0).getPhaseMicros(GCPhase.EVACUATE));
+        assertEquals(50_000, events.get(EventField.CPU_USER_MICROS, 0));
+        assertEquals(0, gcLog.getParseDiagnostics().getRejectedLines());
+    }
+
+    private static void parse(G1GCParser parser, GCLog gcLog, String line) {
+        gcLog.getParseDiagnostics().nextLine(0);
+        parser.parseLine(line, gcLog);
+    }
+}
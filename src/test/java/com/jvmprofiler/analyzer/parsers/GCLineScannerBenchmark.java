@@ -0,0 +1,129 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lines per second of {@link GCLineScanner} against the named-group regexes G1GCParser used
+ * before it, tokenizing the same summary lines into the same fields. Not a unit test; run with
+ * {@code java -cp target/classes:target/test-classes com.jvmprofiler.analyzer.parsers.GCLineScannerBenchmark}.
+ *
+ * The regexes only understand the pre-JDK 17 summary form, so both sides read that form.
+ */
+public class GCLineScannerBenchmark {
+    private static final int LINES = 100_000;
+    private static final int ROUNDS = 15;
+    private static final int WARMUP_ROUNDS = 5;
+
+    // Copied from the regex path
+    private static final Pattern G1_PATTERN = Pattern.compile(
+            "\\[(?<timestamp>\\d+\\.\\d+)s\\]\\[info\\]\\[gc.*?\\]\\s+" +
+                    "(?<type>G1.*?)\\s+" +
+                    "\\((?<cause>.*?)\\)\\s+" +
+                    "(?<before>\\d+)(?:K|M)?->(?<after>\\d+)(?:K|M)?->(?<committed>\\d+)(?:K|M)?\\s+" +
+                    "(?<duration>\\d+\\.\\d+)s"
+    );
+
+    private static final Pattern MEMORY_PATTERN = Pattern.compile(
+            "\\[(?<youngBefore>\\d+)K->(?<youngAfter>\\d+)K\\((?<youngCommitted>\\d+)K\\)\\]\\s+" +
+                    "\\[(?<oldBefore>\\d+)K->(?<oldAfter>\\d+)K\\((?<oldCommitted>\\d+)K\\)\\]"
+    );
+
+    public static void main(String[] args) {
+        List<String> lines = sampleLines();
+        GCLineScanner scanner = new GCLineScanner();
+
+        long sink = 0;
+        double[] speedups = new double[ROUNDS - WARMUP_ROUNDS];
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (String line : lines) sink += regex(line);
+            long regexNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (String line : lines) sink += scan(scanner, line);
+            long scannerNanos = System.nanoTime() - start;
+
+            double speedup = (double) regexNanos / scannerNanos;
+            if (round > WARMUP_ROUNDS) speedups[round - WARMUP_ROUNDS - 1] = speedup;
+            System.out.printf(Locale.ROOT, "round %2d: regex %5.2f M lines/s, scanner %5.2f M lines/s, %.1fx%n",
+                    round, LINES * 1e3 / regexNanos, LINES * 1e3 / scannerNanos, speedup);
+        }
+        Arrays.sort(speedups);
+        System.out.printf(Locale.ROOT, "median speedup after warm-up: %.1fx (checksum %d)%n",
+                speedups[speedups.length / 2], sink);
+    }
+
+    private static List<String> sampleLines() {
+        List<String> lines = new ArrayList<>(LINES);
+        for (int i = 0; i < LINES; i++) {
+            String type = i % 10 == 9 ? "G1 Mixed Generation" : "G1 Young Generation";
+            lines.add(String.format(Locale.ROOT,
+                    "[%d.%03ds][info][gc] %s (G1 Evacuation Pause) %dK->%dK->400000K 0.%06ds "
+                            + "[%dK->0K(%dK)] [%dK->%dK(%dK)]",
+                    i / 2, i % 1000, type, 150_000 + i % 5000, 100_000 + i % 3000, 10_000 + i % 999,
+                    50_000 + i % 777, 60_000, 100_000 + i % 3000, 101_000 + i % 3000, 340_000));
+        }
+        return lines;
+    }
+
+    private static long regex(String line) {
+        Matcher matcher = G1_PATTERN.matcher(line);
+        if (!matcher.find()) return 0;
+        long timestamp = (long) (Double.parseDouble(matcher.group("timestamp")) * 1000);
+        String type = matcher.group("type").trim();
+        String cause = matcher.group("cause").trim();
+        long before = parseMemorySize(matcher.group("before"));
+        long after = parseMemorySize(matcher.group("after"));
+        long committed = parseMemorySize(matcher.group("committed"));
+        long duration = (long) (Double.parseDouble(matcher.group("duration")) * 1000);
+
+        long oldAfter = 0;
+        Matcher memMatcher = MEMORY_PATTERN.matcher(line);
+        if (memMatcher.find()) {
+            parseMemorySize(memMatcher.group("youngBefore"));
+            parseMemorySize(memMatcher.group("youngAfter"));
+            parseMemorySize(memMatcher.group("oldBefore"));
+            oldAfter = parseMemorySize(memMatcher.group("oldAfter"));
+        }
+        return timestamp + type.length() + cause.length() + before + after + committed + duration + oldAfter;
+    }
+
+    private static long parseMemorySize(String sizeStr) {
+        if (sizeStr.endsWith("K")) {
+            return Long.parseLong(sizeStr.replace("K", "")) * 1024;
+        } else if (sizeStr.endsWith("M")) {
+            return Long.parseLong(sizeStr.replace("M", "")) * 1024 * 1024;
+        }
+        return Long.parseLong(sizeStr);
+    }
+
+    // Same fields the way G1GCParser reads them
+    private static long scan(GCLineScanner s, String line) {
+        s.reset(line);
+        if (!s.parseHeader() || !s.hasTimestamp() || !s.levelIs("info") || !s.tagsStartWith("gc")) return 0;
+
+        int descriptionStart = s.position();
+        int transitionStart = s.findHeapTransition();
+        if (transitionStart < 0) return 0;
+        int causeStart = s.openingParenBefore(transitionStart);
+        String type = s.text(descriptionStart, causeStart);
+        String cause = s.text(causeStart + 1, line.lastIndexOf(')', transitionStart));
+        long before = s.getHeapBefore();
+        long after = s.getHeapAfter();
+        long committed = s.getHeapCommitted();
+        s.skipWhitespace();
+        long duration = Math.round(s.parseDurationMillis() * 1000);
+
+        long oldAfter = 0;
+        if (s.skipPast("[") && s.findHeapTransition() >= 0 && s.skipPast("[") && s.findHeapTransition() >= 0) {
+            oldAfter = s.getHeapAfter();
+        }
+        return s.getTimestampMillis() + type.length() + cause.length() + before + after + committed + duration
+                + oldAfter;
+    }
+}
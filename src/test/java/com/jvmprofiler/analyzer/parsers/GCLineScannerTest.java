@@ -0,0 +1,192 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GCLineScannerTest {
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+    private static final long GB = 1024 * MB;
+
+    private final GCLineScanner scanner = new GCLineScanner();
+
+    @Test
+    void parsesDecimalsAndIntegersInPlace() {
+        GCLineScanner s = scanner.reset("12.345 7 x");
+        assertEquals(12.345, s.parseDecimal(), 1e-9);
+        s.skipWhitespace();
+        assertEquals(7, s.parseLong());
+        s.skipWhitespace();
+        assertTrue(Double.isNaN(s.parseDecimal()));
+        assertEquals(-1, s.parseLong());
+        assertEquals(9, s.position());
+
+        // A trailing dot is not part of the number
+        s = scanner.reset("42.");
+        assertEquals(42.0, s.parseDecimal());
+        assertEquals(2, s.position());
+    }
+
+    @Test
+    void appliesMemoryUnits() {
+        assertEquals(1024 * KB, scanner.reset("1024K").parseMemory());
+        assertEquals(12 * MB, scanner.reset("12M").parseMemory());
+        assertEquals(3 * GB / 2, scanner.reset("1.5G").parseMemory());
+        assertEquals(4096, scanner.reset("4096B").parseMemory());
+        assertEquals(4096, scanner.reset("4096").parseMemory());
+        assertEquals(-1, scanner.reset("M").parseMemory());
+    }
+
+    @Test
+    void convertsDurationsToMilliseconds() {
+        assertEquals(12.345, scanner.reset("12.345ms").parseDurationMillis(), 1e-9);
+        assertEquals(12.0, scanner.reset("0.012s").parseDurationMillis(), 1e-9);
+        assertEquals(12.3, scanner.reset("0.0123 secs").parseDurationMillis(), 1e-9);
+        assertEquals(0.5, scanner.reset("500us").parseDurationMillis(), 1e-9);
+        assertEquals(0.25, scanner.reset("250000ns").parseDurationMillis(), 1e-9);
+
+        GCLineScanner s = scanner.reset("512M rest");
+        assertTrue(Double.isNaN(s.parseDurationMillis()));
+        assertEquals(0, s.position());
+    }
+
+    @Test
+    void findsHeapTransitionsInEachForm() {
+        GCLineScanner s = scanner.reset("Pause Young (Normal) (G1 Evacuation Pause) 24M->4M(256M) 3.456ms");
+        assertEquals(43, s.findHeapTransition());
+        assertEquals(24 * MB, s.getHeapBefore());
+        assertEquals(4 * MB, s.getHeapAfter());
+        assertEquals(256 * MB, s.getHeapCommitted());
+        s.skipWhitespace();
+        assertEquals(3.456, s.parseDurationMillis(), 1e-9);
+
+        s = scanner.reset("G1 Young Generation (G1 Evacuation Pause) 180999K->112489K->400000K 0.2s");
+        assertTrue(s.findHeapTransition() > 0);
+        assertEquals(400000 * KB, s.getHeapCommitted());
+
+        s = scanner.reset("DefNew: 4416K(4928K)->512K(4928K) Eden: 4416K(4416K)->0K(4416K)");
+        assertEquals(8, s.findHeapTransition());
+        assertEquals(4416 * KB, s.getHeapBefore());
+        assertEquals(512 * KB, s.getHeapAfter());
+        assertEquals(4928 * KB, s.getHeapCommitted());
+
+        // ZGC percentages are not a committed size
+        s = scanner.reset("Garbage Collection (Warmup) 512M(12%)->100M(3%)");
+        assertTrue(s.findHeapTransition() > 0);
+        assertEquals(512 * MB, s.getHeapBefore());
+        assertEquals(100 * MB, s.getHeapAfter());
+        assertEquals(0, s.getHeapCommitted());
+
+        assertEquals(-1, scanner.reset("Eden regions: ->").findHeapTransition());
+    }
+
+    @Test
+    void findsCpuTimesInBothForms() {
+        GCLineScanner s = scanner.reset("User=0.12s Sys=0.01s Real=0.02s");
+        assertTrue(s.findCpuTimes());
+        assertEquals(120_000, s.getCpuUserMicros());
+        assertEquals(10_000, s.getCpuSysMicros());
+        assertEquals(20_000, s.getCpuRealMicros());
+
+        s = scanner.reset("0.0120 secs] [Times: user=0.05 sys=0.00, real=0.01 secs]");
+        assertTrue(s.findCpuTimes());
+        assertEquals(50_000, s.getCpuUserMicros());
+        assertEquals(10_000, s.getCpuRealMicros());
+
+        assertFalse(scanner.reset("User=0.12s").findCpuTimes());
+    }
+
+    @Test
+    void parsesUptimeLevelTagsAndGcId() {
+        GCLineScanner s = scanner.reset("[260.044s][info][gc,phases   ] GC(24)   Evacuate Collection Set: 7.2ms");
+        assertTrue(s.parseHeader());
+        assertTrue(s.hasUptime());
+        assertEquals(260_044, s.getTimestampMillis());
+        assertEquals(0, s.getEpochMillis());
+        assertTrue(s.levelIs("info"));
+        assertTrue(s.tagsAre("gc,phases"));
+        assertTrue(s.tagsStartWith("gc"));
+        assertEquals(24, s.getGcId());
+        assertTrue(s.consume("Evacuate"));
+
+        s = scanner.reset("[0.006s][info][gc     ] Using G1");
+        assertTrue(s.parseHeader());
+        assertTrue(s.tagsAre("gc"));
+        assertEquals(-1, s.getGcId());
+
+        assertFalse(scanner.reset("1.509: [GC (Allocation Failure)").parseHeader());
+    }
+
+    @Test
+    void parsesEveryTimeDecorator() {
+        // -Xlog:gc*=debug:file=gc.log:time,uptimemillis,hostname,pid,tid,level,tags
+        GCLineScanner s = scanner.reset(
+                "[2024-01-01T10:00:00.123+0100][12345ms][build-07][7280][7281][debug][gc,heap     ] GC(3) Heap");
+        assertTrue(s.parseHeader());
+        assertEquals(12_345, s.getUptimeMillis());
+        assertEquals(1704099600123L, s.getEpochMillis());
+        assertTrue(s.levelIs("debug"));
+        assertFalse(s.levelIsOrMissing("info"));
+        assertTrue(s.tagsAre("gc,heap"));
+        assertEquals(3, s.getGcId());
+        assertTrue(s.consume("Heap"));
+
+        s = scanner.reset("[12345678901ns][info][gc] GC(0) Pause");
+        assertTrue(s.parseHeader());
+        assertEquals(12_346, s.getUptimeMillis());
+
+        // Large millisecond values are wall-clock times, which stand in for a missing uptime
+        s = scanner.reset("[1704103200123ms][info][gc] GC(0) Pause");
+        assertTrue(s.parseHeader());
+        assertFalse(s.hasUptime());
+        assertEquals(1704103200123L, s.getEpochMillis());
+        assertEquals(1704103200123L, s.getTimestampMillis());
+    }
+
+    @Test
+    void findsTagsWithoutALevelDecorator() {
+        // -Xlog:gc*:file=gc.log:time,uptimemillis,pid,tid,tags
+        GCLineScanner s = scanner.reset("[2024-01-01T10:00:00.123+0100][12345ms][7280][7281][gc,heap     ] GC(3) Heap");
+        assertTrue(s.parseHeader());
+        assertEquals(12_345, s.getUptimeMillis());
+        assertFalse(s.levelIs("info"));
+        assertTrue(s.levelIsOrMissing("info"));
+        assertTrue(s.tagsStartWith("gc"));
+        assertTrue(s.tagsAre("gc,heap"));
+        assertEquals(3, s.getGcId());
+
+        // A gc tag set is preferred over other unknown groups such as the hostname
+        s = scanner.reset("[0.637s][gc][build-07] GC(0) Pause Young (Allocation Failure)");
+        assertTrue(s.parseHeader());
+        assertTrue(s.tagsAre("gc"));
+
+        // Non-gc tags are still found after the hostname
+        s = scanner.reset("[0.637s][build-07][safepoint   ] Safepoint \"G1CollectForAllocation\"");
+        assertTrue(s.parseHeader());
+        assertTrue(s.tagsAre("safepoint"));
+        assertFalse(s.tagsStartWith("gc"));
+    }
+
+    @Test
+    void parsesDateStampsWithOffsets() {
+        assertEquals(1704103200123L, scanner.reset("2024-01-01T10:00:00.123+0000").dateStampAt(0));
+        assertEquals(1704103200123L, scanner.reset("2024-01-01T05:30:00.123-0430").dateStampAt(0));
+        assertEquals(1704103200123L, scanner.reset("x 2024-01-01T10:00:00.123+0000: 1.2").dateStampAt(2));
+
+        assertEquals(-1, scanner.reset("2024-02-30T10:00:00.123+0000").dateStampAt(0));
+        assertEquals(-1, scanner.reset("2024-13-01T10:00:00.123+0000").dateStampAt(0));
+        assertEquals(-1, scanner.reset("2024-01-01 10:00:00.123+0000").dateStampAt(0));
+        assertEquals(-1, scanner.reset("2024-01-01T10:00:00.123").dateStampAt(0));
+    }
+
+    @Test
+    void internsRepeatedText() {
+        String first = scanner.reset("[1.0s][info][gc] Pause Young (Normal)").text(17, 28);
+        String second = scanner.reset("[2.0s][info][gc] Pause Young (Normal)").text(17, 28);
+        assertEquals("Pause Young", first);
+        assertTrue(first == second);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GCParserRegistryTest {
+
+    @Test
+    void everyProviderIsRegistered() {
+        assertEquals(9, GCParserRegistry.getProviders().size());
+    }
+
+    @Test
+    void detectsUnifiedLoggingHeaders() {
+        assertDetected(G1GCParser.Provider.class, "[0.006s][info][gc     ] Using G1");
+        assertDetected(ZGCParser.Provider.class, "[0.010s][info][gc,init] Initializing The Z Garbage Collector");
+        assertDetected(ShenandoahParser.Provider.class, "[0.005s][info][gc] Using Shenandoah");
+        assertDetected(SerialGCParser.Provider.class, "[0.004s][info][gc] Using Serial");
+        assertDetected(ParallelGCParser.Provider.class, "CommandLineFlags: -XX:+UseParallelGC");
+    }
+
+    @Test
+    void detectsJdk8FlagsAndSections() {
+        String flags = "CommandLine flags: -XX:InitialHeapSize=268435456 -XX:+PrintGCDetails ";
+        assertDetected(LegacyGCParser.ParallelProvider.class, flags + "-XX:+UseParallelGC");
+        assertDetected(LegacyGCParser.CMSProvider.class, flags + "-XX:+UseConcMarkSweepGC -XX:+UseParNewGC");
+        assertDetected(LegacyGCParser.G1Provider.class, flags + "-XX:+UseG1GC");
+        assertDetected(LegacyGCParser.SerialProvider.class, flags + "-XX:+UseSerialGC");
+
+        assertDetected(LegacyGCParser.ParallelProvider.class,
+                "1.509: [GC (Allocation Failure) [PSYoungGen: 65536K->10720K(76288K)] 165536K->110728K(251392K), 0.0176942 secs]");
+        assertDetected(LegacyGCParser.CMSProvider.class,
+                "1.994: [GC (Allocation Failure) 1.994: [ParNew: 69952K->8704K(78656K), 0.0119322 secs] 169952K->112345K(253440K), 0.0120322 secs]");
+        assertDetected(LegacyGCParser.G1Provider.class,
+                "2024-01-01T10:00:02.286+0000: 2.287: [GC pause (G1 Evacuation Pause) (young), 0.0269061 secs]");
+        assertDetected(LegacyGCParser.SerialProvider.class,
+                "0.400: [GC (Allocation Failure) 0.400: [DefNew: 4416K->512K(4928K), 0.0023 secs] 4416K->1786K(15872K), 0.0024 secs]");
+    }
+
+    @Test
+    void firstRecognisedLineWins() {
+        GCParserProvider provider = GCParserRegistry.detect(List.of(
+                "[0.005s][info][gc,init] Version: 17.0.8+7 (release)",
+                "[0.006s][info][gc] Using Shenandoah",
+                "[0.007s][info][gc,init] Using G1 barriers? no"));
+        assertEquals(ShenandoahParser.Provider.class, provider.getClass());
+    }
+
+    @Test
+    void unknownFormatIsNotDetected() {
+        assertNull(GCParserRegistry.detect(List.of("[0.005s][info][gc,init] Version: 17.0.8+7 (release)", "")));
+    }
+
+    private static void assertDetected(Class<?> expected, String line) {
+        GCParserProvider provider = GCParserRegistry.detect(List.of(line));
+        assertEquals(expected, provider == null ? null : provider.getClass(), line);
+    }
+}
@@ -0,0 +1,187 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics;
+import com.jvmprofiler.analyzer.model.ParseDiagnostics.Category;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LegacyGCParserTest {
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+
+    @Test
+    void parallelYoungCollection() {
+        EventStore events = parse(
+                "2024-01-01T10:00:01.509+0000: 1.509: [GC (Allocation Failure) [PSYoungGen: 65536K->10720K(76288K)] "
+                        + "165536K->110728K(251392K), 0.0176942 secs] [Times: user=0.07 sys=0.01, real=0.02 secs] ").getEventStore();
+
+        assertEquals(1, events.size());
+        assertEquals("Pause Young", events.getGcType(0));
+        assertEquals("Allocation Failure", events.getGcCause(0));
+        assertFalse(events.isMajorGc(0));
+        assertEquals(17_694, events.getDurationMicros(0));
+        // Decorated with the start of the pause, stamped with its end
+        assertEquals(1509 + 18, events.getTimestamp(0));
+        assertEquals(Instant.parse("2024-01-01T10:00:01.509Z").toEpochMilli() + 18, events.get(EventField.EPOCH_MILLIS, 0));
+        assertEquals(165536 * KB, events.getHeapBefore(0));
+        assertEquals(110728 * KB, events.getHeapAfter(0));
+        assertEquals(251392 * KB, events.getHeapCommitted(0));
+        assertEquals(65536 * KB, events.get(EventField.YOUNG_BEFORE, 0));
+        assertEquals(10720 * KB, events.get(EventField.YOUNG_AFTER, 0));
+        // Only the young generation is logged; the old one is the rest of the heap
+        assertEquals(100000 * KB, events.get(EventField.OLD_BEFORE, 0));
+        assertEquals(100008 * KB, events.getOldAfter(0));
+        assertEquals(70_000, events.get(EventField.CPU_USER_MICROS, 0));
+        assertEquals(10_000, events.get(EventField.CPU_SYS_MICROS, 0));
+        assertEquals(20_000, events.get(EventField.CPU_REAL_MICROS, 0));
+    }
+
+    @Test
+    void parallelFullCollection() {
+        EventStore events = parse(
+                "92.809: [Full GC (Ergonomics) [PSYoungGen: 10720K->0K(76288K)] [ParOldGen: 170000K->90498K(175104K)] "
+                        + "180720K->90498K(251392K), [Metaspace: 3000K->3000K(1056768K)], 0.4354711 secs] "
+                        + "[Times: user=1.74 sys=0.01, real=0.44 secs] ").getEventStore();
+
+        assertEquals(1, events.size());
+        assertEquals("Pause Full", events.getGcType(0));
+        assertEquals("Ergonomics", events.getGcCause(0));
+        assertTrue(events.isMajorGc(0));
+        assertEquals(92_809 + 435, events.getTimestamp(0));
+        assertEquals(0, events.get(EventField.EPOCH_MILLIS, 0));
+        assertEquals(180720 * KB, events.getHeapBefore(0));
+        assertEquals(90498 * KB, events.getHeapAfter(0));
+        assertEquals(170000 * KB, events.get(EventField.OLD_BEFORE, 0));
+        assertEquals(90498 * KB, events.getOldAfter(0));
+    }
+
+    @Test
+    void parNewCollection() {
+        EventStore events = parse(
+                "1.994: [GC (Allocation Failure) 1.994: [ParNew: 69952K->8704K(78656K), 0.0119322 secs] "
+                        + "169952K->112345K(253440K), 0.0120322 secs] [Times: user=0.05 sys=0.01, real=0.01 secs] ").getEventStore();
+
+        assertEquals(1, events.size());
+        assertEquals("Pause Young", events.getGcType(0));
+        assertFalse(events.isMajorGc(0));
+        assertEquals(12_032, events.getDurationMicros(0));
+        assertEquals(1994 + 12, events.getTimestamp(0));
+        assertEquals(169952 * KB, events.getHeapBefore(0));
+        assertEquals(112345 * KB, events.getHeapAfter(0));
+        assertEquals(69952 * KB, events.get(EventField.YOUNG_BEFORE, 0));
+        assertEquals(8704 * KB, events.get(EventField.YOUNG_AFTER, 0));
+    }
+
+    @Test
+    void cmsInitialMarkAndRemark() {
+        EventStore events = parse(
+                "10.682: [GC (CMS Initial Mark) [1 CMS-initial-mark: 104000K(174784K)] 120000K(253440K), 0.0012000 secs] "
+                        + "[Times: user=0.00 sys=0.01, real=0.00 secs] ",
+                "10.682: [CMS-concurrent-mark-start]",
+                "10.782: [CMS-concurrent-mark: 0.080/0.090 secs] [Times: user=0.36 sys=0.01, real=0.09 secs] ",
+                "10.882: [GC (CMS Final Remark) [YG occupancy: 1000 K (78656 K)]10.882: [Rescan (parallel) , 0.0010000 secs]"
+                        + "10.882: [weak refs processing, 0.0000100 secs][1 CMS-remark: 104000K(174784K)] 105000K(253440K), "
+                        + "0.0050000 secs] [Times: user=0.02 sys=0.01, real=0.01 secs] ").getEventStore();
+
+        assertEquals(2, events.size());
+        assertEquals("Pause Initial Mark", events.getGcType(0));
+        assertFalse(events.isMajorGc(0));
+        assertEquals(1_200, events.getDurationMicros(0));
+        assertEquals(120000 * KB, events.getHeapBefore(0));
+        assertEquals(120000 * KB, events.getHeapAfter(0));
+        assertEquals(253440 * KB, events.getHeapCommitted(0));
+
+        assertEquals("Pause Remark", events.getGcType(1));
+        assertTrue(events.isMajorGc(1));
+        assertEquals(5_000, events.getDurationMicros(1));
+        assertEquals(10_882 + 5, events.getTimestamp(1));
+        assertEquals(105000 * KB, events.getHeapAfter(1));
+        // The concurrent mark that ran before the remark, wall-clock time
+        assertEquals(90_000, events.get(EventField.CONCURRENT_MARK_MICROS, 1));
+    }
+
+    @Test
+    void cmsConcurrentModeFailureIsAFullCollection() {
+        EventStore events = parse(
+                "5.000: [GC (Allocation Failure) 5.000: [ParNew: 78656K->78656K(78656K), 0.0000200 secs]"
+                        + "5.000: [CMS (concurrent mode failure): 170000K->90000K(174784K), 0.3000000 secs] "
+                        + "248656K->90000K(253440K), [Metaspace: 3000K->3000K(1056768K)], 0.3001000 secs] "
+                        + "[Times: user=0.30 sys=0.00, real=0.30 secs] ").getEventStore();
+
+        assertEquals(1, events.size());
+        assertTrue(events.isMajorGc(0));
+        assertEquals(300_100, events.getDurationMicros(0));
+        assertEquals(248656 * KB, events.getHeapBefore(0));
+        assertEquals(90000 * KB, events.getHeapAfter(0));
+        assertEquals(170000 * KB, events.get(EventField.OLD_BEFORE, 0));
+        assertEquals(90000 * KB, events.getOldAfter(0));
+    }
+
+    @Test
+    void g1PauseOverSeveralLines() {
+        EventStore events = parse(
+                "2024-01-01T10:00:04.808+0000: 4.809: [GC pause (G1 Evacuation Pause) (young) (initial-mark), 0.0101345 secs]",
+                "   [Parallel Time: 9.1 ms, GC Workers: 8]",
+                "      [GC Worker Start (ms): Min: 100.0, Avg: 100.1, Max: 100.2, Diff: 0.2]",
+                "   [Eden: 24.0M(24.0M)->0.0B(20.0M) Survivors: 0.0B->3072.0K Heap: 124.0M(256.0M)->105000.0K(256.0M)]",
+                " [Times: user=0.04 sys=0.01, real=0.01 secs] ",
+                "2024-01-01T10:00:05.890+0000: 5.890: [GC pause (G1 Evacuation Pause) (mixed), 0.0210563 secs]",
+                "   [Eden: 24.0M(24.0M)->0.0B(20.0M) Survivors: 3072.0K->3072.0K Heap: 124.0M(256.0M)->90.0M(256.0M)]",
+                " [Times: user=0.08 sys=0.01, real=0.02 secs] ").getEventStore();
+
+        assertEquals(2, events.size());
+        assertEquals("Pause Young (Concurrent Start)", events.getGcType(0));
+        assertEquals("G1 Evacuation Pause", events.getGcCause(0));
+        assertFalse(events.isMajorGc(0));
+        assertEquals(4_809 + 10, events.getTimestamp(0));
+        assertEquals(8, events.get(EventField.GC_WORKERS, 0));
+        assertEquals(124 * MB, events.getHeapBefore(0));
+        assertEquals(105000 * KB, events.getHeapAfter(0));
+        assertEquals(256 * MB, events.getHeapCommitted(0));
+        assertEquals(24 * MB, events.get(EventField.YOUNG_BEFORE, 0));
+        assertEquals(3072 * KB, events.get(EventField.YOUNG_AFTER, 0));
+        assertEquals(100 * MB, events.get(EventField.OLD_BEFORE, 0));
+        assertEquals(40_000, events.get(EventField.CPU_USER_MICROS, 0));
+
+        assertEquals("Pause Mixed", events.getGcType(1));
+        assertTrue(events.isMajorGc(1));
+        assertEquals(90 * MB, events.getHeapAfter(1));
+        assertEquals(87 * MB, events.getOldAfter(1));
+    }
+
+    @Test
+    void truncatedLinesAreReportedNotParsed() {
+        GCLog gcLog = parse(
+                "1.994: [GC (Allocation Failure) 1.994: [ParNew: 69952K->8704K(78656K), 0.0119322 secs] 169952K->1123",
+                "2.287: [GC pause (G1 Evacuation Pause) (young), 0.02",
+                "3.000: [Full GC (Ergonomics) [PSYoungGen: 10720K->0K(76288K)] [ParOldGen: 170000K->90498K(175104K)] "
+                        + "180720K->90498K(251392K), [Metaspace: 3000K->3000K(1056768K)], 0.4354711 secs] "
+                        + "[Times: user=1.74 sys=0.01, real=0.44 secs] ");
+
+        EventStore events = gcLog.getEventStore();
+        ParseDiagnostics diagnostics = gcLog.getParseDiagnostics();
+        assertEquals(1, events.size());
+        assertEquals("Pause Full", events.getGcType(0));
+        assertEquals(2, diagnostics.getCount(Category.MALFORMED));
+        assertEquals(2, diagnostics.getRejectedLines());
+    }
+
+    private static GCLog parse(String... lines) {
+        GCLog gcLog = new GCLog();
+        LegacyGCParser parser = new LegacyGCParser();
+        for (String line : lines) {
+            gcLog.getParseDiagnostics().nextLine(0);
+            parser.parseLine(line, gcLog);
+        }
+        parser.finish(gcLog);
+        return gcLog;
+    }
+}
@@ -0,0 +1,62 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SerialGCParserTest {
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+
+    @Test
+    void youngAndFullCollections() {
+        EventStore events = parse(
+                "[0.004s][info][gc] Using Serial",
+                "[0.637s][info][gc,start    ] GC(0) Pause Young (Allocation Failure)",
+                "[0.637s][info][gc,heap     ] GC(0) DefNew: 4416K(4928K)->512K(4928K) Eden: 4416K(4416K)->0K(4416K) From: 0K(512K)->512K(512K)",
+                "[0.637s][info][gc,heap     ] GC(0) Tenured: 1000K(10944K)->1786K(10944K)",
+                "[0.637s][info][gc,metaspace] GC(0) Metaspace: 300K(512K)->300K(512K)",
+                "[0.637s][info][gc          ] GC(0) Pause Young (Allocation Failure) 5M->2M(15M) 2.360ms",
+                "[0.637s][info][gc,cpu      ] GC(0) User=0.01s Sys=0.00s Real=0.01s",
+                "[29.815s][info][gc,start    ] GC(49) Pause Full (System.gc())",
+                "[29.815s][info][gc,heap     ] GC(49) Tenured: 1000K(10944K)->800K(10944K)",
+                "[29.815s][info][gc          ] GC(49) Pause Full (System.gc()) 5M->2M(15M) 88.153ms");
+
+        assertEquals(2, events.size());
+        assertEquals("Pause Young", events.getGcType(0));
+        assertEquals("Allocation Failure", events.getGcCause(0));
+        assertFalse(events.isMajorGc(0));
+        assertEquals(2_360, events.getDurationMicros(0));
+        assertEquals(637, events.getTimestamp(0));
+        assertEquals(5 * MB, events.getHeapBefore(0));
+        assertEquals(2 * MB, events.getHeapAfter(0));
+        assertEquals(15 * MB, events.getHeapCommitted(0));
+        assertEquals(4416 * KB, events.get(EventField.YOUNG_BEFORE, 0));
+        assertEquals(512 * KB, events.get(EventField.YOUNG_AFTER, 0));
+        assertEquals(1000 * KB, events.get(EventField.OLD_BEFORE, 0));
+        assertEquals(1786 * KB, events.getOldAfter(0));
+        assertEquals(10_000, events.get(EventField.CPU_USER_MICROS, 0));
+        assertEquals(10_000, events.get(EventField.CPU_REAL_MICROS, 0));
+
+        assertEquals("Pause Full", events.getGcType(1));
+        assertEquals("System.gc()", events.getGcCause(1));
+        assertTrue(events.isMajorGc(1));
+        assertTrue(events.isSystemGc(1));
+        assertEquals(88_153, events.getDurationMicros(1));
+        assertEquals(800 * KB, events.getOldAfter(1));
+    }
+
+    private static EventStore parse(String... lines) {
+        GCLog gcLog = new GCLog();
+        new SerialGCParser().parse(List.of(lines), gcLog);
+        assertEquals(0, gcLog.getParseDiagnostics().getRejectedLines());
+        return gcLog.getEventStore();
+    }
+}
@@ -0,0 +1,65 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShenandoahParserTest {
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void degeneratedGcTakesOverTheCancelledCycle() {
+        EventStore events = parse(
+                "[26.626s][info][gc,start] GC(24) Pause Init Mark (unload classes)",
+                "[26.626s][info][gc] GC(24) Pause Init Mark (unload classes) 0.219ms",
+                "[26.636s][info][gc] GC(24) Concurrent marking roots 0.971ms",
+                "[26.636s][info][gc] GC(24) Concurrent marking (unload classes) 18.133ms",
+                "[26.636s][info][gc] GC(24) Cancelling GC: Allocation Failure",
+                "[26.636s][info][gc] GC(24) Pause Degenerated GC (Mark) 230M->120M(256M) 38.383ms");
+
+        assertEquals(1, events.size());
+        assertEquals("Pause Degenerated GC", events.getGcType(0));
+        assertEquals("Allocation Failure", events.getGcCause(0));
+        assertTrue(events.isMajorGc(0));
+        assertFalse(events.isSystemGc(0));
+        // The init mark pause plus the degenerated pause; both marking phases are concurrent mark
+        assertEquals(219 + 38_383, events.getDurationMicros(0));
+        assertEquals(26_636, events.getTimestamp(0));
+        assertEquals(230 * MB, events.getHeapBefore(0));
+        assertEquals(120 * MB, events.getHeapAfter(0));
+        assertEquals(256 * MB, events.getHeapCommitted(0));
+        assertEquals(971 + 18_133, events.get(EventField.CONCURRENT_MARK_MICROS, 0));
+    }
+
+    @Test
+    void fullGcIsItsOwnEvent() {
+        EventStore events = parse(
+                "[259.044s][info][gc] GC(199) Cancelling GC: Allocation Failure",
+                "[259.044s][info][gc] GC(199) Pause Degenerated GC (Mark) 230M->120M(256M) 66.134ms",
+                "[260.500s][info][gc] GC(200) Pause Full (System.gc()) 100M->40M(256M) 120.000ms");
+
+        assertEquals(2, events.size());
+        assertEquals("Pause Full", events.getGcType(1));
+        assertEquals("System.gc()", events.getGcCause(1));
+        assertTrue(events.isSystemGc(1));
+        assertTrue(events.isMajorGc(1));
+        assertEquals(120_000, events.getDurationMicros(1));
+        assertEquals(260_500, events.getTimestamp(1));
+        assertEquals(100 * MB, events.getHeapBefore(1));
+        assertEquals(40 * MB, events.getHeapAfter(1));
+    }
+
+    private static EventStore parse(String... lines) {
+        GCLog gcLog = new GCLog();
+        new ShenandoahParser().parse(List.of(lines), gcLog);
+        assertEquals(0, gcLog.getParseDiagnostics().getRejectedLines());
+        return gcLog.getEventStore();
+    }
+}
@@ -0,0 +1,142 @@
+package com.jvmprofiler.analyzer.parsers;
+
+import com.jvmprofiler.analyzer.model.AllocationStall;
+import com.jvmprofiler.analyzer.model.EventField;
+import com.jvmprofiler.analyzer.model.EventStore;
+import com.jvmprofiler.analyzer.model.GCLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZGCParserTest {
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void singleGenerationCycleAddsUpItsPauses() {
+        GCLog gcLog = parse(
+                "[0.250s][info][gc,start    ] GC(0) Garbage Collection (Warmup)",
+                "[0.250s][info][gc,phases   ] GC(0) Pause Mark Start 0.008ms",
+                "[0.256s][info][gc,phases   ] GC(0) Concurrent Mark 6.123ms",
+                "[0.256s][info][gc,phases   ] GC(0) Pause Mark End 0.020ms",
+                "[0.256s][info][gc,phases   ] GC(0) Concurrent Mark Free 0.001ms",
+                "[0.257s][info][gc,phases   ] GC(0) Concurrent Process Non-Strong References 0.500ms",
+                "[0.257s][info][gc,phases   ] GC(0) Concurrent Reset Relocation Set 0.001ms",
+                "[0.259s][info][gc,phases   ] GC(0) Concurrent Select Relocation Set 1.499ms",
+                "[0.259s][info][gc,phases   ] GC(0) Pause Relocate Start 0.010ms",
+                "[0.263s][info][gc,phases   ] GC(0) Concurrent Relocate 4.000ms",
+                "[0.263s][info][gc,heap     ] GC(0)                Mark Start          Mark End        Relocate Start      Relocate End           High               Low",
+                "[0.263s][info][gc,heap     ] GC(0)  Capacity:      512M (6%)          512M (6%)          512M (6%)          512M (6%)          512M (6%)          512M (6%)",
+                "[0.263s][info][gc,heap     ] GC(0)      Free:     7948M (97%)        7948M (97%)        7950M (97%)        8054M (98%)        8054M (98%)        7946M (97%)",
+                "[0.263s][info][gc,heap     ] GC(0)      Used:      244M (3%)          244M (3%)          242M (3%)          138M (2%)          246M (3%)          138M (2%)",
+                "[0.263s][info][gc,heap     ] GC(0)      Live:         -                42M (1%)           42M (1%)           42M (1%)             -                  -",
+                "[0.263s][info][gc          ] GC(0) Garbage Collection (Warmup) 244M(3%)->138M(2%)");
+        EventStore events = gcLog.getEventStore();
+
+        assertEquals(1, events.size());
+        assertEquals("Garbage Collection", events.getGcType(0));
+        assertEquals("Warmup", events.getGcCause(0));
+        assertTrue(events.isMajorGc(0));
+        assertFalse(events.isSystemGc(0));
+        assertEquals(263, events.getTimestamp(0));
+        assertEquals(8 + 20 + 10, events.getDurationMicros(0));
+        assertEquals(6_123, events.get(EventField.CONCURRENT_MARK_MICROS, 0));
+        assertEquals(4_000, events.get(EventField.CONCURRENT_RELOCATE_MICROS, 0));
+        assertEquals(1 + 500 + 1 + 1_499, events.get(EventField.CONCURRENT_OTHER_MICROS, 0));
+        assertEquals(244 * MB, events.getHeapBefore(0));
+        assertEquals(138 * MB, events.getHeapAfter(0));
+        assertEquals(512 * MB, events.getHeapCommitted(0));
+        assertEquals(42 * MB, events.get(EventField.LIVE_BYTES, 0));
+        assertEquals(0, events.get(EventField.ALLOCATION_STALLS, 0));
+    }
+
+    @Test
+    void generationalCyclesCarryTheirAllocationStalls() {
+        GCLog gcLog = parse(
+                "[4.459s][info][gc          ] GC(3) Minor Collection (Allocation Rate)",
+                "[4.459s][info][gc,phases   ] GC(3) y: Young Generation",
+                "[4.459s][info][gc,phases   ] GC(3) y: Pause Mark Start 0.025ms",
+                "[4.481s][info][gc,phases   ] GC(3) y: Concurrent Mark 22.353ms",
+                "[4.481s][info][gc,phases   ] GC(3) y: Pause Mark End 0.015ms",
+                "[4.483s][info][gc,phases   ] GC(3) y: Concurrent Select Relocation Set 1.923ms",
+                "[4.483s][info][gc,phases   ] GC(3) y: Pause Relocate Start 0.015ms",
+                "[4.498s][info][gc,phases   ] GC(3) y: Concurrent Relocate 15.409ms",
+                "[4.498s][info][gc,heap     ] GC(3) y: Young Generation Statistics:",
+                "[4.498s][info][gc,heap     ] GC(3) y:                Mark Start          Mark End        Relocate Start       Relocate End",
+                "[4.498s][info][gc,heap     ] GC(3) y:      Used:      1000M (12%)         1050M (12%)         1050M (12%)          200M (2%)",
+                "[4.498s][info][gc,heap     ] GC(3) y:      Live:         -                 50M (1%)            50M (1%)            50M (1%)",
+                "[4.498s][info][gc,heap     ] GC(3) Heap Statistics:",
+                "[4.498s][info][gc,heap     ] GC(3)                Mark Start          Mark End        Relocate Start      Relocate End           High               Low",
+                "[4.498s][info][gc,heap     ] GC(3)  Capacity:     8192M (100%)       8192M (100%)       8192M (100%)       8192M (100%)       8192M (100%)       8192M (100%)",
+                "[4.498s][info][gc          ] GC(3) Minor Collection (Allocation Rate) 2006M(25%)->806M(10%) 0.039s",
+                "[5.000s][info][gc          ] GC(4) Major Collection (Allocation Stall)",
+                "[5.000s][info][gc,phases   ] GC(4) Y: Young Generation",
+                "[5.000s][info][gc,phases   ] GC(4) Y: Pause Mark Start (Major) 0.030ms",
+                "[5.010s][info][gc,phases   ] GC(4) Y: Concurrent Mark 10.000ms",
+                "[5.010s][info][gc,phases   ] GC(4) Y: Pause Mark End 0.020ms",
+                "[5.012s][info][gc          ] Allocation Stall (main) 12.500ms",
+                "[5.013s][info][gc          ] Allocation Stall (pool-1-thread-2) 3.000ms",
+                "[5.014s][info][gc          ] Allocation Stall (main) 7.500ms",
+                "[5.020s][info][gc,phases   ] GC(4) Y: Concurrent Relocate 6.000ms",
+                "[5.020s][info][gc,heap     ] GC(4) Y:      Used:      3000M (37%)         3100M (38%)         3100M (38%)          300M (4%)",
+                "[5.020s][info][gc,heap     ] GC(4) Y:      Live:         -                100M (1%)           100M (1%)           100M (1%)",
+                "[5.020s][info][gc,phases   ] GC(4) O: Old Generation",
+                "[5.040s][info][gc,phases   ] GC(4) O: Concurrent Mark 20.000ms",
+                "[5.040s][info][gc,phases   ] GC(4) O: Pause Mark End 0.040ms",
+                "[5.050s][info][gc,phases   ] GC(4) O: Pause Relocate Start 0.010ms",
+                "[5.060s][info][gc,phases   ] GC(4) O: Concurrent Relocate 9.000ms",
+                "[5.060s][info][gc,heap     ] GC(4) O:      Used:      2000M (24%)         2000M (24%)         2000M (24%)         1200M (15%)",
+                "[5.060s][info][gc,heap     ] GC(4) O:      Live:         -               1100M (13%)         1100M (13%)         1100M (13%)",
+                "[5.060s][info][gc          ] GC(4) Major Collection (Allocation Stall) 5000M(61%)->1500M(18%) 0.060s");
+        EventStore events = gcLog.getEventStore();
+
+        assertEquals(2, events.size());
+        assertEquals("Minor Collection", events.getGcType(0));
+        assertFalse(events.isMajorGc(0));
+        assertEquals(25 + 15 + 15, events.getDurationMicros(0));
+        assertEquals(22_353, events.get(EventField.CONCURRENT_MARK_MICROS, 0));
+        assertEquals(15_409, events.get(EventField.CONCURRENT_RELOCATE_MICROS, 0));
+        assertEquals(1_923, events.get(EventField.CONCURRENT_OTHER_MICROS, 0));
+        assertEquals(50 * MB, events.get(EventField.LIVE_BYTES, 0));
+        assertEquals(8192 * MB, events.getHeapCommitted(0));
+        assertEquals(1000 * MB, events.get(EventField.YOUNG_BEFORE, 0));
+        assertEquals(200 * MB, events.get(EventField.YOUNG_AFTER, 0));
+        assertEquals(0, events.get(EventField.ALLOCATION_STALLS, 0));
+
+        assertEquals("Major Collection", events.getGcType(1));
+        assertEquals("Allocation Stall", events.getGcCause(1));
+        assertTrue(events.isMajorGc(1));
+        assertEquals(30 + 20 + 40 + 10, events.getDurationMicros(1));
+        assertEquals(10_000 + 20_000, events.get(EventField.CONCURRENT_MARK_MICROS, 1));
+        assertEquals(6_000 + 9_000, events.get(EventField.CONCURRENT_RELOCATE_MICROS, 1));
+        // Live data of both generations at mark end
+        assertEquals((100 + 1100) * MB, events.get(EventField.LIVE_BYTES, 1));
+        assertEquals(3000 * MB, events.get(EventField.YOUNG_BEFORE, 1));
+        assertEquals(2000 * MB, events.get(EventField.OLD_BEFORE, 1));
+        assertEquals(1200 * MB, events.get(EventField.OLD_AFTER, 1));
+        assertEquals(3, events.get(EventField.ALLOCATION_STALLS, 1));
+        assertEquals(23_000, events.get(EventField.ALLOCATION_STALL_MICROS, 1));
+
+        Map<String, AllocationStall> stalls = gcLog.getAllocationStalls().stream()
+                .collect(Collectors.toMap(AllocationStall::getThread, Function.identity()));
+        assertEquals(2, stalls.size());
+        assertEquals(2, stalls.get("main").getCount());
+        assertEquals(20_000, stalls.get("main").getTotalMicros());
+        assertEquals(12_500, stalls.get("main").getMaxMicros());
+        assertEquals(1, stalls.get("pool-1-thread-2").getCount());
+        assertEquals(3_000, stalls.get("pool-1-thread-2").getTotalMicros());
+    }
+
+    private static GCLog parse(String... lines) {
+        GCLog gcLog = new GCLog();
+        new ZGCParser().parse(List.of(lines), gcLog);
+        assertEquals(0, gcLog.getParseDiagnostics().getRejectedLines());
+        return gcLog;
+    }
+}